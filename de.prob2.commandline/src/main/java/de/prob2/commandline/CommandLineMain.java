@@ -2,6 +2,9 @@ package de.prob2.commandline;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.script.ScriptException;
 
@@ -41,10 +44,15 @@ public final class CommandLineMain {
 			line = parser.parse(options, args);
 		} catch (ParseException e) {
 			logger.debug("Failed to parse CLI", e);
-			HelpFormatter formatter = new HelpFormatter();
-			formatter.printHelp("java -jar probcli.jar", options);
-			System.exit(-1);
-			throw new AssertionError("System.exit shouldn't return", e);
+			throw this.printHelpAndExit(e);
+		}
+		
+		final int parallelism;
+		try {
+			parallelism = line.hasOption("parallel") ? parseParallelism(line.getOptionValue("parallel")) : 1;
+		} catch (ParseException e) {
+			logger.error("Invalid command line argument: {}", e.getMessage());
+			throw this.printHelpAndExit(e);
 		}
 		
 		final MainModule mainModule = new MainModule();
@@ -57,20 +65,90 @@ public final class CommandLineMain {
 			logger.debug("Max size set successfully to {}", value);
 		}
 		
+		if (line.hasOption("maxCacheWeight")) {
+			String value = line.getOptionValue("maxCacheWeight");
+			mainModule.setMaxCacheWeight(Long.parseLong(value));
+			logger.debug("Max cache weight set successfully to {}", value);
+		}
+		
 		final Injector proBInjector = Guice.createInjector(Stage.PRODUCTION, mainModule);
 		
 		if (line.hasOption("script")) {
 			logger.debug("Run Script");
 			String value = line.getOptionValue("script");
+			final List<ScriptResult> results = new ArrayList<>();
+			boolean failed = false;
 			try {
-				proBInjector.getInstance(Shell.class).runScript(new File(value), false);
+				if (parallelism > 1) {
+					results.addAll(new ParallelScriptRunner(mainModule, parallelism).runScript(new File(value), false));
+				} else {
+					proBInjector.getInstance(Shell.class).runScript(new File(value), false, results);
+				}
 			} catch (IOException | ScriptException e) {
 				logger.error("Exception while executing script", e);
-				System.exit(-1);
+				failed = true;
+			} catch (InterruptedException e) {
+				logger.error("Interrupted while executing scripts", e);
+				Thread.currentThread().interrupt();
+				failed = true;
+			}
+			
+			if (line.hasOption("summary")) {
+				final String summaryFile = line.getOptionValue("summary");
+				try {
+					ScriptSummaryWriter.write(Paths.get(summaryFile), results);
+					logger.debug("Script summary written to {}", summaryFile);
+				} catch (IOException e) {
+					logger.error("Failed to write script summary", e);
+					failed = true;
+				}
+			}
+			
+			final int status = getExitStatus(results, failed);
+			if (status != 0) {
+				System.exit(status);
 			}
 		}
 	}
 
+	private AssertionError printHelpAndExit(final Exception cause) {
+		HelpFormatter formatter = new HelpFormatter();
+		formatter.printHelp("java -jar probcli.jar", options);
+		System.exit(-1);
+		return new AssertionError("System.exit shouldn't return", cause);
+	}
+
+	/**
+	 * Parse the value of the {@code --parallel} option.
+	 *
+	 * @param value the option value
+	 * @return the number of scripts to run in parallel
+	 * @throws ParseException if the value is not a positive integer
+	 */
+	static int parseParallelism(final String value) throws ParseException {
+		final int parallelism;
+		try {
+			parallelism = Integer.parseInt(value.trim());
+		} catch (NumberFormatException e) {
+			throw new ParseException("Number of parallel scripts must be an integer, not " + value);
+		}
+		if (parallelism < 1) {
+			throw new ParseException("Number of parallel scripts must be at least 1, not " + value);
+		}
+		return parallelism;
+	}
+
+	/**
+	 * Get the exit status of a script run.
+	 *
+	 * @param results the results of all scripts that were run
+	 * @param error whether an error occurred outside of the scripts, e. g. while writing the summary
+	 * @return 0 if all scripts passed and there was no other error, otherwise -1
+	 */
+	static int getExitStatus(final List<ScriptResult> results, final boolean error) {
+		return error || results.stream().anyMatch(result -> !result.isPassed()) ? -1 : 0;
+	}
+
 	/**
 	 * Start the ProB 2.0 shell with argument -s. Run integration tests with -test /path/to/testDir
 	 *
@@ -26,6 +26,9 @@ final class CommandLineModule extends AbstractModule {
 	private static Options getCommandlineOptions() {
 		Options options = new Options();
 		options.addOption(null, "maxCacheSize", true, "set the cache size for the states in the StateSpace");
+		options.addOption(null, "maxCacheWeight", true, "limit the states in the StateSpace by their approximate memory use in bytes instead of their number");
+		options.addOption(null, "parallel", true, "run the scripts from a directory in this many threads, each with its own ProB instances (default 1, i. e. one after another)");
+		options.addOption(null, "summary", true, "write a summary of all script results to this file (JUnit XML if the name ends with .xml, otherwise JSON)");
 		
 		OptionGroup mode = new OptionGroup();
 		mode.setRequired(true);
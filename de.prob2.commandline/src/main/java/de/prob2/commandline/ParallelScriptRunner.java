@@ -0,0 +1,103 @@
+package de.prob2.commandline;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Stopwatch;
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import com.google.inject.Stage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Runs the scripts from a directory concurrently in several worker threads.
+ * </p>
+ * <p>
+ * Every worker thread has its own injector and thus its own {@link Shell},
+ * script engine provider and probcli instances,
+ * so that the scripts cannot interfere with each other's animators.
+ * Like in sequential mode, the probcli instances of a worker are shut down after each script.
+ * Unlike in sequential mode, a failing script does not stop the other scripts.
+ * Output printed by the scripts themselves may be interleaved.
+ * </p>
+ */
+final class ParallelScriptRunner {
+	private static final Logger LOGGER = LoggerFactory.getLogger(ParallelScriptRunner.class);
+
+	private final Module module;
+	private final int parallelism;
+
+	ParallelScriptRunner(final Module module, final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Number of parallel scripts must be at least 1, not " + parallelism);
+		}
+		this.module = module;
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Run a single script or all scripts from a directory.
+	 *
+	 * @param script a single script file or a directory
+	 * @param silent whether to suppress the output of script names, results and times
+	 * @return the results of all scripts, in the same order as they were listed
+	 * @throws InterruptedException if the current thread was interrupted while waiting for the scripts
+	 */
+	List<ScriptResult> runScript(final File script, final boolean silent) throws InterruptedException {
+		final List<File> scripts = Shell.listScripts(script);
+		final Stopwatch stopwatch = Stopwatch.createStarted();
+		final AtomicInteger workerCount = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, Math.max(scripts.size(), 1)), r -> {
+			final Thread thread = new Thread(r, "Script Runner " + workerCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		// Creating an injector is relatively expensive, so every worker thread keeps its own for all its scripts.
+		final ThreadLocal<Shell> shells = ThreadLocal.withInitial(() -> Guice.createInjector(Stage.PRODUCTION, this.module).getInstance(Shell.class));
+		try {
+			final List<Future<ScriptResult>> futures = new ArrayList<>();
+			for (final File file : scripts) {
+				futures.add(executor.submit(() -> {
+					final ScriptResult result = shells.get().runSingleScript(file);
+					if (!silent) {
+						if (result.isPassed()) {
+							System.out.printf("%s - %s (%.4g s)%n", file.getName(), result.getResult(), result.getDurationSeconds());
+						} else {
+							System.out.printf("%s - FAILED (%.4g s)%n", file.getName(), result.getDurationSeconds());
+						}
+					}
+					return result;
+				}));
+			}
+
+			final List<ScriptResult> results = new ArrayList<>();
+			for (int i = 0; i < futures.size(); i++) {
+				try {
+					results.add(futures.get(i).get());
+				} catch (ExecutionException e) {
+					// Script errors are already caught by the shell, so this is an unexpected (e. g. injection) error.
+					LOGGER.error("Failed to run script {}", scripts.get(i), e);
+					results.add(ScriptResult.failed(scripts.get(i), 0, e.getCause() instanceof Exception ? (Exception)e.getCause() : e));
+				}
+			}
+			stopwatch.stop();
+			if (!silent) {
+				final double seconds = stopwatch.elapsed(TimeUnit.MILLISECONDS) / 1000.0;
+				System.out.printf("TOTAL TIME: %.4g s (%d scripts, %d threads)%n", seconds, results.size(), this.parallelism);
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
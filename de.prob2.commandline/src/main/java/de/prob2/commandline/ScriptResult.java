@@ -0,0 +1,70 @@
+package de.prob2.commandline;
+
+import java.io.File;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * The outcome of running a single Groovy script from the command line.
+ */
+final class ScriptResult {
+	private final File script;
+	private final long durationMillis;
+	private final Object result;
+	private final Exception error;
+
+	private ScriptResult(final File script, final long durationMillis, final Object result, final Exception error) {
+		this.script = script;
+		this.durationMillis = durationMillis;
+		this.result = result;
+		this.error = error;
+	}
+
+	static ScriptResult passed(final File script, final long durationMillis, final Object result) {
+		return new ScriptResult(script, durationMillis, result, null);
+	}
+
+	static ScriptResult failed(final File script, final long durationMillis, final Exception error) {
+		return new ScriptResult(script, durationMillis, null, error);
+	}
+
+	File getScript() {
+		return this.script;
+	}
+
+	long getDurationMillis() {
+		return this.durationMillis;
+	}
+
+	double getDurationSeconds() {
+		return this.durationMillis / 1000.0;
+	}
+
+	boolean isPassed() {
+		return this.error == null;
+	}
+
+	/**
+	 * @return the value returned by the script, or {@code null} if the script failed
+	 */
+	Object getResult() {
+		return this.result;
+	}
+
+	/**
+	 * @return the exception that made the script fail, or {@code null} if the script passed
+	 */
+	Exception getError() {
+		return this.error;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("script", this.script)
+			.add("durationMillis", this.durationMillis)
+			.add("result", this.result)
+			.add("error", this.error)
+			.toString();
+	}
+}
@@ -0,0 +1,129 @@
+package de.prob2.commandline;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Writes a machine-readable summary of the results of a script run,
+ * either as JSON or in the JUnit XML report format understood by most CI servers.
+ */
+final class ScriptSummaryWriter {
+	private static final String SUITE_NAME = "prob2-scripts";
+
+	private ScriptSummaryWriter() {
+		throw new AssertionError("Utility class");
+	}
+
+	/**
+	 * Write the summary in JUnit XML format if the file name ends with {@code .xml}, otherwise as JSON.
+	 *
+	 * @param path the file to write the summary to
+	 * @param results the results of all scripts that were run
+	 * @throws IOException if the file could not be written
+	 */
+	static void write(final Path path, final List<ScriptResult> results) throws IOException {
+		if (path.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".xml")) {
+			writeJUnitXml(path, results);
+		} else {
+			writeJson(path, results);
+		}
+	}
+
+	private static long countFailed(final List<ScriptResult> results) {
+		return results.stream().filter(result -> !result.isPassed()).count();
+	}
+
+	private static double totalSeconds(final List<ScriptResult> results) {
+		return results.stream().mapToLong(ScriptResult::getDurationMillis).sum() / 1000.0;
+	}
+
+	private static String formatSeconds(final double seconds) {
+		return String.format(Locale.ROOT, "%.3f", seconds);
+	}
+
+	private static String getStackTrace(final Throwable t) {
+		final StringWriter sw = new StringWriter();
+		t.printStackTrace(new PrintWriter(sw));
+		return sw.toString();
+	}
+
+	static void writeJson(final Path path, final List<ScriptResult> results) throws IOException {
+		final ObjectMapper objectMapper = new ObjectMapper();
+		final ObjectNode root = objectMapper.createObjectNode();
+		final long failed = countFailed(results);
+		root.put("total", results.size());
+		root.put("passed", results.size() - failed);
+		root.put("failed", failed);
+		root.put("time", totalSeconds(results));
+		final ArrayNode scripts = root.putArray("scripts");
+		for (final ScriptResult result : results) {
+			final ObjectNode node = scripts.addObject();
+			node.put("name", result.getScript().getName());
+			node.put("path", result.getScript().getAbsolutePath());
+			node.put("status", result.isPassed() ? "passed" : "failed");
+			node.put("time", result.getDurationSeconds());
+			if (result.isPassed()) {
+				node.put("result", String.valueOf(result.getResult()));
+			} else {
+				node.put("error", String.valueOf(result.getError()));
+			}
+		}
+		objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), root);
+	}
+
+	static void writeJUnitXml(final Path path, final List<ScriptResult> results) throws IOException {
+		try (OutputStream out = Files.newOutputStream(path)) {
+			final XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+			try {
+				writer.writeStartDocument("UTF-8", "1.0");
+				writer.writeCharacters("\n");
+				writer.writeStartElement("testsuite");
+				writer.writeAttribute("name", SUITE_NAME);
+				writer.writeAttribute("tests", String.valueOf(results.size()));
+				writer.writeAttribute("failures", String.valueOf(countFailed(results)));
+				writer.writeAttribute("errors", "0");
+				writer.writeAttribute("skipped", "0");
+				writer.writeAttribute("time", formatSeconds(totalSeconds(results)));
+				writer.writeCharacters("\n");
+				for (final ScriptResult result : results) {
+					writer.writeCharacters("  ");
+					writer.writeStartElement("testcase");
+					writer.writeAttribute("classname", SUITE_NAME);
+					writer.writeAttribute("name", result.getScript().getName());
+					writer.writeAttribute("file", result.getScript().getPath());
+					writer.writeAttribute("time", formatSeconds(result.getDurationSeconds()));
+					if (!result.isPassed()) {
+						writer.writeStartElement("failure");
+						writer.writeAttribute("type", result.getError().getClass().getName());
+						writer.writeAttribute("message", String.valueOf(result.getError().getMessage()));
+						writer.writeCharacters(getStackTrace(result.getError()));
+						writer.writeEndElement();
+					}
+					writer.writeEndElement();
+					writer.writeCharacters("\n");
+				}
+				writer.writeEndElement();
+				writer.writeCharacters("\n");
+				writer.writeEndDocument();
+			} finally {
+				writer.close();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException("Failed to write JUnit XML summary to " + path, e);
+		}
+	}
+}
@@ -3,6 +3,10 @@ package de.prob2.commandline;
 import java.io.File;
 import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import javax.script.ScriptEngine;
@@ -29,53 +33,96 @@ final class Shell {
 		this.proBs = proBs;
 	}
 
-	public void runScript(final File script, final boolean silent) throws IOException, ScriptException {
+	/**
+	 * Get the script files to run for the given path.
+	 *
+	 * @param script a single script file or a directory
+	 * @return all {@code .groovy} files in the directory sorted by name, or just {@code script} if it is not a directory
+	 */
+	static List<File> listScripts(final File script) {
 		if (script.isDirectory()) {
 			final File[] files = script.listFiles((dir, name) -> name.endsWith(".groovy"));
-			if (files != null) {
-				final Stopwatch stopwatch = Stopwatch.createStarted();
-				for (File file : files) {
-					runScript(file, silent);
-				}
-				stopwatch.stop();
-				if (!silent) {
-					final double seconds = stopwatch.elapsed(TimeUnit.MILLISECONDS) / 1000.0;
-					System.out.printf("TOTAL TIME: %.4g s%n", seconds);
-				}
+			if (files == null) {
+				return Collections.emptyList();
+			}
+			// The order of listFiles is unspecified, but the scripts should always run in the same order.
+			Arrays.sort(files);
+			return Arrays.asList(files);
+		} else {
+			return Collections.singletonList(script);
+		}
+	}
+
+	public void runScript(final File script, final boolean silent) throws IOException, ScriptException {
+		this.runScript(script, silent, new ArrayList<>());
+	}
+
+	/**
+	 * Run a single script or all scripts from a directory, one after another.
+	 * Stops at the first script that fails.
+	 *
+	 * @param script a single script file or a directory
+	 * @param silent whether to suppress the output of script names, results and times
+	 * @param results list to which the result of every script that was run is added
+	 * @throws IOException if a script could not be read
+	 * @throws ScriptException if a script threw an exception
+	 */
+	public void runScript(final File script, final boolean silent, final List<ScriptResult> results) throws IOException, ScriptException {
+		if (script.isDirectory()) {
+			final Stopwatch stopwatch = Stopwatch.createStarted();
+			for (File file : listScripts(script)) {
+				runScript(file, silent, results);
+			}
+			stopwatch.stop();
+			if (!silent) {
+				final double seconds = stopwatch.elapsed(TimeUnit.MILLISECONDS) / 1000.0;
+				System.out.printf("TOTAL TIME: %.4g s%n", seconds);
 			}
 		} else {
-			runSingleScript(script.getAbsoluteFile().getParent(), script, silent);
+			if (!silent) {
+				System.out.print(script.getName());
+			}
+			final ScriptResult result = runSingleScript(script);
+			results.add(result);
+			if (result.getError() instanceof IOException) {
+				throw (IOException)result.getError();
+			} else if (result.getError() instanceof ScriptException) {
+				throw (ScriptException)result.getError();
+			}
+			if (!silent) {
+				System.out.printf(" - %s (%.4g s)%n", result.getResult(), result.getDurationSeconds());
+			}
 		}
 	}
 
-	private void runSingleScript(final String dir, final File scriptFile, final boolean silent) throws IOException, ScriptException {
+	/**
+	 * Run a single script in a new script engine
+	 * and shut down all probcli instances started by this shell afterwards.
+	 * Errors are reported on {@link System#err} and in the returned result, but not thrown.
+	 *
+	 * @param scriptFile the script to run
+	 * @return the result of the script
+	 */
+	ScriptResult runSingleScript(final File scriptFile) {
 		final Stopwatch stopwatch = Stopwatch.createStarted();
 		logger.debug("Running script: {}", scriptFile.getAbsolutePath());
 		ScriptEngine executor = sep.get();
-		executor.put("dir", dir);
+		executor.put("dir", scriptFile.getAbsoluteFile().getParent());
 		executor.put("inConsole", false);
 
-		if (!silent) {
-			System.out.print(scriptFile.getName());
-		}
-		final Object res;
 		try (FileReader fr = new FileReader(scriptFile)) {
-			res = executor.eval(fr);
+			final Object res = executor.eval(fr);
+			return ScriptResult.passed(scriptFile, stopwatch.elapsed(TimeUnit.MILLISECONDS), res);
 		} catch (IOException e) {
 			System.err.printf("Could not read script %s: %s%n", scriptFile, e);
 			logger.error("Could not read script", e);
-			throw e;
+			return ScriptResult.failed(scriptFile, stopwatch.elapsed(TimeUnit.MILLISECONDS), e);
 		} catch (ScriptException e) {
 			System.err.printf("Exception thrown by script %s: %s%n", scriptFile, e);
 			logger.error("Exception thrown by script", e);
-			throw e;
+			return ScriptResult.failed(scriptFile, stopwatch.elapsed(TimeUnit.MILLISECONDS), e);
 		} finally {
 			proBs.shutdownAll();
 		}
-		stopwatch.stop();
-		if (!silent) {
-			final double seconds = stopwatch.elapsed(TimeUnit.MILLISECONDS) / 1000.0;
-			System.out.printf(" - %s (%.4g s)%n", res, seconds);
-		}
 	}
 }
@@ -0,0 +1,38 @@
+package de.prob2.commandline;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.script.ScriptException;
+
+import org.apache.commons.cli.ParseException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+final class CommandLineMainTest {
+	@Test
+	void testParallelism() throws ParseException {
+		Assertions.assertEquals(1, CommandLineMain.parseParallelism("1"));
+		Assertions.assertEquals(4, CommandLineMain.parseParallelism(" 4 "));
+	}
+
+	@Test
+	void testInvalidParallelism() {
+		Assertions.assertThrows(ParseException.class, () -> CommandLineMain.parseParallelism("0"));
+		Assertions.assertThrows(ParseException.class, () -> CommandLineMain.parseParallelism("-2"));
+		Assertions.assertThrows(ParseException.class, () -> CommandLineMain.parseParallelism("many"));
+		Assertions.assertThrows(ParseException.class, () -> CommandLineMain.parseParallelism(""));
+	}
+
+	@Test
+	void testExitStatus() {
+		final ScriptResult passed = ScriptResult.passed(new File("passing.groovy"), 10, 42);
+		final ScriptResult failed = ScriptResult.failed(new File("failing.groovy"), 10, new ScriptException("expected failure"));
+		Assertions.assertEquals(0, CommandLineMain.getExitStatus(Collections.emptyList(), false));
+		Assertions.assertEquals(0, CommandLineMain.getExitStatus(Collections.singletonList(passed), false));
+		Assertions.assertEquals(-1, CommandLineMain.getExitStatus(Arrays.asList(passed, failed), false));
+		// e. g. the summary could not be written
+		Assertions.assertEquals(-1, CommandLineMain.getExitStatus(Collections.singletonList(passed), true));
+	}
+}
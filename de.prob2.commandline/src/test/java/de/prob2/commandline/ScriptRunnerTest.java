@@ -0,0 +1,85 @@
+package de.prob2.commandline;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.script.ScriptException;
+
+import com.google.inject.Guice;
+
+import de.prob.MainModule;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class ScriptRunnerTest {
+	@TempDir
+	Path scriptDir;
+
+	@BeforeEach
+	void writeScripts() throws IOException {
+		// The scripts are run in the order of their names.
+		Files.write(this.scriptDir.resolve("a_passing.groovy"), "1 + 1".getBytes(StandardCharsets.UTF_8));
+		Files.write(this.scriptDir.resolve("b_failing.groovy"), "throw new IllegalStateException('expected failure')".getBytes(StandardCharsets.UTF_8));
+		Files.write(this.scriptDir.resolve("c_passing.groovy"), "2 + 2".getBytes(StandardCharsets.UTF_8));
+		Files.write(this.scriptDir.resolve("ignored.txt"), "not a script".getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static List<String> getNames(final List<ScriptResult> results) {
+		final List<String> names = new ArrayList<>();
+		for (final ScriptResult result : results) {
+			names.add(result.getScript().getName());
+		}
+		return names;
+	}
+
+	@Test
+	void testScriptsAreListedByName() {
+		final List<File> scripts = Shell.listScripts(this.scriptDir.toFile());
+		final List<String> names = new ArrayList<>();
+		for (final File script : scripts) {
+			names.add(script.getName());
+		}
+		Assertions.assertEquals(Arrays.asList("a_passing.groovy", "b_failing.groovy", "c_passing.groovy"), names);
+	}
+
+	@Test
+	void testSequentialRunStopsAtFirstFailure() {
+		final Shell shell = Guice.createInjector(new MainModule()).getInstance(Shell.class);
+		final List<ScriptResult> results = new ArrayList<>();
+		Assertions.assertThrows(ScriptException.class, () -> shell.runScript(this.scriptDir.toFile(), true, results));
+		Assertions.assertEquals(Arrays.asList("a_passing.groovy", "b_failing.groovy"), getNames(results));
+		Assertions.assertTrue(results.get(0).isPassed());
+		Assertions.assertEquals(2, results.get(0).getResult());
+		Assertions.assertFalse(results.get(1).isPassed());
+		Assertions.assertEquals(-1, CommandLineMain.getExitStatus(results, false));
+	}
+
+	@Test
+	void testParallelRunContinuesAfterFailure() throws InterruptedException {
+		final List<ScriptResult> results = new ParallelScriptRunner(new MainModule(), 2).runScript(this.scriptDir.toFile(), true);
+		Assertions.assertEquals(Arrays.asList("a_passing.groovy", "b_failing.groovy", "c_passing.groovy"), getNames(results));
+		Assertions.assertTrue(results.get(0).isPassed());
+		Assertions.assertFalse(results.get(1).isPassed());
+		Assertions.assertInstanceOf(ScriptException.class, results.get(1).getError());
+		Assertions.assertTrue(results.get(2).isPassed());
+		Assertions.assertEquals(4, results.get(2).getResult());
+		Assertions.assertEquals(-1, CommandLineMain.getExitStatus(results, false));
+	}
+
+	@Test
+	void testParallelRunOfPassingScripts() throws IOException, InterruptedException {
+		Files.delete(this.scriptDir.resolve("b_failing.groovy"));
+		final List<ScriptResult> results = new ParallelScriptRunner(new MainModule(), 2).runScript(this.scriptDir.toFile(), true);
+		Assertions.assertEquals(Arrays.asList("a_passing.groovy", "c_passing.groovy"), getNames(results));
+		Assertions.assertEquals(0, CommandLineMain.getExitStatus(results, false));
+	}
+}
@@ -0,0 +1,95 @@
+package de.prob2.commandline;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.script.ScriptException;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+final class ScriptSummaryWriterTest {
+	private static final String ERROR_MESSAGE = "expected <b> & \"quoted\" text";
+
+	private static List<ScriptResult> createResults() {
+		return Arrays.asList(
+			ScriptResult.passed(new File("passing.groovy"), 1500, "ok <42>"),
+			ScriptResult.failed(new File("failing.groovy"), 250, new ScriptException(ERROR_MESSAGE))
+		);
+	}
+
+	@Test
+	void testJsonSummary(@TempDir final Path tempDir) throws IOException {
+		final Path summary = tempDir.resolve("summary.json");
+		ScriptSummaryWriter.write(summary, createResults());
+
+		final JsonNode root = new ObjectMapper().readTree(summary.toFile());
+		Assertions.assertEquals(2, root.get("total").asInt());
+		Assertions.assertEquals(1, root.get("passed").asInt());
+		Assertions.assertEquals(1, root.get("failed").asInt());
+		Assertions.assertEquals(1.75, root.get("time").asDouble(), 1e-9);
+
+		final JsonNode passed = root.get("scripts").get(0);
+		Assertions.assertEquals("passing.groovy", passed.get("name").asText());
+		Assertions.assertEquals("passed", passed.get("status").asText());
+		Assertions.assertEquals(1.5, passed.get("time").asDouble(), 1e-9);
+		Assertions.assertEquals("ok <42>", passed.get("result").asText());
+		Assertions.assertFalse(passed.has("error"));
+
+		final JsonNode failed = root.get("scripts").get(1);
+		Assertions.assertEquals("failing.groovy", failed.get("name").asText());
+		Assertions.assertEquals("failed", failed.get("status").asText());
+		Assertions.assertTrue(failed.get("error").asText().contains(ERROR_MESSAGE), failed.get("error").asText());
+		Assertions.assertFalse(failed.has("result"));
+	}
+
+	@Test
+	void testJUnitXmlSummary(@TempDir final Path tempDir) throws IOException, ParserConfigurationException, SAXException {
+		final Path summary = tempDir.resolve("summary.xml");
+		ScriptSummaryWriter.write(summary, createResults());
+
+		// Parsing the file would fail if the special characters in the error message weren't escaped.
+		final Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(summary.toFile());
+		final Element suite = document.getDocumentElement();
+		Assertions.assertEquals("testsuite", suite.getTagName());
+		Assertions.assertEquals("2", suite.getAttribute("tests"));
+		Assertions.assertEquals("1", suite.getAttribute("failures"));
+		Assertions.assertEquals("1.750", suite.getAttribute("time"));
+
+		final NodeList testCases = suite.getElementsByTagName("testcase");
+		Assertions.assertEquals(2, testCases.getLength());
+		final Element passed = (Element)testCases.item(0);
+		Assertions.assertEquals("passing.groovy", passed.getAttribute("name"));
+		Assertions.assertEquals("1.500", passed.getAttribute("time"));
+		Assertions.assertEquals(0, passed.getElementsByTagName("failure").getLength());
+
+		final Element failed = (Element)testCases.item(1);
+		Assertions.assertEquals("failing.groovy", failed.getAttribute("name"));
+		final NodeList failures = failed.getElementsByTagName("failure");
+		Assertions.assertEquals(1, failures.getLength());
+		final Element failure = (Element)failures.item(0);
+		Assertions.assertEquals(ScriptException.class.getName(), failure.getAttribute("type"));
+		Assertions.assertEquals(ERROR_MESSAGE, failure.getAttribute("message"));
+		Assertions.assertTrue(failure.getTextContent().contains(ERROR_MESSAGE), failure.getTextContent());
+	}
+
+	@Test
+	void testSummaryFormatIsChosenByFileName(@TempDir final Path tempDir) throws IOException, ParserConfigurationException, SAXException {
+		final Path summary = tempDir.resolve("SUMMARY.XML");
+		ScriptSummaryWriter.write(summary, createResults());
+		Assertions.assertEquals("testsuite", DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(summary.toFile()).getDocumentElement().getTagName());
+	}
+}
@@ -0,0 +1,48 @@
+package de.prob.animator;
+
+import de.prob.animator.command.CheckIfStateIdValidCommand;
+import de.prob.cli.CliTestCommon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the latency of a simple command with and without fetching the errors in the same query.
+ */
+public final class PiggybackedErrorsBenchmark {
+	private static final int WARMUP_ITERATIONS = 100;
+	private static final int ITERATIONS = 1000;
+
+	private AnimatorImpl animator;
+
+	@BeforeEach
+	public void setUp() {
+		this.animator = (AnimatorImpl)CliTestCommon.getInjector().getInstance(IAnimator.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.animator.kill();
+		this.animator = null;
+	}
+
+	private long measureAverageNanos(final boolean piggyback) {
+		this.animator.setPiggybackErrors(piggyback);
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			this.animator.execute(new CheckIfStateIdValidCommand("root"));
+		}
+		final long start = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			this.animator.execute(new CheckIfStateIdValidCommand("root"));
+		}
+		return (System.nanoTime() - start) / ITERATIONS;
+	}
+
+	@Test
+	public void commandLatency() {
+		final long separate = this.measureAverageNanos(false);
+		final long piggybacked = this.measureAverageNanos(true);
+		System.out.printf("Average latency of CheckIfStateIdValidCommand: %d µs with separate error query, %d µs with piggybacked errors%n", separate / 1000, piggybacked / 1000);
+	}
+}
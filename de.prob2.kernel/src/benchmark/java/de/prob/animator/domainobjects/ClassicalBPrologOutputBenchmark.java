@@ -0,0 +1,49 @@
+package de.prob.animator.domainobjects;
+
+import java.util.Collections;
+
+import de.be4.classicalb.core.parser.analysis.prolog.ASTProlog;
+import de.prob.prolog.output.PrologTermStringOutput;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares writing a large formula as Prolog from its AST with writing the cached Prolog term.
+ */
+public final class ClassicalBPrologOutputBenchmark {
+	private static final int WARMUP_ITERATIONS = 100;
+	private static final int ITERATIONS = 1000;
+
+	private static String printUncached(final ClassicalB element) {
+		final PrologTermStringOutput pout = new PrologTermStringOutput();
+		ASTProlog.printFormula(element.getAst(), pout);
+		return pout.toString();
+	}
+
+	private static String printCached(final ClassicalB element) {
+		final PrologTermStringOutput pout = new PrologTermStringOutput();
+		element.printProlog(pout);
+		return pout.toString();
+	}
+
+	@Test
+	public void repeatedPrologOutput() {
+		final String conjunct = "x : 1..10 & y = {1,2,3} & f = %i.(i : NAT | i * 2)";
+		final ClassicalB element = new ClassicalB(String.join(" & ", Collections.nCopies(200, conjunct)));
+		for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+			printUncached(element);
+			printCached(element);
+		}
+		final long uncachedStart = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			printUncached(element);
+		}
+		final long uncached = (System.nanoTime() - uncachedStart) / ITERATIONS;
+		final long cachedStart = System.nanoTime();
+		for (int i = 0; i < ITERATIONS; i++) {
+			printCached(element);
+		}
+		final long cached = (System.nanoTime() - cachedStart) / ITERATIONS;
+		System.out.printf("Average time to write a large formula as Prolog: %d µs from the AST, %d µs from the cached term%n", uncached / 1000, cached / 1000);
+	}
+}
@@ -0,0 +1,62 @@
+package de.prob.check;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures how the time until a swarm finds a goal deep in a large state space changes with the number of workers.
+ * Counters.mch has 41^3 states, and the goal is the state that is farthest away from the initial state.
+ */
+class SwarmModelCheckerBenchmark {
+	private static final int[] WORKER_COUNTS = {1, 2, 4};
+	private static final int RUNS = 3;
+	private static final long SEED = 42L;
+
+	private static long measure(final Api api, final int workers, final long seed) throws IOException {
+		StateSpace stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "Counters.mch").toString());
+		try {
+			ModelCheckingOptions options = ModelCheckingOptions.DEFAULT
+				.customGoal(new ClassicalB("x = 40 & y = 40 & z = 40"))
+				.timeLimit(Duration.ofMinutes(5));
+			// Starting the additional probcli instances is part of the measured time, like for a real user.
+			long start = System.nanoTime();
+			IModelCheckingResult result = new SwarmModelChecker(stateSpace, options, workers, seed).call();
+			long millis = (System.nanoTime() - start) / 1_000_000;
+			if (!(result instanceof ModelCheckGoalFound)) {
+				System.out.printf("%d workers (seed %d): no goal found after %d ms: %s%n", workers, seed, millis, result);
+			}
+			return millis;
+		} finally {
+			stateSpace.kill();
+		}
+	}
+
+	@Test
+	void speedupWithWorkers() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		// Warm up the JVM and probcli installation, so that the first configuration is not at a disadvantage.
+		measure(api, 1, SEED);
+
+		double baseline = 0;
+		for (int workers : WORKER_COUNTS) {
+			long total = 0;
+			for (int run = 0; run < RUNS; run++) {
+				total += measure(api, workers, SEED + run);
+			}
+			double average = (double)total / RUNS;
+			if (workers == 1) {
+				baseline = average;
+			}
+			System.out.printf("Swarm model checking of Counters.mch with %d workers: %.0f ms on average (speedup %.2f, ideal %d)%n",
+				workers, average, baseline / average, workers);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package de.prob.cli.integration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.prob.analysis.testcasegeneration.ConstraintBasedTestCaseGenerator;
+import de.prob.analysis.testcasegeneration.TestCaseGeneratorMCDCSettings;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.ClassicalBFactory;
+import de.prob.scripting.ExtractedModel;
+import de.prob.statespace.StateSpace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares sequential MC/DC test case generation with generation using worker state spaces.
+ */
+public final class ConstraintBasedTestCaseGeneratorBenchmark {
+	private static final int WORKERS = 3;
+
+	private StateSpace stateSpace;
+	private List<StateSpace> workerStateSpaces;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		final ClassicalBFactory factory = CliTestCommon.getInjector().getInstance(ClassicalBFactory.class);
+		final ExtractedModel<?> model = factory.extract(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+		this.stateSpace = model.load();
+		this.workerStateSpaces = new ArrayList<>();
+		for (int i = 0; i < WORKERS; i++) {
+			this.workerStateSpaces.add(model.load());
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.stateSpace.kill();
+		this.workerStateSpaces.forEach(StateSpace::kill);
+	}
+
+	@Test
+	public void sequentialAndParallelGeneration() {
+		final TestCaseGeneratorMCDCSettings settings = new TestCaseGeneratorMCDCSettings(3, 2);
+
+		final long sequentialStart = System.currentTimeMillis();
+		new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList()).generateTestCases();
+		final long sequentialTime = System.currentTimeMillis() - sequentialStart;
+
+		final long parallelStart = System.currentTimeMillis();
+		new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList(), this.workerStateSpaces).generateTestCases();
+		final long parallelTime = System.currentTimeMillis() - parallelStart;
+
+		System.out.printf("MC/DC test case generation for scheduler.mch: %d ms sequential, %d ms with %d workers%n", sequentialTime, parallelTime, WORKERS);
+	}
+}
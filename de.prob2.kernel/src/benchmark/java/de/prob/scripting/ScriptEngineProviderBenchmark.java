@@ -0,0 +1,41 @@
+package de.prob.scripting;
+
+import javax.script.ScriptException;
+
+import de.prob.cli.CliTestCommon;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures the time for getting a new script engine and running one short script in it,
+ * with and without the compiled script being cached.
+ */
+public final class ScriptEngineProviderBenchmark {
+	private static final int BENCHMARK_SCRIPTS = 200;
+
+	private ScriptEngineProvider provider;
+
+	@BeforeEach
+	public void setUp() {
+		this.provider = CliTestCommon.getInjector().getInstance(ScriptEngineProvider.class);
+	}
+
+	private long measureAverageMicros(final boolean sameScript) throws ScriptException {
+		final long start = System.nanoTime();
+		for (int i = 0; i < BENCHMARK_SCRIPTS; i++) {
+			// Different constants make every script text unique, so nothing can be taken from the cache.
+			final String script = sameScript ? "[1, 2, 3].collect { it * 2 }.sum()" : "[1, 2, " + i + "].collect { it * 2 }.sum()";
+			this.provider.get().eval(script);
+		}
+		return (System.nanoTime() - start) / BENCHMARK_SCRIPTS / 1000;
+	}
+
+	@Test
+	public void repeatedScripts() throws ScriptException {
+		final long unique = this.measureAverageMicros(false);
+		final long repeated = this.measureAverageMicros(true);
+		System.out.printf("Average time for a new engine and one short script: %d µs for unique scripts, %d µs for repeated scripts%n", unique, repeated);
+		System.out.printf("Script engine statistics: %s%n", this.provider.getStatistics());
+	}
+}
@@ -0,0 +1,43 @@
+package de.prob.statespace;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the memory use and speed of the string-keyed state cache and the primitive state index.
+ */
+class StateIndexBenchmark {
+	private static final int BENCHMARK_STATES = 500_000;
+
+	private static long usedMemory() {
+		Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	private static void measure(final boolean primitiveIndex) {
+		long before = usedMemory();
+		long start = System.nanoTime();
+		// No animator is needed, because only states with known IDs are added.
+		StateSpace space = new StateSpace(() -> null, BENCHMARK_STATES, 0, primitiveIndex);
+		for (long id = 0; id < BENCHMARK_STATES; id++) {
+			space.addState(id);
+		}
+		// Look up every state again, like when the same states are reached again via other transitions.
+		for (long id = 0; id < BENCHMARK_STATES; id++) {
+			space.addState(id);
+		}
+		long nanos = System.nanoTime() - start;
+		long after = usedMemory();
+		System.out.printf("%d states with %s: %d MiB retained, %d ms to add and look up%n",
+			space.getStateCacheStatistics().getSize(), primitiveIndex ? "primitive state index" : "string-keyed state cache",
+			(after - before) / (1024 * 1024), nanos / 1_000_000);
+	}
+
+	@Test
+	void stateIndexMemory() {
+		measure(false);
+		measure(true);
+	}
+}
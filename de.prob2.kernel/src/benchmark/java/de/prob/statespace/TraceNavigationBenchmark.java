@@ -0,0 +1,63 @@
+package de.prob.statespace;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures stepping through and jumping around in a trace with a large number of transitions.
+ */
+class TraceNavigationBenchmark {
+	private static final int LONG_TRACE_SIZE = 100_000;
+	private static final int JUMPS = 100_000;
+
+	private static StateSpace stateSpace;
+	private static Trace longTrace;
+
+	@BeforeAll
+	static void beforeAll() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+		// Navigation does not depend on the transitions being connected,
+		// so build a long trace by repeating the transitions of a short one without any further ProB calls.
+		List<Transition> pattern = new Trace(stateSpace).randomAnimation(20, 1L).getTransitionList();
+		List<Transition> transitions = new ArrayList<>(LONG_TRACE_SIZE);
+		for (int i = 0; i < LONG_TRACE_SIZE; i++) {
+			transitions.add(pattern.get(i % pattern.size()));
+		}
+		longTrace = new Trace(stateSpace).addTransitions(transitions);
+	}
+
+	@AfterAll
+	static void afterAll() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void navigationOnLongTrace() {
+		long start = System.nanoTime();
+		Trace trace = longTrace.gotoPosition(-1);
+		while (trace.canGoForward()) {
+			trace = trace.forward();
+		}
+		long forwardNanos = System.nanoTime() - start;
+
+		start = System.nanoTime();
+		Random random = new Random(42L);
+		for (int i = 0; i < JUMPS; i++) {
+			trace = trace.gotoPosition(random.nextInt(LONG_TRACE_SIZE + 1) - 1);
+		}
+		long jumpNanos = System.nanoTime() - start;
+
+		System.out.printf("Trace with %d transitions: forward through the whole trace took %d ms, %d random jumps took %d ms%n", LONG_TRACE_SIZE, forwardNanos / 1_000_000, JUMPS, jumpNanos / 1_000_000);
+	}
+}
@@ -16,9 +16,13 @@ import de.prob.statespace.ModelModule;
  */
 public class MainModule extends AbstractModule {
 	private int maxCacheSize;
+	private long maxCacheWeight;
+	private boolean primitiveStateIndex;
 
 	public MainModule() {
 		this.maxCacheSize = 100;
+		this.maxCacheWeight = 0;
+		this.primitiveStateIndex = false;
 	}
 
 	public int getMaxCacheSize() {
@@ -29,12 +33,56 @@ public class MainModule extends AbstractModule {
 		this.maxCacheSize = maxCacheSize;
 	}
 
+	/**
+	 * Get the approximate maximum memory (in bytes) used by the states cached in each state space.
+	 * 
+	 * @return the maximum weight of each state space's state cache, or 0 if the cache is only limited by {@link #getMaxCacheSize()}
+	 */
+	public long getMaxCacheWeight() {
+		return maxCacheWeight;
+	}
+
+	/**
+	 * Set the approximate maximum memory (in bytes) used by the states cached in each state space.
+	 * If this is set to a positive value,
+	 * the state cache is limited by the estimated memory footprint of the states instead of by their number,
+	 * and {@link #getMaxCacheSize()} is ignored.
+	 * 
+	 * @param maxCacheWeight the maximum weight of each state space's state cache, or 0 to limit the cache by {@link #getMaxCacheSize()}
+	 */
+	public void setMaxCacheWeight(final long maxCacheWeight) {
+		this.maxCacheWeight = maxCacheWeight;
+	}
+
+	/**
+	 * Check whether each state space stores its states with numeric IDs in a primitive index
+	 * instead of the general {@link String}-keyed state cache.
+	 * 
+	 * @return whether the primitive state index is enabled
+	 */
+	public boolean isPrimitiveStateIndex() {
+		return primitiveStateIndex;
+	}
+
+	/**
+	 * Enable or disable the primitive state index.
+	 * If enabled, states with numeric IDs are kept in an open addressing table keyed by {@code long}s,
+	 * which avoids the per-entry overhead of the general state cache for large state spaces.
+	 * The index is limited by {@link #getMaxCacheSize()}.
+	 * It is not used if the cache is limited by {@link #getMaxCacheWeight()}.
+	 * 
+	 * @param primitiveStateIndex whether to enable the primitive state index
+	 */
+	public void setPrimitiveStateIndex(final boolean primitiveStateIndex) {
+		this.primitiveStateIndex = primitiveStateIndex;
+	}
+
 	@Override
 	protected final void configure() {
 		install(new MainConfiguration());
 		install(new ModuleCli());
 		install(new AnimatorModule());
-		install(new ModelModule(this.maxCacheSize));
+		install(new ModelModule(this.maxCacheSize, this.maxCacheWeight, this.primitiveStateIndex));
 		install(new ScriptingModule());
 	}
 }
@@ -0,0 +1,209 @@
+package de.prob.analysis;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import de.prob.animator.PooledAnimator;
+import de.prob.animator.command.AbstractCommand;
+import de.prob.animator.command.CbcSolveCommand;
+import de.prob.animator.command.ComposedCommand;
+import de.prob.animator.command.SetPreferenceCommand;
+import de.prob.animator.domainobjects.AbstractEvalResult;
+import de.prob.animator.domainobjects.IEvalElement;
+import de.prob.exception.ProBError;
+import de.prob.statespace.StateSpace;
+
+/**
+ * <p>
+ * Solves many independent predicates using constraint-based checking,
+ * with fewer round trips than executing a separate {@link CbcSolveCommand} for each predicate.
+ * </p>
+ * <p>
+ * The predicates are split into chunks of at most {@link #getBatchSize()} predicates,
+ * and each chunk is solved using a single {@link ComposedCommand}.
+ * If the parallelism is greater than 1, several chunks are submitted at the same time,
+ * which allows a state space backed by a {@link PooledAnimator} to solve them on different {@code probcli} instances.
+ * The results are always returned in the same order as the predicates.
+ * </p>
+ * <p>
+ * If solving a chunk fails with a {@link ProBError}, its predicates are solved again one at a time,
+ * so that the error is thrown for the same predicate as if it was solved on its own.
+ * </p>
+ */
+public final class CbcBatchSolver {
+	public static final int DEFAULT_BATCH_SIZE = 50;
+	private static final String TIME_OUT_PREFERENCE = "TIME_OUT";
+
+	private final StateSpace stateSpace;
+	private final CbcSolveCommand.Solvers solver;
+	private int batchSize;
+	private int parallelism;
+	private Integer timeout;
+
+	public CbcBatchSolver(final StateSpace stateSpace) {
+		this(stateSpace, CbcSolveCommand.Solvers.PROB);
+	}
+
+	public CbcBatchSolver(final StateSpace stateSpace, final CbcSolveCommand.Solvers solver) {
+		this.stateSpace = stateSpace;
+		this.solver = solver;
+		this.batchSize = DEFAULT_BATCH_SIZE;
+		this.parallelism = 1;
+		this.timeout = null;
+	}
+
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Set the maximum number of predicates that are solved using a single command.
+	 * 
+	 * @param batchSize the maximum number of predicates per command, must be at least 1
+	 */
+	public void setBatchSize(final int batchSize) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1, not " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Set the maximum number of chunks that are submitted to the state space at the same time.
+	 * This is only useful if the state space is backed by a {@link PooledAnimator} -
+	 * with a single {@code probcli} instance, the chunks are solved one after another anyway.
+	 * 
+	 * @param parallelism the maximum number of concurrently submitted chunks, must be at least 1
+	 */
+	public void setParallelism(final int parallelism) {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("Parallelism must be at least 1, not " + parallelism);
+		}
+		this.parallelism = parallelism;
+	}
+
+	public Integer getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * <p>
+	 * Set the time limit for solving each predicate,
+	 * overriding the {@code TIME_OUT} preference while the predicates are solved.
+	 * The preference is restored after each chunk.
+	 * </p>
+	 * <p>
+	 * Because changing a preference affects the {@code probcli} instance,
+	 * chunks with a timeout are never solved on {@link PooledAnimator} workers
+	 * and are submitted one after another regardless of the parallelism.
+	 * </p>
+	 * 
+	 * @param timeout the time limit per predicate in milliseconds, or {@code null} to use the {@code TIME_OUT} preference
+	 */
+	public void setTimeout(final Integer timeout) {
+		if (timeout != null && timeout < 1) {
+			throw new IllegalArgumentException("Timeout must be positive, not " + timeout);
+		}
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Solve all given predicates.
+	 * 
+	 * @param predicates the predicates to solve
+	 * @return the result for each predicate, in the same order as the predicates
+	 */
+	public List<AbstractEvalResult> solve(final List<? extends IEvalElement> predicates) {
+		if (predicates.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		final String originalTimeout = this.timeout == null ? null : this.stateSpace.getCurrentPreference(TIME_OUT_PREFERENCE);
+		final List<List<? extends IEvalElement>> chunks = new ArrayList<>();
+		for (int i = 0; i < predicates.size(); i += this.batchSize) {
+			chunks.add(predicates.subList(i, Math.min(i + this.batchSize, predicates.size())));
+		}
+
+		final int threads = this.timeout == null ? Math.min(this.parallelism, chunks.size()) : 1;
+		final List<AbstractEvalResult> results = new ArrayList<>(predicates.size());
+		if (threads == 1) {
+			for (final List<? extends IEvalElement> chunk : chunks) {
+				results.addAll(this.solveChunk(chunk, originalTimeout));
+			}
+			return results;
+		}
+
+		final AtomicInteger threadCounter = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			final Thread thread = new Thread(r, "CBC batch solver " + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		try {
+			final List<Future<List<AbstractEvalResult>>> futures = new ArrayList<>();
+			for (final List<? extends IEvalElement> chunk : chunks) {
+				futures.add(executor.submit(() -> this.solveChunk(chunk, originalTimeout)));
+			}
+			for (final Future<List<AbstractEvalResult>> future : futures) {
+				results.addAll(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ProBError("Interrupted while solving predicates", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new ProBError("Failed to solve predicates", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
+
+	private List<AbstractEvalResult> solveChunk(final List<? extends IEvalElement> chunk, final String originalTimeout) {
+		final List<CbcSolveCommand> solveCommands = chunk.stream()
+			.map(predicate -> new CbcSolveCommand(predicate, this.solver))
+			.collect(Collectors.toList());
+		final List<AbstractCommand> commands = new ArrayList<>();
+		if (this.timeout != null) {
+			commands.add(new SetPreferenceCommand(TIME_OUT_PREFERENCE, this.timeout.toString()));
+		}
+		commands.addAll(solveCommands);
+		if (this.timeout != null) {
+			commands.add(new SetPreferenceCommand(TIME_OUT_PREFERENCE, originalTimeout));
+		}
+
+		try {
+			this.stateSpace.execute(commands.size() == 1 ? commands.get(0) : new ComposedCommand(commands));
+		} catch (ProBError e) {
+			if (this.timeout != null) {
+				// The rest of the composed command was not executed, so the timeout has not been restored yet.
+				this.stateSpace.execute(new SetPreferenceCommand(TIME_OUT_PREFERENCE, originalTimeout));
+			}
+			if (chunk.size() == 1) {
+				throw e;
+			}
+			final List<AbstractEvalResult> results = new ArrayList<>(chunk.size());
+			for (final IEvalElement predicate : chunk) {
+				results.addAll(this.solveChunk(Collections.singletonList(predicate), originalTimeout));
+			}
+			return results;
+		}
+
+		return solveCommands.stream()
+			.map(CbcSolveCommand::getValue)
+			.collect(Collectors.toList());
+	}
+}
@@ -4,7 +4,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-import de.prob.animator.command.CbcSolveCommand;
+import de.prob.animator.domainobjects.AbstractEvalResult;
 import de.prob.animator.domainobjects.EvalResult;
 import de.prob.animator.domainobjects.IEvalElement;
 import de.prob.animator.domainobjects.Join;
@@ -30,16 +30,21 @@ public class FeasibilityAnalysis {
 		Machine machine = (Machine)stateSpace.getMainComponent();
 		AbstractModel model = stateSpace.getModel();
 
-		List<String> infeasibleOperations = new ArrayList<>();
+		List<BEvent> operations = new ArrayList<>(machine.getEvents());
+		List<IEvalElement> predicates = new ArrayList<>();
 		List<IEvalElement> invariantPredicates = Extraction.getInvariantPredicates(machine);
-		for (BEvent operation : machine.getEvents()) {
+		for (BEvent operation : operations) {
 			List<IEvalElement> iEvalElements = new ArrayList<>(invariantPredicates);
 			iEvalElements.addAll(Extraction.getGuardPredicates(machine, operation.getName()));
-			CbcSolveCommand cmd = new CbcSolveCommand(Join.conjunct(model, iEvalElements));
-			stateSpace.execute(cmd);
-			
-			if (!(cmd.getValue() instanceof EvalResult) || !(((EvalResult) cmd.getValue()).getValue().equals("TRUE"))) {
-				infeasibleOperations.add(operation.getName());
+			predicates.add(Join.conjunct(model, iEvalElements));
+		}
+
+		List<AbstractEvalResult> results = new CbcBatchSolver(stateSpace).solve(predicates);
+		List<String> infeasibleOperations = new ArrayList<>();
+		for (int i = 0; i < operations.size(); i++) {
+			AbstractEvalResult result = results.get(i);
+			if (!(result instanceof EvalResult) || !(((EvalResult) result).getValue().equals("TRUE"))) {
+				infeasibleOperations.add(operations.get(i).getName());
 			}
 		}
 		return infeasibleOperations;
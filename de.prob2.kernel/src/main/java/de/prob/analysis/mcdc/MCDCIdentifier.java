@@ -9,8 +9,9 @@ import java.util.Map;
 import de.be4.classicalb.core.parser.node.APredicateParseUnit;
 import de.be4.classicalb.core.parser.node.PPredicate;
 import de.be4.classicalb.core.parser.node.Start;
+import de.prob.analysis.CbcBatchSolver;
 import de.prob.analysis.Conversion;
-import de.prob.animator.command.CbcSolveCommand;
+import de.prob.animator.domainobjects.AbstractEvalResult;
 import de.prob.animator.domainobjects.ClassicalB;
 import de.prob.animator.domainobjects.EvalResult;
 import de.prob.animator.domainobjects.IEvalElement;
@@ -54,31 +55,40 @@ public class MCDCIdentifier {
 			ClassicalB predicate = (ClassicalB)Join.conjunct(model, guards);
 			Start ast = predicate.getAst();
 			PPredicate startNode = ((APredicateParseUnit) ast.getPParseUnit()).getPredicate();
-			testCases.put(operation, getMCDCTestCases(startNode));
+			testCases.put(operation, new MCDCASTVisitor(maxLevel, model).getMCDCTestCases(startNode));
 		}
+		filterFeasible(testCases);
 		return testCases;
 	}
 
-	private List<ConcreteMCDCTestCase> getMCDCTestCases(PPredicate node) {
-		AbstractModel model = stateSpace.getModel();;
-
-		List<ConcreteMCDCTestCase> testCases = new MCDCASTVisitor(maxLevel, model).getMCDCTestCases(node);
-		return filterFeasible(testCases);
-	}
-
-	private List<ConcreteMCDCTestCase> filterFeasible(List<ConcreteMCDCTestCase> testCases) {
+	/**
+	 * Removes the infeasible test cases of all operations.
+	 * The feasibility of all test cases is checked in batches instead of one test case at a time.
+	 *
+	 * @param testCases The test cases of all operations, modified in place
+	 */
+	private void filterFeasible(Map<BEvent, List<ConcreteMCDCTestCase>> testCases) {
 		AbstractModel model = stateSpace.getModel();
 
-		List<ConcreteMCDCTestCase> feasibleTestCases = new ArrayList<>();
-		for (ConcreteMCDCTestCase t : testCases) {
-			CbcSolveCommand cmd = new CbcSolveCommand(Conversion.classicalBFromPredicate(model, t.getPredicate()));
-			stateSpace.execute(cmd);
-			if (cmd.getValue() == EvalResult.FALSE) {
-				LOGGER.info("Infeasible: {}", t);
-			} else {
-				feasibleTestCases.add(t);
+		List<IEvalElement> predicates = new ArrayList<>();
+		for (List<ConcreteMCDCTestCase> operationTestCases : testCases.values()) {
+			for (ConcreteMCDCTestCase t : operationTestCases) {
+				predicates.add(Conversion.classicalBFromPredicate(model, t.getPredicate()));
+			}
+		}
+		List<AbstractEvalResult> results = new CbcBatchSolver(stateSpace).solve(predicates);
+
+		int i = 0;
+		for (Map.Entry<BEvent, List<ConcreteMCDCTestCase>> entry : testCases.entrySet()) {
+			List<ConcreteMCDCTestCase> feasibleTestCases = new ArrayList<>();
+			for (ConcreteMCDCTestCase t : entry.getValue()) {
+				if (results.get(i++) == EvalResult.FALSE) {
+					LOGGER.info("Infeasible: {}", t);
+				} else {
+					feasibleTestCases.add(t);
+				}
 			}
+			entry.setValue(feasibleTestCases);
 		}
-		return feasibleTestCases;
 	}
 }
@@ -1,11 +1,20 @@
 package de.prob.analysis.testcasegeneration;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import de.be4.classicalb.core.parser.node.APredicateParseUnit;
@@ -21,6 +30,7 @@ import de.prob.animator.command.FindTestPathCommand;
 import de.prob.animator.domainobjects.ClassicalB;
 import de.prob.animator.domainobjects.IEvalElement;
 import de.prob.animator.domainobjects.Join;
+import de.prob.exception.ProBError;
 import de.prob.model.representation.AbstractElement;
 import de.prob.model.representation.AbstractModel;
 import de.prob.model.representation.BEvent;
@@ -35,10 +45,16 @@ import de.prob.statespace.Trace;
  * The generator can be executed with different coverage objectives. Currently available coverage options:
  * - Operation Coverage
  * - MC/DC Coverage
+ * <p>
+ * If worker state spaces are given, the feasibility checks for all combinations of traces and targets of one depth
+ * are distributed over the workers. The results are then merged in the same order as in the sequential search,
+ * so the generated test cases are the same as without workers. The paths for the resulting test cases are always
+ * calculated in the main state space, so that all returned traces belong to it.
  */
 public class ConstraintBasedTestCaseGenerator {
 
 	private final StateSpace stateSpace;
+	private final List<StateSpace> workerStateSpaces;
 	private final TestCaseGeneratorSettings settings;
 	private final List<String> finalOperations;
 	private List<String> infeasibleOperations;
@@ -46,7 +62,18 @@ public class ConstraintBasedTestCaseGenerator {
 	private List<Target> uncoveredTargets = new ArrayList<>();
 
 	public ConstraintBasedTestCaseGenerator(StateSpace stateSpace, TestCaseGeneratorSettings settings, List<String> finalOperations) {
+		this(stateSpace, settings, finalOperations, Collections.emptyList());
+	}
+
+	/**
+	 * @param stateSpace The state space in which the test cases are generated
+	 * @param settings The coverage settings
+	 * @param finalOperations Operations after which a test case is not extended further
+	 * @param workerStateSpaces Additional state spaces with the same model loaded, used to check paths in parallel
+	 */
+	public ConstraintBasedTestCaseGenerator(StateSpace stateSpace, TestCaseGeneratorSettings settings, List<String> finalOperations, List<StateSpace> workerStateSpaces) {
 		this.stateSpace = stateSpace;
+		this.workerStateSpaces = new ArrayList<>(workerStateSpaces);
 		this.settings = settings;
 		this.finalOperations = finalOperations;
 	}
@@ -78,59 +105,156 @@ public class ConstraintBasedTestCaseGenerator {
 		int depth = 0;
 		List<Target> tempTargets;
 		Set<Target> visitedTargets = new HashSet<>();
-		while (true) {
-			tempTargets = new ArrayList<>(targets);
-			List<TestTrace> tracesOfCurrentDepth = filterDepthAndFinal(testTraces, depth);
-			for (TestTrace trace : tracesOfCurrentDepth) {
-				for (Target t : new ArrayList<>(targets)) {
-					FindTestPathCommand cmd = findTestPath(trace, t);
-					if (cmd.isFeasible() && !visitedTargets.contains(t)) {
-						targets.remove(t);
-						Trace previousTrace = cmd.getTrace();
-						cmd = findTestPathWithTarget(trace, t);
-						Trace currentTrace = cmd.getTrace();
-						TestTrace newTrace = trace.createNewTrace(trace.getTransitionNames(), t, // a trace is complete, i.e., should not be extended further if it contains a final operation or is statically proven to be infeasible
-								(finalOperations.contains(t.getOperation()) || t.isInfeasible()), t.isInfeasible() ? previousTrace : currentTrace);
-						testTraces.add(newTrace);
-						visitedTargets.add(t);
+		ExecutorService executor = createExecutor();
+		try {
+			while (true) {
+				tempTargets = new ArrayList<>(targets);
+				List<TestTrace> tracesOfCurrentDepth = filterDepthAndFinal(testTraces, depth);
+				List<Map<Target, Boolean>> feasibility = checkFeasibility(executor, tracesOfCurrentDepth, tempTargets);
+				for (int i = 0; i < tracesOfCurrentDepth.size(); i++) {
+					TestTrace trace = tracesOfCurrentDepth.get(i);
+					for (Target t : new ArrayList<>(targets)) {
+						FindTestPathCommand cmd = feasibility == null ? findTestPath(trace, t) : null;
+						boolean feasible = cmd == null ? feasibility.get(i).get(t) : cmd.isFeasible();
+						if (feasible && !visitedTargets.contains(t)) {
+							targets.remove(t);
+							testTraces.add(createTestTrace(trace, t, cmd));
+							visitedTargets.add(t);
+						}
+					}
+					if(Thread.currentThread().isInterrupted()) {
+						interrupted = true;
+						break;
 					}
 				}
-				if(Thread.currentThread().isInterrupted()) {
-					interrupted = true;
+				if (targets.isEmpty() || depth == maxDepth) {
 					break;
 				}
-			}
-			if (targets.isEmpty() || depth == maxDepth) {
-				break;
-			}
-			for (TestTrace trace : tracesOfCurrentDepth) {
-				for (Target t : filterTempTargets(getAllOperationNames(), tempTargets)) {
-					FindTestPathCommand cmd = findTestPath(trace, t);
-					if (cmd.isFeasible() && !visitedTargets.contains(t)) {
-						Trace previousTrace = cmd.getTrace();
-						cmd = findTestPathWithTarget(trace, t);
-						Trace currentTrace = cmd.getTrace();
-						TestTrace newTrace = trace.createNewTrace(trace.getTransitionNames(), t, // a trace is complete, i.e., should not be extended further if it contains a final operation or is statically proven to be infeasible
-								(finalOperations.contains(t.getOperation()) || t.isInfeasible()), t.isInfeasible() ? previousTrace : currentTrace);
-						testTraces.add(newTrace);
-						visitedTargets.add(t);
+				List<Target> otherTargets = filterTempTargets(getAllOperationNames(), tempTargets);
+				feasibility = checkFeasibility(executor, tracesOfCurrentDepth, otherTargets);
+				for (int i = 0; i < tracesOfCurrentDepth.size(); i++) {
+					TestTrace trace = tracesOfCurrentDepth.get(i);
+					for (Target t : otherTargets) {
+						FindTestPathCommand cmd = feasibility == null ? findTestPath(trace, t) : null;
+						boolean feasible = cmd == null ? feasibility.get(i).get(t) : cmd.isFeasible();
+						if (feasible && !visitedTargets.contains(t)) {
+							testTraces.add(createTestTrace(trace, t, cmd));
+							visitedTargets.add(t);
+						}
+					}
+					if(Thread.currentThread().isInterrupted()) {
+						interrupted = true;
+						break;
 					}
 				}
+				depth++;
 				if(Thread.currentThread().isInterrupted()) {
 					interrupted = true;
 					break;
 				}
 			}
-			depth++;
-			if(Thread.currentThread().isInterrupted()) {
-				interrupted = true;
-				break;
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
 			}
 		}
 		uncoveredTargets.addAll(targets);
 		return new TestCaseGeneratorResult(testTraces, uncoveredTargets, infeasibleOperations, interrupted);
 	}
 
+	/**
+	 * Creates the new test trace that extends a trace by a target.
+	 * <p>
+	 * If the feasibility of the path was checked by a worker, the check is repeated in the main state space,
+	 * so that the trace of the test case belongs to the main state space.
+	 *
+	 * @param trace  The prior trace
+	 * @param target The covered target
+	 * @param cmd    The command that checked the path to the target in the main state space, or null
+	 * @return The new test trace
+	 */
+	private TestTrace createTestTrace(TestTrace trace, Target target, FindTestPathCommand cmd) {
+		if (cmd == null) {
+			cmd = findTestPath(trace, target);
+		}
+		Trace previousTrace = cmd.getTrace();
+		Trace currentTrace = findTestPathWithTarget(trace, target).getTrace();
+		// a trace is complete, i.e., should not be extended further if it contains a final operation or is statically proven to be infeasible
+		return trace.createNewTrace(trace.getTransitionNames(), target,
+				(finalOperations.contains(target.getOperation()) || target.isInfeasible()), target.isInfeasible() ? previousTrace : currentTrace);
+	}
+
+	private ExecutorService createExecutor() {
+		if (workerStateSpaces.isEmpty()) {
+			return null;
+		}
+		AtomicInteger threadCounter = new AtomicInteger();
+		return Executors.newFixedThreadPool(workerStateSpaces.size(), r -> {
+			Thread thread = new Thread(r, "Test case generation worker " + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Checks the feasibility of all combinations of traces and targets using the worker state spaces.
+	 *
+	 * @param executor The executor for the worker threads, or null if there are no workers
+	 * @param traces   The prior traces
+	 * @param targets  The regarded targets
+	 * @return For each trace, whether each target is feasible after it, or null if there are no workers
+	 */
+	private List<Map<Target, Boolean>> checkFeasibility(ExecutorService executor, List<TestTrace> traces, List<Target> targets) {
+		if (executor == null) {
+			return null;
+		}
+		BlockingQueue<StateSpace> idleWorkers = new LinkedBlockingQueue<>(workerStateSpaces);
+		List<List<Future<Boolean>>> futures = new ArrayList<>();
+		for (TestTrace trace : traces) {
+			List<Future<Boolean>> traceFutures = new ArrayList<>();
+			for (Target target : targets) {
+				traceFutures.add(executor.submit(() -> {
+					StateSpace worker = idleWorkers.take();
+					try {
+						FindTestPathCommand cmd = new FindTestPathCommand(trace.getTransitionNames(), worker, target.getGuard());
+						worker.execute(cmd);
+						return cmd.isFeasible();
+					} finally {
+						idleWorkers.add(worker);
+					}
+				}));
+			}
+			futures.add(traceFutures);
+		}
+
+		List<Map<Target, Boolean>> feasibility = new ArrayList<>();
+		try {
+			for (List<Future<Boolean>> traceFutures : futures) {
+				Map<Target, Boolean> traceFeasibility = new HashMap<>();
+				for (int i = 0; i < targets.size(); i++) {
+					traceFeasibility.put(targets.get(i), traceFutures.get(i).get());
+				}
+				feasibility.add(traceFeasibility);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			futures.forEach(traceFutures -> traceFutures.forEach(future -> future.cancel(true)));
+			workerStateSpaces.forEach(StateSpace::sendInterrupt);
+			// Treat all remaining combinations as infeasible, the caller notices the interrupt and stops
+			for (int i = feasibility.size(); i < traces.size(); i++) {
+				Map<Target, Boolean> traceFeasibility = new HashMap<>();
+				targets.forEach(target -> traceFeasibility.put(target, false));
+				feasibility.add(traceFeasibility);
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new ProBError("Failed to check test paths in parallel", e.getCause());
+		}
+		return feasibility;
+	}
+
 	/**
 	 * Determines the targets for the test case generation with MC/DC coverage.
 	 *
@@ -12,16 +12,24 @@ import de.prob.animator.command.AbstractCommand;
 import de.prob.animator.command.ComposedCommand;
 import de.prob.animator.command.GetErrorItemsCommand;
 import de.prob.animator.command.GetTotalNumberOfErrorsCommand;
+import de.prob.animator.command.IRawCommand;
 import de.prob.animator.command.ResetProBCommand;
 import de.prob.animator.domainobjects.ErrorItem;
 import de.prob.cli.ProBInstance;
 import de.prob.exception.ProBError;
+import de.prob.parser.ISimplifiedROMap;
+import de.prob.prolog.term.PrologTerm;
 import de.prob.statespace.AnimationSelector;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 class AnimatorImpl implements IAnimator {
+	/**
+	 * Name of the system property that controls whether error messages are fetched
+	 * in the same Prolog query as the command itself (enabled by default).
+	 */
+	static final String PIGGYBACK_ERRORS_PROPERTY = "prob.piggybackErrors";
 
 	private static int counter = 0;
 	private final String id = "animator" + counter++;
@@ -32,6 +40,7 @@ class AnimatorImpl implements IAnimator {
 	private final GetErrorItemsCommand getErrorItems;
 	private final AnimationSelector animations;
 	private boolean busy = false;
+	private boolean piggybackErrors = !"false".equals(System.getProperty(PIGGYBACK_ERRORS_PROPERTY));
 	private final Collection<IWarningListener> warningListeners = new ArrayList<>();
 
 	@Inject
@@ -58,8 +67,26 @@ class AnimatorImpl implements IAnimator {
 		// Prevent multiple threads from communicating over the same connection at the same time.
 		synchronized (this) {
 			logger.trace("Starting execution of {}", command);
-			result = processor.sendCommand(command);
-			errors = getErrorItems();
+			if (piggybackErrors && !(command instanceof IRawCommand)) {
+				// Append the error getter to the command's query,
+				// so that a successful command only needs a single round trip to the CLI.
+				final ComposedCommand withErrors = new ComposedCommand(command, getErrorItems);
+				final IPrologResult composedResult = processor.sendCommand(withErrors);
+				if (composedResult instanceof YesResult) {
+					final ISimplifiedROMap<String, PrologTerm> bindings = ((YesResult)composedResult).getBindings();
+					withErrors.getResultForCommand(getErrorItems, bindings);
+					errors = getErrorItems.getErrors();
+					result = new YesResult(withErrors.getBindingsForCommand(command, bindings));
+				} else {
+					// The error getter was never reached (the command failed or was interrupted),
+					// so the errors have to be fetched separately.
+					result = composedResult;
+					errors = getErrorItems();
+				}
+			} else {
+				result = processor.sendCommand(command);
+				errors = getErrorItems();
+			}
 		}
 
 		final Optional<ErrorItem.Type> worstErrorType = errors.stream()
@@ -106,6 +133,20 @@ class AnimatorImpl implements IAnimator {
 		}
 	}
 
+	boolean isPiggybackErrors() {
+		return piggybackErrors;
+	}
+
+	/**
+	 * Enable or disable fetching the error messages in the same query as the command.
+	 * If disabled, every command needs a second round trip to the CLI to fetch the errors.
+	 * 
+	 * @param piggybackErrors whether to fetch errors in the same query as the command
+	 */
+	synchronized void setPiggybackErrors(final boolean piggybackErrors) {
+		this.piggybackErrors = piggybackErrors;
+	}
+
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(AnimatorImpl.class).addValue(cli).toString();
@@ -1,5 +1,6 @@
 package de.prob.animator;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import de.prob.animator.command.AbstractCommand;
@@ -18,6 +19,7 @@ import de.prob.exception.PrologException;
 import de.prob.parser.BindingGenerator;
 import de.prob.parser.PrologTermGenerator;
 import de.prob.parser.ProBResultParser;
+import de.prob.prolog.term.ListPrologTerm;
 import de.prob.prolog.output.PrologTermStringOutput;
 import de.prob.prolog.output.IPrologTermOutput;
 import de.prob.prolog.term.PrologTerm;
@@ -50,6 +52,9 @@ class CommandProcessor {
 			pto.printAtom("true");
 			query = pto.fullstop().toString();
 		}
+		if (cli.isStreaming()) {
+			return sendCommandStreaming(command, query);
+		}
 		String result = cli.send(query); // send the query and get Prolog's response
 
 		Start ast = parseResult(result);
@@ -75,6 +80,50 @@ class CommandProcessor {
 		return extractResult;
 	}
 
+	private IPrologResult sendCommandStreaming(final AbstractCommand command, final String query) {
+		// Same protocol as in sendCommand,
+		// but the answers are read directly as terms instead of being parsed from a string.
+		PrologTerm answer = cli.sendForTerm(query);
+		while (answer.hasFunctor("progress", 1) || answer.hasFunctor("call_back", 1)) {
+			if (answer.hasFunctor("progress", 1)) {
+				command.processProgressResult(answer.getArgument(1));
+				answer = cli.receiveTerm();
+			} else {
+				final PrologTermStringOutput pout = new PrologTermStringOutput();
+				command.processCallBack(answer.getArgument(1), pout);
+				answer = cli.sendForTerm(pout.fullstop().toString());
+			}
+		}
+		IPrologResult extractResult = extractResult(answer);
+		if (logger.isDebugEnabled()) {
+			logger.debug(shorten(extractResult.toString()));
+		}
+		return extractResult;
+	}
+
+	private static IPrologResult extractResult(final PrologTerm answer) {
+		if (answer.hasFunctor("no", 0)) {
+			return new NoResult();
+		} else if (answer.hasFunctor("interrupted", 0)) {
+			return new InterruptedResult();
+		} else if (answer.hasFunctor("yes", 1) && answer.getArgument(1) instanceof ListPrologTerm) {
+			final ListPrologTerm bindingList = (ListPrologTerm) answer.getArgument(1);
+			final Map<String, PrologTerm> binding = new HashMap<>(bindingList.size());
+			for (final PrologTerm b : bindingList) {
+				if (!b.hasFunctor("=", 2)) {
+					throw new ProBError("unexpected binding in prolog result " + answer);
+				}
+				binding.put(b.getArgument(1).atomToString(), b.getArgument(2));
+			}
+			return new YesResult(new SimplifiedROMap<String, PrologTerm>(binding));
+		} else if (answer.hasFunctor("exception", 1)) {
+			final PrologTerm message = answer.getArgument(1);
+			throw new PrologException(message.isAtom() ? message.atomToString() : message.toString());
+		} else {
+			throw new ProBError("unknown prolog result " + answer);
+		}
+	}
+
 	private IPrologResult extractResult(final Start ast, final PResult topnode) {
 		if (topnode instanceof ANoResult) {
 			return new NoResult();
@@ -0,0 +1,359 @@
+package de.prob.animator;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.base.MoreObjects;
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+import de.prob.animator.command.AbstractCommand;
+import de.prob.animator.command.ComposedCommand;
+import de.prob.animator.command.IStatelessCommand;
+import de.prob.animator.command.SetPreferenceCommand;
+import de.prob.annotations.MaxCacheSize;
+import de.prob.annotations.MaxCacheWeight;
+import de.prob.annotations.PrimitiveStateIndex;
+import de.prob.scripting.ExtractedModel;
+import de.prob.statespace.StateSpace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * An animator that is backed by a pool of several {@code probcli} instances with the same model loaded.
+ * </p>
+ * <p>
+ * One of the instances is the primary instance,
+ * which executes all commands that depend on or modify the state space.
+ * All other instances are workers,
+ * which only execute {@linkplain IStatelessCommand stateless commands}
+ * such as formula type checking, CBC solving or evaluation in the root state.
+ * A stateless command is sent to an idle worker if there is one,
+ * otherwise it is executed by the primary instance as usual.
+ * This allows multi-threaded clients to evaluate many formulas in parallel,
+ * instead of being serialized on a single {@code probcli} instance.
+ * </p>
+ * <p>
+ * Preferences changed via {@link SetPreferenceCommand} are executed by the primary instance
+ * and applied to each worker before it executes its next stateless command,
+ * so that workers never answer with outdated preferences.
+ * </p>
+ * <p>
+ * A {@link PooledAnimator} is created without any instances.
+ * Use {@link #load(ExtractedModel, Map, int)} to start the instances, load the model into all of them,
+ * and get the {@link StateSpace} that uses this animator.
+ * </p>
+ */
+public final class PooledAnimator implements IAnimator {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PooledAnimator.class);
+
+	private final Provider<IAnimator> animatorProvider;
+	private final int maxCacheSize;
+	private final long maxCacheWeight;
+	private final boolean primitiveStateIndex;
+
+	private static final class Worker {
+		private final IAnimator animator;
+		// Version of PooledAnimator.preferences that has been applied to this worker.
+		private long preferencesVersion;
+
+		private Worker(final IAnimator animator, final long preferencesVersion) {
+			this.animator = animator;
+			this.preferencesVersion = preferencesVersion;
+		}
+	}
+
+	private volatile IAnimator primary;
+	private volatile StateSpace stateSpace;
+	private final List<StateSpace> workerStateSpaces;
+	private final BlockingQueue<Worker> idleWorkers;
+
+	// All preferences set on the primary instance, in the order in which they were first set.
+	private final Map<String, String> preferences;
+	private long preferencesVersion;
+
+	private final AtomicLong primaryCount;
+	private final AtomicLong workerCount;
+
+	@Inject
+	private PooledAnimator(final Provider<IAnimator> animatorProvider, @MaxCacheSize final int maxCacheSize, @MaxCacheWeight final long maxCacheWeight, @PrimitiveStateIndex final boolean primitiveStateIndex) {
+		super();
+
+		this.animatorProvider = animatorProvider;
+		this.maxCacheSize = maxCacheSize;
+		this.maxCacheWeight = maxCacheWeight;
+		this.primitiveStateIndex = primitiveStateIndex;
+
+		this.primary = null;
+		this.workerStateSpaces = new ArrayList<>();
+		this.idleWorkers = new LinkedBlockingQueue<>();
+
+		this.preferences = new LinkedHashMap<>();
+		this.preferencesVersion = 0;
+
+		this.primaryCount = new AtomicLong();
+		this.workerCount = new AtomicLong();
+	}
+
+	/**
+	 * Start {@code poolSize} {@code probcli} instances and load the given model into all of them.
+	 * This method can only be called once per {@link PooledAnimator}.
+	 *
+	 * @param extractedModel the model to load
+	 * @param preferences the preferences to set before loading the model
+	 * @param poolSize the total number of {@code probcli} instances, including the primary instance
+	 * @return a state space that uses this animator
+	 */
+	public StateSpace load(final ExtractedModel<?> extractedModel, final Map<String, String> preferences, final int poolSize) {
+		if (poolSize < 1) {
+			throw new IllegalArgumentException("Pool size must be at least 1, not " + poolSize);
+		}
+		synchronized (this) {
+			if (this.primary != null) {
+				throw new IllegalStateException("A model has already been loaded into this PooledAnimator");
+			}
+			this.primary = this.animatorProvider.get();
+			this.preferences.putAll(preferences);
+		}
+
+		final StateSpace stateSpace = new StateSpace(() -> this, this.maxCacheSize, this.maxCacheWeight, this.primitiveStateIndex);
+		this.stateSpace = stateSpace;
+		try {
+			stateSpace.changePreferences(preferences);
+			extractedModel.loadIntoStateSpace(stateSpace);
+			for (int i = 1; i < poolSize; i++) {
+				final IAnimator worker = this.animatorProvider.get();
+				final StateSpace workerStateSpace = new StateSpace(() -> worker, this.maxCacheSize, this.maxCacheWeight, this.primitiveStateIndex);
+				synchronized (this.workerStateSpaces) {
+					this.workerStateSpaces.add(workerStateSpace);
+				}
+				workerStateSpace.changePreferences(preferences);
+				extractedModel.loadIntoStateSpace(workerStateSpace);
+				// The worker is synchronized with all preferences before its first command,
+				// in case loading the model into the primary instance changed any preferences.
+				this.idleWorkers.add(new Worker(worker, -1));
+			}
+		} catch (RuntimeException e) {
+			stateSpace.kill();
+			throw e;
+		}
+		LOGGER.info("Loaded model into {} probcli instances", poolSize);
+		return stateSpace;
+	}
+
+	private IAnimator getPrimary() {
+		if (this.primary == null) {
+			throw new IllegalStateException("No model has been loaded into this PooledAnimator yet");
+		}
+		return this.primary;
+	}
+
+	private List<IAnimator> getAllAnimators() {
+		final List<IAnimator> animators = new ArrayList<>();
+		animators.add(this.getPrimary());
+		synchronized (this.workerStateSpaces) {
+			animators.addAll(this.workerStateSpaces);
+		}
+		return animators;
+	}
+
+	/**
+	 * Get the total number of {@code probcli} instances in this pool.
+	 *
+	 * @return the total number of {@code probcli} instances, including the primary instance
+	 */
+	public int getPoolSize() {
+		synchronized (this.workerStateSpaces) {
+			return this.workerStateSpaces.size() + (this.primary == null ? 0 : 1);
+		}
+	}
+
+	/**
+	 * Get the number of commands that were executed by the primary instance.
+	 *
+	 * @return the number of commands that were executed by the primary instance
+	 */
+	public long getPrimaryCommandCount() {
+		return this.primaryCount.get();
+	}
+
+	/**
+	 * Get the number of stateless commands that were executed by a worker instance.
+	 *
+	 * @return the number of commands that were executed by a worker instance
+	 */
+	public long getWorkerCommandCount() {
+		return this.workerCount.get();
+	}
+
+	private static boolean isStateless(final AbstractCommand command) {
+		if (command instanceof ComposedCommand) {
+			final List<AbstractCommand> subcommands = command.getSubcommands();
+			return !subcommands.isEmpty() && subcommands.stream().allMatch(PooledAnimator::isStateless);
+		} else {
+			return command instanceof IStatelessCommand && ((IStatelessCommand)command).isStateless();
+		}
+	}
+
+	private static void collectPreferenceChanges(final AbstractCommand command, final Map<String, String> changes) {
+		if (command instanceof SetPreferenceCommand) {
+			final SetPreferenceCommand setPreference = (SetPreferenceCommand)command;
+			changes.put(setPreference.getKey(), setPreference.getValue());
+		} else if (command instanceof ComposedCommand) {
+			for (final AbstractCommand subcommand : command.getSubcommands()) {
+				collectPreferenceChanges(subcommand, changes);
+			}
+		}
+	}
+
+	private synchronized void preferencesChanged(final Map<String, String> changes) {
+		this.preferences.putAll(changes);
+		this.preferencesVersion++;
+	}
+
+	private static void setPreferences(final IAnimator animator, final Map<String, String> preferences) {
+		if (preferences.isEmpty()) {
+			return;
+		}
+		final List<AbstractCommand> commands = new ArrayList<>();
+		preferences.forEach((key, value) -> commands.add(new SetPreferenceCommand(key, value)));
+		animator.execute(new ComposedCommand(commands));
+	}
+
+	private void updatePreferences(final Worker worker) {
+		final Map<String, String> currentPreferences;
+		final long currentVersion;
+		synchronized (this) {
+			if (worker.preferencesVersion == this.preferencesVersion) {
+				return;
+			}
+			currentPreferences = new LinkedHashMap<>(this.preferences);
+			currentVersion = this.preferencesVersion;
+		}
+		setPreferences(worker.animator, currentPreferences);
+		worker.preferencesVersion = currentVersion;
+	}
+
+	@Override
+	public void execute(final AbstractCommand command) {
+		if (isStateless(command)) {
+			final Worker worker = this.idleWorkers.poll();
+			if (worker != null) {
+				try {
+					this.workerCount.incrementAndGet();
+					this.updatePreferences(worker);
+					worker.animator.execute(command);
+				} finally {
+					this.idleWorkers.add(worker);
+				}
+				return;
+			}
+		}
+		this.primaryCount.incrementAndGet();
+		this.getPrimary().execute(command);
+		final Map<String, String> changes = new LinkedHashMap<>();
+		collectPreferenceChanges(command, changes);
+		if (!changes.isEmpty()) {
+			this.preferencesChanged(changes);
+		}
+	}
+
+	@Override
+	public void sendInterrupt() {
+		for (final IAnimator animator : this.getAllAnimators()) {
+			animator.sendInterrupt();
+		}
+	}
+
+	@Override
+	public void kill() {
+		synchronized (this.workerStateSpaces) {
+			this.idleWorkers.clear();
+			this.workerStateSpaces.forEach(StateSpace::kill);
+			this.workerStateSpaces.clear();
+		}
+		if (this.primary != null) {
+			this.primary.kill();
+		}
+	}
+
+	@Override
+	public void startTransaction() {
+		this.getPrimary().startTransaction();
+	}
+
+	@Override
+	public void endTransaction() {
+		this.getPrimary().endTransaction();
+	}
+
+	@Override
+	public boolean isBusy() {
+		return this.getPrimary().isBusy();
+	}
+
+	@Override
+	public String getId() {
+		return this.getPrimary().getId();
+	}
+
+	/**
+	 * Resetting ProB clears the loaded model in all instances of this pool,
+	 * which would break the {@link StateSpace} returned by {@link #load(ExtractedModel, Map, int)}
+	 * and leave the workers without a model for their stateless commands.
+	 * Killing the state space also stops all instances of the pool,
+	 * so a {@link PooledAnimator} cannot be reset at all - load the model into a new one instead.
+	 *
+	 * @throws IllegalStateException when called
+	 */
+	@Override
+	public void resetProB() {
+		final StateSpace loadedStateSpace = this.stateSpace;
+		if (loadedStateSpace != null && !loadedStateSpace.isKilled()) {
+			throw new IllegalStateException("Cannot reset PooledAnimator's ProB instances while they are still in use - kill the StateSpace first");
+		}
+		throw new IllegalStateException("Cannot reset PooledAnimator's ProB instances, because they have not been started yet or have been stopped");
+	}
+
+	@Override
+	public long getTotalNumberOfErrors() {
+		return this.getAllAnimators().stream()
+			.mapToLong(IAnimator::getTotalNumberOfErrors)
+			.sum();
+	}
+
+	@Override
+	public void addWarningListener(final IWarningListener listener) {
+		this.getAllAnimators().forEach(animator -> animator.addWarningListener(listener));
+	}
+
+	@Override
+	public void removeWarningListener(final IWarningListener listener) {
+		this.getAllAnimators().forEach(animator -> animator.removeWarningListener(listener));
+	}
+
+	@Override
+	public void addConsoleOutputListener(final IConsoleOutputListener listener) {
+		this.getAllAnimators().forEach(animator -> animator.addConsoleOutputListener(listener));
+	}
+
+	@Override
+	public void removeConsoleOutputListener(final IConsoleOutputListener listener) {
+		this.getAllAnimators().forEach(animator -> animator.removeConsoleOutputListener(listener));
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(PooledAnimator.class)
+			.add("primary", this.primary)
+			.add("idleWorkers", this.idleWorkers.size())
+			.toString();
+	}
+}
@@ -8,6 +8,8 @@ import com.google.inject.Inject;
 
 import de.prob.animator.command.AbstractCommand;
 import de.prob.annotations.MaxCacheSize;
+import de.prob.annotations.MaxCacheWeight;
+import de.prob.annotations.PrimitiveStateIndex;
 import de.prob.exception.CliError;
 import de.prob.statespace.StateSpace;
 
@@ -140,16 +142,20 @@ public final class ReusableAnimator implements IAnimator {
 	
 	private final IAnimator animator;
 	private final int maxCacheSize;
+	private final long maxCacheWeight;
+	private final boolean primitiveStateIndex;
 	
 	private final Object currentStateSpaceLock;
 	private StateSpace currentStateSpace;
 	
 	@Inject
-	private ReusableAnimator(final IAnimator animator, @MaxCacheSize final int maxCacheSize) {
+	private ReusableAnimator(final IAnimator animator, @MaxCacheSize final int maxCacheSize, @MaxCacheWeight final long maxCacheWeight, @PrimitiveStateIndex final boolean primitiveStateIndex) {
 		super();
 		
 		this.animator = animator;
 		this.maxCacheSize = maxCacheSize;
+		this.maxCacheWeight = maxCacheWeight;
+		this.primitiveStateIndex = primitiveStateIndex;
 		
 		this.currentStateSpaceLock = new Object();
 		this.currentStateSpace = null;
@@ -178,7 +184,7 @@ public final class ReusableAnimator implements IAnimator {
 				throw new IllegalStateException("The animator is already in use");
 			}
 			
-			this.currentStateSpace = new StateSpace(InternalAnimator::new, this.maxCacheSize);
+			this.currentStateSpace = new StateSpace(InternalAnimator::new, this.maxCacheSize, this.maxCacheWeight, this.primitiveStateIndex);
 			return this.currentStateSpace;
 		}
 	}
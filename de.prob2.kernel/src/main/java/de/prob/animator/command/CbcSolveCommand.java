@@ -27,7 +27,7 @@ import de.prob.statespace.State;
  * @author joy
  * 
  */
-public class CbcSolveCommand extends AbstractCommand {
+public class CbcSolveCommand extends AbstractCommand implements IStatelessCommand {
 	public enum Solvers {
 		PROB, KODKOD, SMT_SUPPORTED_INTERPRETER, Z3, CVC4, CDCLT, Z3AXM, Z3CNS
 	}
@@ -151,6 +151,12 @@ public class CbcSolveCommand extends AbstractCommand {
 		pout.closeTerm();
 	}
 
+	@Override
+	public boolean isStateless() {
+		// Solving in a visited state needs that state to exist in the probcli instance.
+		return state == null;
+	}
+
 	public List<String> getFreeVariables() {
 		return freeVariables;
 	}
@@ -81,6 +81,28 @@ public class ComposedCommand extends AbstractCommand {
 		}
 	}
 
+	/**
+	 * Get the bindings for one of this command's subcommands,
+	 * i. e. a view of the given bindings where that subcommand's variable prefix is applied automatically.
+	 * This allows passing the result of a single subcommand to other code
+	 * that expects the bindings of a standalone (non-composed) command.
+	 * 
+	 * @param command the subcommand whose bindings should be returned
+	 * @param bindings the bindings of this composed command
+	 * @return the bindings as seen by the given subcommand
+	 */
+	public ISimplifiedROMap<String, PrologTerm> getBindingsForCommand(final AbstractCommand command,
+			final ISimplifiedROMap<String, PrologTerm> bindings) {
+		final int index = indexOf(command);
+		if (index >= 0 && index != cmds.size()) {
+			final PrefixMap<PrologTerm> prefixMap = new PrefixMap<>(bindings);
+			prefixMap.prefix = createPrefix(index);
+			return prefixMap;
+		} else {
+			throw new IllegalArgumentException("cannot get bindings, command unknown");
+		}
+	}
+
 	private int indexOf(final AbstractCommand command) {
 		int index;
 		for (index = 0; index < cmds.size(); index++) {
@@ -14,7 +14,7 @@ import de.prob.prolog.term.PrologTerm;
 
 public final class ComputeStateSpaceStatsCommand extends AbstractCommand {
 
-	private static final String PROLOG_COMMAND_NAME = "compute_efficient_statespace_stats";
+	static final String PROLOG_COMMAND_NAME = "compute_efficient_statespace_stats";
 	private StateSpaceStats coverageResult;
 
 	public StateSpaceStats getResult() {
@@ -2,6 +2,7 @@ package de.prob.animator.command;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +25,7 @@ import de.prob.statespace.State;
  * @author joy
  * 
  */
-public class EvaluateFormulasCommand extends AbstractCommand {
+public class EvaluateFormulasCommand extends AbstractCommand implements IStatelessCommand {
 	private static final String PROLOG_COMMAND_NAME = "prob2_evaluate_formulas";
 
 	private static final String EVALUATE_RESULT_VARIABLE = "Res";
@@ -33,21 +34,34 @@ public class EvaluateFormulasCommand extends AbstractCommand {
 	private final List<AbstractEvalResult> values = new ArrayList<>();
 
 	private String stateId;
-	private final State state;
 	private final EvalOptions options;
+	/**
+	 * The formulas from {@link #evalElements} that were registered in the state space when this command was created.
+	 * Both {@link #writeCommand(IPrologTermOutput)} and {@link #isStateless()} use this snapshot,
+	 * so that a formula registered concurrently cannot be sent as {@code registered(UUID)}
+	 * to a probcli instance that was chosen because the command did not use any registered formulas.
+	 */
+	private final Set<IEvalElement> registeredElements;
 
 	public EvaluateFormulasCommand(final List<? extends IEvalElement> evalElements, final State state, final EvalOptions options) {
 		this.evalElements = evalElements;
 		this.stateId = state.getId();
-		this.state = state;
 		this.options = options;
+		final Set<IEvalElement> registered = state.getStateSpace().getRegisteredFormulas();
+		final Set<IEvalElement> registeredElements = new HashSet<>();
+		for (final IEvalElement evalElement : evalElements) {
+			if (registeredElements.contains(evalElement)) {
+				registeredElements.add(evalElement);
+			}
+		}
+		this.registeredElements = registeredElements;
 	}
 
 	public EvaluateFormulasCommand(final List<? extends IEvalElement> evalElements, final String stateId) {
 		this.evalElements = evalElements;
 		this.stateId = stateId;
-		this.state = null;
 		this.options = EvalOptions.DEFAULT.withExpandFromFormulas(evalElements);
+		this.registeredElements = Collections.emptySet();
 	}
 
 	@Override
@@ -61,18 +75,11 @@ public class EvaluateFormulasCommand extends AbstractCommand {
 
 	@Override
 	public void writeCommand(final IPrologTermOutput pout) {
-		final Set<IEvalElement> registered;
-		if (state == null) {
-			registered = Collections.emptySet();
-		} else {
-			registered = state.getStateSpace().getRegisteredFormulas();
-		}
-
 		pout.openTerm(PROLOG_COMMAND_NAME);
 
 		pout.openList();
 		for (IEvalElement evalElement : evalElements) {
-			if (registered.contains(evalElement)) {
+			if (registeredElements.contains(evalElement)) {
 				pout.openTerm("registered");
 				evalElement.getFormulaId().printUUID(pout);
 				pout.closeTerm();
@@ -97,6 +104,13 @@ public class EvaluateFormulasCommand extends AbstractCommand {
 		pout.closeTerm();
 	}
 
+	@Override
+	public boolean isStateless() {
+		// Only the root state is guaranteed to have the same id in every probcli instance.
+		// Registered formulas are only known to the probcli instance in which they were registered.
+		return "root".equals(this.stateId) && registeredElements.isEmpty();
+	}
+
 	public String getStateId() {
 		return this.stateId;
 	}
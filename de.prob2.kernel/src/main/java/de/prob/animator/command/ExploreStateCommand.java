@@ -6,7 +6,10 @@
 
 package de.prob.animator.command;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +48,26 @@ public final class ExploreStateCommand extends AbstractCommand implements
 
 	public ExploreStateCommand(final StateSpace s, final String stateID,
 			final List<? extends IEvalElement> formulas) {
+		this(s, stateID, formulas, Collections.emptyList());
+	}
+
+	/**
+	 * Explore a state and run additional formula evaluation commands for the same state in the same query.
+	 * This is used to evaluate formulas with different {@link de.prob.animator.domainobjects.EvalOptions}
+	 * (e. g. all subscribed formulas) together with the exploration,
+	 * without needing a separate round trip to ProB for each group of options.
+	 * The additional commands are executed after the state has been explored
+	 * and their results can be retrieved from the commands themselves.
+	 * 
+	 * @param s the state space to which the state belongs
+	 * @param stateID the ID of the state to explore
+	 * @param formulas formulas to evaluate using the default options,
+	 *     the results can be retrieved using {@link #getFormulaResults()}
+	 * @param additionalEvaluations additional evaluation commands for this state
+	 */
+	public ExploreStateCommand(final StateSpace s, final String stateID,
+			final List<? extends IEvalElement> formulas,
+			final Collection<EvaluateFormulasCommand> additionalEvaluations) {
 		stateId = stateID;
 		getOpsCmd = new GetEnabledOperationsCommand(s, stateId);
 		evalFormulasCmd = new EvaluateFormulasCommand(formulas, stateID);
@@ -55,9 +78,11 @@ public final class ExploreStateCommand extends AbstractCommand implements
 		checkTimeoutCmd = new CheckTimeoutStatusCommand(stateId);
 		checkTimeoutOpsCmd = new GetOperationsWithTimeout(stateId);
 		getStateErrCmd = new GetStateBasedErrorsCommand(stateId);
-		allCommands = new ComposedCommand(getOpsCmd, evalFormulasCmd, checkConstantsSetUpCmd,
-				checkInitialisedCmd, checkInvCmd, checkMaxOpCmd,
-				checkTimeoutCmd, checkTimeoutOpsCmd, getStateErrCmd);
+		final List<AbstractCommand> commands = new ArrayList<>(Arrays.asList(getOpsCmd, evalFormulasCmd,
+				checkConstantsSetUpCmd, checkInitialisedCmd, checkInvCmd, checkMaxOpCmd,
+				checkTimeoutCmd, checkTimeoutOpsCmd, getStateErrCmd));
+		commands.addAll(additionalEvaluations);
+		allCommands = new ComposedCommand(commands);
 
 	}
 
@@ -11,7 +11,7 @@ import de.prob.parser.ISimplifiedROMap;
 import de.prob.prolog.output.IPrologTermOutput;
 import de.prob.prolog.term.PrologTerm;
 
-public class FormulaTypecheckCommand extends AbstractCommand {
+public class FormulaTypecheckCommand extends AbstractCommand implements IStatelessCommand {
 	private static final String PROLOG_COMMAND_NAME = "prob2_get_formula_type";
 	private static final String TYPE = "Type";
 	private static final String ERRORS = "Errors";
@@ -36,7 +36,7 @@ public class GetStatisticsCommand extends AbstractCommand {
 		}
 	}
 
-	private static final String PROLOG_COMMAND_NAME = "get_statistics";
+	static final String PROLOG_COMMAND_NAME = "get_statistics";
 
 	private static final String RESULT = "V";
 
@@ -0,0 +1,26 @@
+package de.prob.animator.command;
+
+/**
+ * <p>
+ * This interface is intended to be implemented by {@link AbstractCommand}s
+ * whose result only depends on the loaded model and the command's own arguments,
+ * and not on any states that have been explored in the probcli instance so far.
+ * Such commands also must not modify the state space or any other state of the probcli instance.
+ * </p>
+ * <p>
+ * Because of this, a stateless command can be executed by any probcli instance
+ * that has the same model loaded (see {@link de.prob.animator.PooledAnimator}).
+ * </p>
+ */
+public interface IStatelessCommand {
+	/**
+	 * Check whether this particular command instance is stateless.
+	 * Commands that are only stateless for some arguments
+	 * (e. g. if no state id is given) can override this method.
+	 * 
+	 * @return whether this command can be executed by any probcli instance with the same model loaded
+	 */
+	default boolean isStateless() {
+		return true;
+	}
+}
@@ -6,11 +6,17 @@
 
 package de.prob.animator.command;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 import de.prob.animator.IPrologResult;
 import de.prob.animator.InterruptedResult;
+import de.prob.animator.command.GetStatisticsCommand.StatisticsOption;
 import de.prob.animator.domainobjects.ErrorItem;
 import de.prob.check.CheckInterrupted;
 import de.prob.check.IModelCheckingResult;
@@ -54,14 +60,38 @@ public class ModelCheckingStepCommand extends AbstractCommand implements IStateS
 	private IModelCheckingResult result;
 	private static final String RESULT_VARIABLE = "Result";
 	private static final String STATS_VARIABLE = "Stats";
+	private static final String STATISTIC_VARIABLE_PREFIX = "Statistic";
+	private static final String INITIAL_NODES_VARIABLE = "InitialNrNodes";
+	private static final String INITIAL_TRANSITIONS_VARIABLE = "InitialNrTrans";
+	private static final String INITIAL_PROCESSED_VARIABLE = "InitialNrProcessed";
 
+	private final List<StatisticsOption> statisticsOptions;
 	private StateSpaceStats stats;
+	private boolean computeInitialStats;
+	private StateSpaceStats initialStats;
+	private final Map<StatisticsOption, BigInteger> statistics;
 
 	public ModelCheckingStepCommand(final int maxNumberOfStates, final int time,
 									final ModelCheckingOptions options) {
+		this(maxNumberOfStates, time, options, Collections.emptyList());
+	}
+
+	/**
+	 * Perform a model checking step and query the given Prolog statistics in the same call,
+	 * as if by a separate {@link GetStatisticsCommand} for each option.
+	 * 
+	 * @param maxNumberOfStates the maximum number of states to process in this step
+	 * @param time the maximum duration of this step in milliseconds
+	 * @param options the model checking options
+	 * @param statisticsOptions the statistics to query after the step
+	 */
+	public ModelCheckingStepCommand(final int maxNumberOfStates, final int time,
+									final ModelCheckingOptions options, final Collection<StatisticsOption> statisticsOptions) {
 		this.time = time;
 		this.options = options;
 		this.maxNumberOfStates = maxNumberOfStates;
+		this.statisticsOptions = new ArrayList<>(statisticsOptions);
+		this.statistics = new EnumMap<>(StatisticsOption.class);
 	}
 
 	public ModelCheckingStepCommand(final int time,
@@ -69,10 +99,32 @@ public class ModelCheckingStepCommand extends AbstractCommand implements IStateS
 		this(DEFAULT_MAX_NUMBER_OF_STATES, time, options);
 	}
 
+	public ModelCheckingStepCommand(final int time,
+			final ModelCheckingOptions options, final Collection<StatisticsOption> statisticsOptions) {
+		this(DEFAULT_MAX_NUMBER_OF_STATES, time, options, statisticsOptions);
+	}
+
 	public IModelCheckingResult getResult() {
 		return result;
 	}
 
+	/**
+	 * Also compute the state space statistics before this step in the same call,
+	 * as if by a {@link ComputeStateSpaceStatsCommand} executed before this command.
+	 * 
+	 * @param computeInitialStats whether to compute the statistics before the step
+	 */
+	public void setComputeInitialStats(final boolean computeInitialStats) {
+		this.computeInitialStats = computeInitialStats;
+	}
+
+	/**
+	 * @return the state space statistics before this step, or {@code null} if they were not {@linkplain #setComputeInitialStats(boolean) requested}
+	 */
+	public StateSpaceStats getInitialStats() {
+		return initialStats;
+	}
+
 	@Override
 	public void processResult(
 			final ISimplifiedROMap<String, PrologTerm> bindings) {
@@ -86,7 +138,17 @@ public class ModelCheckingStepCommand extends AbstractCommand implements IStateS
 				.getInteger(statsTerm.getArgument(3)).getValue().intValue();
 
 		stats = new StateSpaceStats(numberNodes, numberTrans, numberProcessed);
+		if (computeInitialStats) {
+			initialStats = new StateSpaceStats(
+				BindingGenerator.getInteger(bindings.get(INITIAL_NODES_VARIABLE)).getValue().intValue(),
+				BindingGenerator.getInteger(bindings.get(INITIAL_TRANSITIONS_VARIABLE)).getValue().intValue(),
+				BindingGenerator.getInteger(bindings.get(INITIAL_PROCESSED_VARIABLE)).getValue().intValue()
+			);
+		}
 		result = extractResult(bindings.get(RESULT_VARIABLE));
+		for (int i = 0; i < statisticsOptions.size(); i++) {
+			statistics.put(statisticsOptions.get(i), BindingGenerator.getInteger(bindings.get(STATISTIC_VARIABLE_PREFIX + i)).getValue());
+		}
 	}
 
 	@Override
@@ -162,18 +224,40 @@ public class ModelCheckingStepCommand extends AbstractCommand implements IStateS
 
 	@Override
 	public void writeCommand(final IPrologTermOutput pto) {
+		if (computeInitialStats) {
+			pto.openTerm(ComputeStateSpaceStatsCommand.PROLOG_COMMAND_NAME)
+				.printVariable(INITIAL_NODES_VARIABLE)
+				.printVariable(INITIAL_TRANSITIONS_VARIABLE)
+				.printVariable(INITIAL_PROCESSED_VARIABLE)
+				.closeTerm();
+		}
 		pto.openTerm(PROLOG_COMMAND_NAME).printNumber(maxNumberOfStates);
 		pto.printNumber(time).openList();
 		for (ModelCheckingOptions.Options o : options.getPrologOptions()) {
 			pto.printAtom(o.getPrologName());
 		}
 		pto.closeList().printVariable(RESULT_VARIABLE).printVariable(STATS_VARIABLE).closeTerm();
+		for (int i = 0; i < statisticsOptions.size(); i++) {
+			pto.openTerm(GetStatisticsCommand.PROLOG_COMMAND_NAME);
+			pto.printAtom(statisticsOptions.get(i).getOption());
+			pto.printVariable(STATISTIC_VARIABLE_PREFIX + i);
+			pto.closeTerm();
+		}
 	}
 
 	public StateSpaceStats getStats() {
 		return stats;
 	}
 
+	/**
+	 * Get the values of the statistics that were requested when creating this command.
+	 * 
+	 * @return the value of each requested statistic
+	 */
+	public Map<StatisticsOption, BigInteger> getStatistics() {
+		return Collections.unmodifiableMap(statistics);
+	}
+
 	@Override
 	public List<Transition> getNewTransitions() {
 		// This method has to be implemented to indicate that the state space may have expanded by executing this command.
@@ -5,7 +5,7 @@ import de.prob.parser.ISimplifiedROMap;
 import de.prob.prolog.output.IPrologTermOutput;
 import de.prob.prolog.term.PrologTerm;
 
-public final class PrettyPrintFormulaCommand extends AbstractCommand {
+public final class PrettyPrintFormulaCommand extends AbstractCommand implements IStatelessCommand {
 	public enum Mode {
 		ASCII, UNICODE, LATEX
 	}
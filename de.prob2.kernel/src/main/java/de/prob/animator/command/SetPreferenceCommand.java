@@ -26,6 +26,14 @@ public final class SetPreferenceCommand extends AbstractCommand {
 		this.value = value;
 	}
 
+	public String getKey() {
+		return key;
+	}
+
+	public String getValue() {
+		return value;
+	}
+
 	@Override
 	public void processResult(
 			final ISimplifiedROMap<String, PrologTerm> bindings) {
@@ -22,6 +22,8 @@ import de.be4.classicalb.core.parser.util.PrettyPrinter;
 import de.prob.model.representation.FormulaUUID;
 import de.prob.model.representation.IFormulaUUID;
 import de.prob.prolog.output.IPrologTermOutput;
+import de.prob.prolog.output.StructuredPrologOutput;
+import de.prob.prolog.term.PrologTerm;
 
 /**
  * Representation of a ClassicalB formula.
@@ -34,6 +36,7 @@ public class ClassicalB extends AbstractEvalElement implements IBEvalElement {
 
 	private final Start ast;
 	private String code;
+	private volatile PrologTerm prologTerm;
 
 	public ClassicalB(final Start ast, final FormulaExpand expansion, final String code) {
 		super(null, expansion);
@@ -174,13 +177,32 @@ public class ClassicalB extends AbstractEvalElement implements IBEvalElement {
 
 	@Override
 	public void printProlog(final IPrologTermOutput pout) {
-		if (EvalElementType.ASSIGNMENT.equals(getKind())) {
-			throw new EvaluationException("Substitutions are currently unsupported for evaluation");
-		}
-		if (ast.getEOF() == null) {
-			ast.setEOF(new EOF());
+		pout.printTerm(this.getPrologTerm());
+	}
+
+	/**
+	 * Get the Prolog representation of this formula.
+	 * Converting the AST to Prolog is expensive for large formulas,
+	 * so it is only done once and the resulting term is reused every time this formula is sent to ProB.
+	 * 
+	 * @return the Prolog representation of this formula
+	 */
+	private PrologTerm getPrologTerm() {
+		PrologTerm term = this.prologTerm;
+		if (term == null) {
+			if (EvalElementType.ASSIGNMENT.equals(getKind())) {
+				throw new EvaluationException("Substitutions are currently unsupported for evaluation");
+			}
+			if (ast.getEOF() == null) {
+				ast.setEOF(new EOF());
+			}
+			final StructuredPrologOutput pout = new StructuredPrologOutput();
+			ASTProlog.printFormula(ast, pout);
+			pout.fullstop().flush();
+			term = pout.getSentences().iterator().next();
+			this.prologTerm = term;
 		}
-		ASTProlog.printFormula(ast, pout);
+		return term;
 	}
 
 	@Override
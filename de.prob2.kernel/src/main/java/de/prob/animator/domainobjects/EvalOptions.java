@@ -147,6 +147,32 @@ public final class EvalOptions {
 		return new EvalOptions(this.getEvalExpand(), this.getTimeout(), this.getExpand(), this.getMode(), language);
 	}
 	
+	/**
+	 * <p>
+	 * Check whether results formatted with these options can also be used when {@code other} options are requested.
+	 * This is the case if the options are equal,
+	 * or if they only differ in the pretty-print expansion mode
+	 * and these options use {@link FormulaExpand#EXPAND} while the other options use {@link FormulaExpand#TRUNCATE}.
+	 * A fully expanded result contains all information of the truncated one,
+	 * so it can be shown instead of re-evaluating with truncation.
+	 * </p>
+	 * <p>
+	 * All other options (e. g. the translation mode) change the result in incompatible ways,
+	 * so they must match exactly.
+	 * </p>
+	 * 
+	 * @param other the requested options
+	 * @return whether results for {@code this} options are at least as good as results for {@code other}
+	 */
+	public boolean subsumes(final EvalOptions other) {
+		if (this.equals(other)) {
+			return true;
+		}
+		return this.getExpand() == FormulaExpand.EXPAND
+			&& other.getExpand() == FormulaExpand.TRUNCATE
+			&& this.equals(other.withExpand(FormulaExpand.EXPAND));
+	}
+	
 	@Override
 	public boolean equals(final Object obj) {
 		if (this == obj) {
@@ -7,6 +7,11 @@ import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
 import de.hhu.stups.prob.translator.BValue;
 import de.hhu.stups.prob.translator.Translator;
 import de.hhu.stups.prob.translator.exceptions.TranslationException;
@@ -18,9 +23,100 @@ import de.prob.prolog.term.PrologTerm;
 import groovy.lang.MissingPropertyException;
 
 public class EvalResult extends AbstractEvalResult {
+	/**
+	 * Statistics about the cache that is used to share {@link EvalResult} objects with equal values.
+	 * This is an immutable snapshot taken by {@link #getCacheStatistics()}.
+	 */
+	public static final class CacheStatistics {
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final long size;
+		private final long maxBytes;
+
+		CacheStatistics(final long hits, final long misses, final long evictions, final long size, final long maxBytes) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.size = size;
+			this.maxBytes = maxBytes;
+		}
+
+		/**
+		 * @return number of results that were shared with a previously cached result
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return number of cacheable results that were not found in the cache
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		public double getHitRate() {
+			final long total = hits + misses;
+			return total == 0 ? 1.0 : (double)hits / total;
+		}
+
+		/**
+		 * @return number of results that were removed from the cache to stay within the size limit
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * @return approximate number of results currently in the cache
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * @return the approximate maximum memory used by the cached results, in bytes
+		 */
+		public long getMaxBytes() {
+			return maxBytes;
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("hits", hits)
+				.add("misses", misses)
+				.add("hitRate", getHitRate())
+				.add("evictions", evictions)
+				.add("size", size)
+				.add("maxBytes", maxBytes)
+				.toString();
+		}
+	}
+
+	/**
+	 * Name of the system property that sets the approximate maximum memory (in bytes)
+	 * used by the cache of evaluation results (default 32 MiB).
+	 */
+	public static final String CACHE_MAX_BYTES_PROPERTY = "prob.evalResultCacheMaxBytes";
+	private static final long DEFAULT_CACHE_MAX_BYTES = 32L * 1024 * 1024;
+	// Rough size of the cache entry, the String and EvalResult object headers and fields, in bytes.
+	private static final int CACHE_ENTRY_OVERHEAD = 128;
+
 	public static final  EvalResult TRUE = new EvalResult("TRUE", Collections.emptyMap());
 	public static final  EvalResult FALSE = new EvalResult("FALSE", Collections.emptyMap());
-	private static final  HashMap<String, EvalResult> formulaCache = new HashMap<>();
+	private static final long cacheMaxBytes = Long.getLong(CACHE_MAX_BYTES_PROPERTY, DEFAULT_CACHE_MAX_BYTES);
+	/**
+	 * Cache of error-free expression results, used to share {@link EvalResult} objects with equal values
+	 * (e. g. the values of a variable that does not change across many states).
+	 * The cache is shared by all state spaces, so it is thread-safe and bounded by the approximate memory used by the values.
+	 */
+	private static final Cache<String, EvalResult> formulaCache = CacheBuilder.newBuilder()
+		.maximumWeight(cacheMaxBytes)
+		.weigher((String value, EvalResult result) -> estimateCachedSize(value))
+		.recordStats()
+		.build();
 
 	private final String value;
 	private final Map<String, String> solutions;
@@ -114,6 +210,30 @@ public class EvalResult extends AbstractEvalResult {
 		return new TranslatedEvalResult<>(val, sols);
 	}
 
+	private static int estimateCachedSize(final String value) {
+		// Java strings use up to 2 bytes per character.
+		return (int)Math.min(Integer.MAX_VALUE, 2L * value.length() + CACHE_ENTRY_OVERHEAD);
+	}
+
+	/**
+	 * Get statistics about the cache that is used to share {@link EvalResult} objects with equal values.
+	 * The maximum size of the cache can be configured using the system property {@value #CACHE_MAX_BYTES_PROPERTY}.
+	 * 
+	 * @return a snapshot of the current cache statistics
+	 */
+	public static CacheStatistics getCacheStatistics() {
+		final CacheStats stats = formulaCache.stats();
+		return new CacheStatistics(stats.hitCount(), stats.missCount(), stats.evictionCount(), formulaCache.size(), cacheMaxBytes);
+	}
+
+	/**
+	 * Remove all entries from the cache that is used to share {@link EvalResult} objects with equal values.
+	 * This does not affect any results that are still referenced elsewhere (e. g. in a {@link de.prob.statespace.State}).
+	 */
+	public static void clearCache() {
+		formulaCache.invalidateAll();
+	}
+
 	/**
 	 * Translates the results from ProB into an {@link AbstractEvalResult}. This
 	 * is intended mainly for internal use, for developers who are writing
@@ -171,8 +291,11 @@ public class EvalResult extends AbstractEvalResult {
 					return TRUE;
 				} else if ("FALSE".equals(value)) {
 					return FALSE;
-				} else if (formulaCache.containsKey(value)) {
-					return formulaCache.get(value);
+				} else {
+					final EvalResult cached = formulaCache.getIfPresent(value);
+					if (cached != null) {
+						return cached;
+					}
 				}
 			}
 
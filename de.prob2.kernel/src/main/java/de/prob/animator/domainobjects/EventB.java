@@ -11,6 +11,8 @@ import de.prob.formula.TranslationVisitor;
 import de.prob.model.representation.FormulaUUID;
 import de.prob.model.representation.IFormulaUUID;
 import de.prob.prolog.output.IPrologTermOutput;
+import de.prob.prolog.output.StructuredPrologOutput;
+import de.prob.prolog.term.PrologTerm;
 import de.prob.unicode.UnicodeTranslator;
 
 import org.eventb.core.ast.ASTProblem;
@@ -32,6 +34,7 @@ public class EventB extends AbstractEvalElement implements IBEvalElement {
 
 	private EvalElementType kind;
 	private Node ast = null;
+	private volatile PrologTerm prologTerm = null;
 	private boolean allowAssignments = true; // if true we try to parse as substitutions
 	// TO DO: provide constructor/method for setting this; also we may wish to add a way to set Kind
 
@@ -102,6 +105,7 @@ public class EventB extends AbstractEvalElement implements IBEvalElement {
 				.parsePredicate(unicode, null);
 		if(!parseResult.hasProblem()) {
 			ast = preparePredicateAst(parseResult);
+			prologTerm = null;
 		}
 		return parseResult;
 	}
@@ -113,6 +117,7 @@ public class EventB extends AbstractEvalElement implements IBEvalElement {
 				.parseExpression(unicode, null);
 		if(!parseResult.hasProblem()) {
 			ast = prepareExpressionAst(parseResult);
+			prologTerm = null;
 		}
 		return parseResult;
 	}
@@ -124,6 +129,7 @@ public class EventB extends AbstractEvalElement implements IBEvalElement {
 				.parseAssignment(unicode, null);
 		if(!parseResult.hasProblem()) {
 			ast = prepareAssignmentAst(parseResult);
+			prologTerm = null;
 		}
 		return parseResult;
 	}
@@ -208,8 +214,17 @@ public class EventB extends AbstractEvalElement implements IBEvalElement {
 		}
 
 		assert ast != null;
-		final ASTProlog prolog = new ASTProlog(pout, null);
-		ast.apply(prolog);
+		// Converting the AST to Prolog is expensive for large formulas,
+		// so it is only done once and the resulting term is reused every time this formula is sent to ProB.
+		PrologTerm term = this.prologTerm;
+		if (term == null) {
+			final StructuredPrologOutput termOutput = new StructuredPrologOutput();
+			ast.apply(new ASTProlog(termOutput, null));
+			termOutput.fullstop().flush();
+			term = termOutput.getSentences().iterator().next();
+			this.prologTerm = term;
+		}
+		pout.printTerm(term);
 	}
 
 	@Override
@@ -46,6 +46,13 @@ abstract class CheckerBase implements IModelCheckJob {
 		return this.stateSpace;
 	}
 	
+	/**
+	 * @return whether this checker has a listener that is notified about checking progress
+	 */
+	protected boolean hasListener() {
+		return this.listener != null;
+	}
+	
 	/**
 	 * <p>Convenience method to call the listener's {@link IModelCheckListener#updateStats(String, long, IModelCheckingResult, StateSpaceStats)} with this checker's job ID and current elapsed time.</p>
 	 * 
@@ -1,7 +1,14 @@
 package de.prob.check;
 
+import java.math.BigInteger;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
+import com.google.common.base.Stopwatch;
+
+import de.prob.animator.command.GetStatisticsCommand.StatisticsOption;
 import de.prob.animator.command.ModelCheckingStepCommand;
 import de.prob.animator.command.SetBGoalCommand;
 import de.prob.animator.domainobjects.IEvalElement;
@@ -15,6 +22,10 @@ import org.slf4j.LoggerFactory;
  * {@link StateSpace} based on the specified {@link ModelCheckingOptions}
  * specified by the user or by the default options. Communications with
  * the ProB kernel take place via the {@link ModelCheckingStepCommand}.
+ * The statistics passed to the {@link IModelCheckListener} are
+ * {@link ModelCheckingStepStats} with throughput, queue depth and memory
+ * information for each step. The duration of each step is chosen according
+ * to the {@link ModelCheckingOptions#getSlicePolicy() slice policy}.
  * 
  * @author joy
  * 
@@ -22,6 +33,7 @@ import org.slf4j.LoggerFactory;
 public class ConsistencyChecker extends CheckerBase {
 	private static final Logger LOGGER = LoggerFactory.getLogger(ConsistencyChecker.class);
 	private static final int TIMEOUT_MS = 500;
+	private static final List<StatisticsOption> STEP_STATISTICS = Arrays.asList(StatisticsOption.MEMORY_USED, StatisticsOption.GC_TIME);
 
 	private ModelCheckingLimitConfiguration limitConfiguration;
 	private final ModelCheckingOptions options;
@@ -80,6 +92,8 @@ public class ConsistencyChecker extends CheckerBase {
 		this.limitConfiguration = new ModelCheckingLimitConfiguration(getStateSpace(), stopwatch, TIMEOUT_MS,
 			options.getStateLimit(),
 			options.getTimeLimit() == null ? -1 : Math.toIntExact(options.getTimeLimit().getSeconds()));
+		// Installed here and not in execute, so that a controller set via the deprecated getLimitConfiguration() is not replaced.
+		this.limitConfiguration.setSliceController(new ModelCheckingSliceController(options.getSlicePolicy().resolve(this.hasListener())));
 		this.options = options;
 	}
 
@@ -108,14 +122,37 @@ public class ConsistencyChecker extends CheckerBase {
 		try {
 			this.getStateSpace().startTransaction();
 			ModelCheckingOptions modifiedOptions = this.options;
-			limitConfiguration.computeStateSpaceCoverage();
+			StateSpaceStats previousStats = null;
+			final Stopwatch stepStopwatch = Stopwatch.createUnstarted();
+			int step = 0;
 			do {
 				limitConfiguration.updateTimeLimit();
 				limitConfiguration.updateNodeLimit();
-				cmd = limitConfiguration.nodesLimitSet() ? new ModelCheckingStepCommand(limitConfiguration.getMaximumNodesLeft(), limitConfiguration.getTimeout(), modifiedOptions) : new ModelCheckingStepCommand(limitConfiguration.getTimeout(), modifiedOptions);
+				cmd = new ModelCheckingStepCommand(limitConfiguration.getStepNodeLimit(), limitConfiguration.getTimeout(), modifiedOptions, STEP_STATISTICS);
+				// The statistics before the first step are the baseline for its deltas and are queried in the same call.
+				cmd.setComputeInitialStats(step == 0);
+				stepStopwatch.reset().start();
 				this.getStateSpace().execute(cmd);
-				stats = cmd.getStats();
-				limitConfiguration.updateStateSpaceCoverage(stats);
+				stepStopwatch.stop();
+				step++;
+				if (step == 1) {
+					previousStats = cmd.getInitialStats();
+					if (previousStats != null) {
+						// The state limit only counts the states processed by this check, starting from the same baseline.
+						limitConfiguration.computeStateSpaceCoverage(previousStats);
+					}
+				}
+				if (cmd.getStats() != null) {
+					final ModelCheckingStepStats stepStats = new ModelCheckingStepStats(cmd.getStats(), previousStats, step,
+						stopwatch.elapsed(TimeUnit.MILLISECONDS), stepStopwatch.elapsed(TimeUnit.MILLISECONDS), limitConfiguration.getTimeout(),
+						getStatistic(cmd, StatisticsOption.MEMORY_USED), getStatistic(cmd, StatisticsOption.GC_TIME));
+					previousStats = stepStats;
+					stats = stepStats;
+					limitConfiguration.updateStateSpaceCoverage(stepStats);
+					limitConfiguration.updateSliceTimeout(stepStats);
+				} else {
+					stats = null;
+				}
 				if (Thread.interrupted()) {
 					LOGGER.info("Consistency checker received a Java thread interrupt");
 					this.isFinished(new CheckInterrupted(), stats);
@@ -129,4 +166,9 @@ public class ConsistencyChecker extends CheckerBase {
 		}
 		this.isFinished(cmd.getResult(), stats);
 	}
+
+	private static long getStatistic(final ModelCheckingStepCommand cmd, final StatisticsOption option) {
+		final BigInteger value = cmd.getStatistics().get(option);
+		return value == null ? -1 : value.longValue();
+	}
 }
@@ -8,7 +8,7 @@ public class ModelCheckingLimitConfiguration {
 
 	private final StateSpace stateSpace;
 	private final Stopwatch stopwatch;
-	private final int initialTimeout;
+	private ModelCheckingSliceController sliceController;
 	private int nodesLimit;
 	private int timeLimit;
 	private int timeout;
@@ -21,7 +21,7 @@ public class ModelCheckingLimitConfiguration {
 	public ModelCheckingLimitConfiguration(StateSpace stateSpace, Stopwatch stopwatch, int initialTimeout, int nodesLimit, int timeLimit) {
 		this.stateSpace = stateSpace;
 		this.stopwatch = stopwatch;
-		this.initialTimeout = initialTimeout;
+		this.sliceController = new ModelCheckingSliceController(initialTimeout, initialTimeout, initialTimeout);
 		this.timeout = initialTimeout;
 		this.maximumNodesLeft = nodesLimit;
 		this.deltaNodeProcessed = 0;
@@ -40,6 +40,20 @@ public class ModelCheckingLimitConfiguration {
 		this.timeLimit = timeLimit;
 	}
 
+	/**
+	 * Set the controller that chooses the duration and node budget of each step.
+	 * By default, every step has the initial timeout passed to the constructor.
+	 *
+	 * @param sliceController the controller to use
+	 */
+	public void setSliceController(ModelCheckingSliceController sliceController) {
+		this.sliceController = sliceController;
+	}
+
+	public ModelCheckingSliceController getSliceController() {
+		return sliceController;
+	}
+
 	public void computeStateSpaceCoverage() {
 		if(nodesLimitSet()) {
 			final ComputeStateSpaceStatsCommand stateSpaceStatsCmd = new ComputeStateSpaceStatsCommand();
@@ -48,6 +62,19 @@ public class ModelCheckingLimitConfiguration {
 		}
 	}
 
+	/**
+	 * Use already known statistics as the state space coverage before the first step,
+	 * instead of querying them with {@link #computeStateSpaceCoverage()}.
+	 * Must be called before {@link #updateStateSpaceCoverage(StateSpaceStats)} is called with the statistics of the first step.
+	 *
+	 * @param initialStats the statistics before the first step
+	 */
+	public void computeStateSpaceCoverage(StateSpaceStats initialStats) {
+		if(nodesLimitSet()) {
+			oldNodesProcessed = initialStats.getNrProcessedNodes();
+		}
+	}
+
 	public void updateStateSpaceCoverage(StateSpaceStats stats) {
 		if(nodesLimitSet()) {
 			deltaNodeProcessed = stats.getNrProcessedNodes() - oldNodesProcessed;
@@ -58,11 +85,22 @@ public class ModelCheckingLimitConfiguration {
 	public void updateTimeLimit() {
 		if(timeLimitSet()) {
 			long timeoutInMs = timeLimit * 1000 - stopwatch.elapsed().toMillis();
-			timeout = Math.min(initialTimeout, Math.max(0, (int) timeoutInMs));
+			timeout = Math.min(sliceController.getTimeout(), Math.max(0, (int) timeoutInMs));
 			finished = finished || timeoutInMs < 0;
+		} else {
+			timeout = sliceController.getTimeout();
 		}
 	}
 
+	/**
+	 * Adapt the duration and node budget of the following steps to the statistics of the last step.
+	 *
+	 * @param stats the statistics of the last step
+	 */
+	public void updateSliceTimeout(ModelCheckingStepStats stats) {
+		sliceController.update(stats);
+	}
+
 	public void updateNodeLimit() {
 		if(nodesLimitSet()) {
 			maximumNodesLeft = maximumNodesLeft - deltaNodeProcessed;
@@ -86,6 +124,17 @@ public class ModelCheckingLimitConfiguration {
 		return maximumNodesLeft;
 	}
 
+	/**
+	 * @return the maximum number of states to process in the next step, considering both the state limit and the node budget of the step
+	 */
+	public int getStepNodeLimit() {
+		if (sliceController.isFixed()) {
+			// Fixed steps are only limited by the remaining states, like before step durations could be adapted.
+			return nodesLimitSet() ? maximumNodesLeft : sliceController.getNodeBudget();
+		}
+		return nodesLimitSet() ? Math.min(maximumNodesLeft, sliceController.getNodeBudget()) : sliceController.getNodeBudget();
+	}
+
 	public int getTimeout() {
 		return timeout;
 	}
@@ -68,6 +68,7 @@ public class ModelCheckingOptions {
 	private IEvalElement customGoal;
 	private int stateLimit;
 	private Duration timeLimit;
+	private final ModelCheckingSlicePolicy slicePolicy;
 
 	public ModelCheckingOptions() {
 		this.searchStrategy = ModelCheckingSearchStrategy.MIXED_BF_DF;
@@ -75,14 +76,16 @@ public class ModelCheckingOptions {
 		this.customGoal = null;
 		this.stateLimit = -1;
 		this.timeLimit = null;
+		this.slicePolicy = ModelCheckingSlicePolicy.FIXED;
 	}
 
-	private ModelCheckingOptions(final ModelCheckingSearchStrategy searchStrategy, final EnumSet<Options> options, final IEvalElement customGoal, final int stateLimit, final Duration timeLimit) {
+	private ModelCheckingOptions(final ModelCheckingSearchStrategy searchStrategy, final EnumSet<Options> options, final IEvalElement customGoal, final int stateLimit, final Duration timeLimit, final ModelCheckingSlicePolicy slicePolicy) {
 		this.searchStrategy = searchStrategy;
 		this.options = options;
 		this.customGoal = customGoal;
 		this.stateLimit = stateLimit;
 		this.timeLimit = timeLimit;
+		this.slicePolicy = slicePolicy;
 	}
 
 	public ModelCheckingOptions(final Set<Options> options) {
@@ -95,6 +98,7 @@ public class ModelCheckingOptions {
 		this.customGoal = null;
 		this.stateLimit = -1;
 		this.timeLimit = null;
+		this.slicePolicy = ModelCheckingSlicePolicy.FIXED;
 	}
 	
 	private static ModelCheckingSearchStrategy searchStrategyFromOptions(final Set<Options> options) {
@@ -124,7 +128,7 @@ public class ModelCheckingOptions {
 		} else if (searchStrategy == ModelCheckingSearchStrategy.DEPTH_FIRST) {
 			newOptions.add(Options.DEPTH_FIRST_SEARCH);
 		}
-		return new ModelCheckingOptions(searchStrategy, newOptions, this.getCustomGoal(), this.getStateLimit(), this.getTimeLimit());
+		return new ModelCheckingOptions(searchStrategy, newOptions, this.getCustomGoal(), this.getStateLimit(), this.getTimeLimit(), this.getSlicePolicy());
 	}
 
 	/**
@@ -207,7 +211,7 @@ public class ModelCheckingOptions {
 		} else {
 			customGoal = this.getCustomGoal();
 		}
-		return new ModelCheckingOptions(newSearchStrategy, copyOf, customGoal, this.getStateLimit(), this.getTimeLimit());
+		return new ModelCheckingOptions(newSearchStrategy, copyOf, customGoal, this.getStateLimit(), this.getTimeLimit(), this.getSlicePolicy());
 	}
 
 	public Set<Options> getPrologOptions() {
@@ -233,7 +237,7 @@ public class ModelCheckingOptions {
 		if (customGoal != null && customGoal.getKind() != EvalElementType.PREDICATE) {
 			throw new IllegalArgumentException("Model checking goal must be a predicate, not " + customGoal.getKind());
 		}
-		return new ModelCheckingOptions(this.getSearchStrategy(), options, customGoal, this.getStateLimit(), this.getTimeLimit())
+		return new ModelCheckingOptions(this.getSearchStrategy(), options, customGoal, this.getStateLimit(), this.getTimeLimit(), this.getSlicePolicy())
 			.checkGoal(true);
 	}
 
@@ -242,7 +246,7 @@ public class ModelCheckingOptions {
 	}
 
 	public ModelCheckingOptions stateLimit(final int stateLimit) {
-		return new ModelCheckingOptions(this.getSearchStrategy(), options, this.getCustomGoal(), stateLimit < 0 ? -1 : stateLimit, this.getTimeLimit());
+		return new ModelCheckingOptions(this.getSearchStrategy(), options, this.getCustomGoal(), stateLimit < 0 ? -1 : stateLimit, this.getTimeLimit(), this.getSlicePolicy());
 	}
 
 	public Duration getTimeLimit() {
@@ -250,7 +254,29 @@ public class ModelCheckingOptions {
 	}
 
 	public ModelCheckingOptions timeLimit(final Duration timeLimit) {
-		return new ModelCheckingOptions(this.getSearchStrategy(), options, this.getCustomGoal(), this.getStateLimit(), timeLimit);
+		return new ModelCheckingOptions(this.getSearchStrategy(), options, this.getCustomGoal(), this.getStateLimit(), timeLimit, this.getSlicePolicy());
+	}
+
+	public ModelCheckingSlicePolicy getSlicePolicy() {
+		return this.slicePolicy;
+	}
+
+	/**
+	 * Set the policy for choosing the duration of each model checking step.
+	 * This only affects how often progress is reported and how much time is spent on communication,
+	 * not the result of model checking.
+	 * The default is {@link ModelCheckingSlicePolicy#FIXED},
+	 * adaptive step durations have to be enabled explicitly.
+	 * 
+	 * @param slicePolicy the policy to use
+	 * @return modified copy of {@code this}
+	 */
+	public ModelCheckingOptions slicePolicy(final ModelCheckingSlicePolicy slicePolicy) {
+		Objects.requireNonNull(slicePolicy, "slicePolicy");
+		if (this.getSlicePolicy() == slicePolicy) {
+			return this;
+		}
+		return new ModelCheckingOptions(this.getSearchStrategy(), options, this.getCustomGoal(), this.getStateLimit(), this.getTimeLimit(), slicePolicy);
 	}
 	
 	@Override
@@ -266,7 +292,8 @@ public class ModelCheckingOptions {
 			&& other.options.equals(this.options)
 			&& Objects.equals(this.getCustomGoal(), other.getCustomGoal())
 			&& this.getStateLimit() == other.getStateLimit()
-			&& Objects.equals(this.getTimeLimit(), other.getTimeLimit());
+			&& Objects.equals(this.getTimeLimit(), other.getTimeLimit())
+			&& this.getSlicePolicy() == other.getSlicePolicy();
 	}
 	
 	@Override
@@ -276,7 +303,8 @@ public class ModelCheckingOptions {
 			this.options,
 			this.getCustomGoal(),
 			this.getStateLimit(),
-			this.getTimeLimit()
+			this.getTimeLimit(),
+			this.getSlicePolicy()
 		);
 	}
 
@@ -288,6 +316,7 @@ public class ModelCheckingOptions {
 			.add("customGoal", this.getCustomGoal())
 			.add("stateLimit", this.getStateLimit())
 			.add("timeLimig", this.getTimeLimit())
+			.add("slicePolicy", this.getSlicePolicy())
 			.toString();
 	}
 
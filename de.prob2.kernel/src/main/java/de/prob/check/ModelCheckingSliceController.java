@@ -0,0 +1,103 @@
+package de.prob.check;
+
+/**
+ * <p>
+ * Chooses the duration and the maximum number of states of each model checking step,
+ * based on the throughput observed in the previous steps.
+ * </p>
+ * <p>
+ * While the throughput is stable, the step duration is doubled (up to the maximum),
+ * so that less time is spent on communication and listener notifications.
+ * If the throughput changes, or a step took much longer than requested,
+ * the step duration is halved (down to the minimum).
+ * The node budget of each step is set to twice the number of states
+ * that can be expected to be processed in the step duration,
+ * which limits how long a step can overshoot when states suddenly become cheaper to process.
+ * </p>
+ */
+public class ModelCheckingSliceController {
+	// Relative change in throughput between two steps that is still considered stable
+	private static final double STABLE_THROUGHPUT_TOLERANCE = 0.25;
+	private static final int MINIMUM_NODE_BUDGET = 100;
+	private static final int MAXIMUM_NODE_BUDGET = 100000;
+
+	private final int minimumTimeout;
+	private final int maximumTimeout;
+	private int timeout;
+	private int nodeBudget;
+	private double previousThroughput;
+
+	public ModelCheckingSliceController(final ModelCheckingSlicePolicy policy) {
+		this(policy.getMinimumTimeout(), policy.getInitialTimeout(), policy.getMaximumTimeout());
+	}
+
+	/**
+	 * @param minimumTimeout the minimum step duration in milliseconds
+	 * @param initialTimeout the duration of the first step in milliseconds
+	 * @param maximumTimeout the maximum step duration in milliseconds
+	 */
+	public ModelCheckingSliceController(final int minimumTimeout, final int initialTimeout, final int maximumTimeout) {
+		if (minimumTimeout > initialTimeout || initialTimeout > maximumTimeout) {
+			throw new IllegalArgumentException("Step durations must satisfy minimum <= initial <= maximum, not " + minimumTimeout + ", " + initialTimeout + ", " + maximumTimeout);
+		}
+		this.minimumTimeout = minimumTimeout;
+		this.maximumTimeout = maximumTimeout;
+		this.timeout = initialTimeout;
+		this.nodeBudget = MAXIMUM_NODE_BUDGET;
+		this.previousThroughput = -1;
+	}
+
+	public int getMinimumTimeout() {
+		return this.minimumTimeout;
+	}
+
+	public int getMaximumTimeout() {
+		return this.maximumTimeout;
+	}
+
+	/**
+	 * @return the duration of the next step in milliseconds
+	 */
+	public int getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * @return the maximum number of states to process in the next step
+	 */
+	public int getNodeBudget() {
+		return this.nodeBudget;
+	}
+
+	public boolean isFixed() {
+		return this.minimumTimeout == this.maximumTimeout;
+	}
+
+	/**
+	 * Adapt the next step to the statistics of the last step.
+	 * 
+	 * @param stats the statistics of the last step
+	 */
+	public void update(final ModelCheckingStepStats stats) {
+		if (this.isFixed()) {
+			return;
+		}
+
+		final double throughput = stats.getStatesPerSecond();
+		final boolean overshot = stats.getStepMillis() > 2L * Math.max(stats.getSliceTimeout(), this.minimumTimeout);
+		final boolean stable = this.previousThroughput > 0 && Math.abs(throughput - this.previousThroughput) <= STABLE_THROUGHPUT_TOLERANCE * this.previousThroughput;
+		if (overshot || (!stable && this.previousThroughput >= 0)) {
+			this.timeout = Math.max(this.minimumTimeout, this.timeout / 2);
+		} else if (stable) {
+			this.timeout = Math.min(this.maximumTimeout, this.timeout * 2);
+		}
+		this.previousThroughput = throughput;
+
+		if (throughput > 0) {
+			final double expectedNodes = throughput * this.timeout / 1000.0;
+			this.nodeBudget = (int)Math.max(MINIMUM_NODE_BUDGET, Math.min(MAXIMUM_NODE_BUDGET, 2 * expectedNodes));
+		} else {
+			this.nodeBudget = MAXIMUM_NODE_BUDGET;
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package de.prob.check;
+
+/**
+ * Determines how the {@link ConsistencyChecker} chooses the duration of each model checking step (time slice).
+ * Every step costs a round trip to ProB and a listener notification,
+ * so short steps give more frequent progress updates and long steps give higher throughput.
+ */
+public enum ModelCheckingSlicePolicy {
+	/**
+	 * Every step has the same duration of 500 ms and processes at most 100000 states (or the remaining state limit).
+	 * This is the default.
+	 */
+	FIXED(500, 500, 500),
+	/**
+	 * Short steps for frequent progress updates, e. g. when a UI is attached.
+	 */
+	INTERACTIVE(100, 250, 500),
+	/**
+	 * Long steps for maximum throughput when nobody is watching the progress.
+	 */
+	BATCH(500, 1000, 10000),
+	/**
+	 * {@link #INTERACTIVE} if a listener is attached to the checker, otherwise {@link #BATCH}.
+	 */
+	AUTOMATIC(100, 250, 500),
+	;
+
+	private final int minimumTimeout;
+	private final int initialTimeout;
+	private final int maximumTimeout;
+
+	private ModelCheckingSlicePolicy(final int minimumTimeout, final int initialTimeout, final int maximumTimeout) {
+		this.minimumTimeout = minimumTimeout;
+		this.initialTimeout = initialTimeout;
+		this.maximumTimeout = maximumTimeout;
+	}
+
+	public int getMinimumTimeout() {
+		return this.minimumTimeout;
+	}
+
+	public int getInitialTimeout() {
+		return this.initialTimeout;
+	}
+
+	public int getMaximumTimeout() {
+		return this.maximumTimeout;
+	}
+
+	/**
+	 * Get the concrete policy to use, resolving {@link #AUTOMATIC} based on whether a listener is attached.
+	 * 
+	 * @param hasListener whether the checker has a listener that wants progress updates
+	 * @return the concrete policy
+	 */
+	public ModelCheckingSlicePolicy resolve(final boolean hasListener) {
+		if (this == AUTOMATIC) {
+			return hasListener ? INTERACTIVE : BATCH;
+		}
+		return this;
+	}
+}
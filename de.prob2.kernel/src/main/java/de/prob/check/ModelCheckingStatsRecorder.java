@@ -0,0 +1,192 @@
+package de.prob.check;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * <p>
+ * An {@link IModelCheckListener} that records the {@link ModelCheckingStepStats} of every step of a model checking run,
+ * so that the whole time series can be exported as CSV or JSON lines afterwards.
+ * </p>
+ * <p>
+ * All notifications are also forwarded to an optional delegate listener,
+ * so the recorder can be attached in addition to an existing listener.
+ * </p>
+ */
+public class ModelCheckingStatsRecorder implements IModelCheckListener {
+	private static final String[] COLUMNS = {
+		"jobId", "step", "elapsedMillis", "stepMillis", "sliceTimeout",
+		"totalNodes", "totalTransitions", "processedNodes", "queueDepth",
+		"newNodes", "newTransitions", "statesPerSecond", "transitionsPerSecond",
+		"memoryUsed", "gcTime",
+	};
+
+	private final IModelCheckListener delegate;
+	private final List<Entry> entries;
+
+	public ModelCheckingStatsRecorder() {
+		this(null);
+	}
+
+	/**
+	 * @param delegate listener to forward all notifications to, or {@code null}
+	 */
+	public ModelCheckingStatsRecorder(final IModelCheckListener delegate) {
+		this.delegate = delegate;
+		this.entries = new ArrayList<>();
+	}
+
+	private static final class Entry {
+		private final String jobId;
+		private final ModelCheckingStepStats stats;
+
+		private Entry(final String jobId, final ModelCheckingStepStats stats) {
+			this.jobId = jobId;
+			this.stats = stats;
+		}
+	}
+
+	private void record(final String jobId, final StateSpaceStats stats) {
+		if (stats instanceof ModelCheckingStepStats) {
+			final ModelCheckingStepStats stepStats = (ModelCheckingStepStats)stats;
+			synchronized (this.entries) {
+				// The final step is reported both via updateStats and isFinished.
+				final boolean duplicate = !this.entries.isEmpty() && this.entries.get(this.entries.size() - 1).stats == stepStats;
+				if (!duplicate) {
+					this.entries.add(new Entry(jobId, stepStats));
+				}
+			}
+		}
+	}
+
+	@Override
+	public void updateStats(final String jobId, final long timeElapsed, final IModelCheckingResult result, final StateSpaceStats stats) {
+		this.record(jobId, stats);
+		if (this.delegate != null) {
+			this.delegate.updateStats(jobId, timeElapsed, result, stats);
+		}
+	}
+
+	@Override
+	public void isFinished(final String jobId, final long timeElapsed, final IModelCheckingResult result, final StateSpaceStats stats) {
+		this.record(jobId, stats);
+		if (this.delegate != null) {
+			this.delegate.isFinished(jobId, timeElapsed, result, stats);
+		}
+	}
+
+	/**
+	 * @return the statistics of all recorded steps, in the order in which they were reported
+	 */
+	public List<ModelCheckingStepStats> getSteps() {
+		synchronized (this.entries) {
+			final List<ModelCheckingStepStats> steps = new ArrayList<>();
+			this.entries.forEach(entry -> steps.add(entry.stats));
+			return Collections.unmodifiableList(steps);
+		}
+	}
+
+	private List<Entry> getEntries() {
+		synchronized (this.entries) {
+			return new ArrayList<>(this.entries);
+		}
+	}
+
+	private static Object[] values(final Entry entry) {
+		final ModelCheckingStepStats s = entry.stats;
+		return new Object[] {
+			entry.jobId, s.getStep(), s.getElapsedMillis(), s.getStepMillis(), s.getSliceTimeout(),
+			s.getNrTotalNodes(), s.getNrTotalTransitions(), s.getNrProcessedNodes(), s.getQueueDepth(),
+			s.getNrNewNodes(), s.getNrNewTransitions(), s.getStatesPerSecond(), s.getTransitionsPerSecond(),
+			s.getMemoryUsed(), s.getGcTime(),
+		};
+	}
+
+	/**
+	 * Write all recorded steps as CSV with a header line.
+	 * 
+	 * @param writer the writer to write to (is not closed)
+	 * @throws IOException if writing fails
+	 */
+	public void writeCsv(final Writer writer) throws IOException {
+		writer.write(String.join(",", COLUMNS));
+		writer.write('\n');
+		for (final Entry entry : this.getEntries()) {
+			final Object[] values = values(entry);
+			for (int i = 0; i < values.length; i++) {
+				if (i > 0) {
+					writer.write(',');
+				}
+				writer.write(format(values[i]));
+			}
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Write all recorded steps as JSON lines, i. e. one JSON object per line.
+	 * 
+	 * @param writer the writer to write to (is not closed)
+	 * @throws IOException if writing fails
+	 */
+	public void writeJsonLines(final Writer writer) throws IOException {
+		final JsonFactory factory = new JsonFactory();
+		factory.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		try (final JsonGenerator generator = factory.createGenerator(writer)) {
+			// Each object is followed by a line break instead of the default separator.
+			generator.setRootValueSeparator(null);
+			for (final Entry entry : this.getEntries()) {
+				final Object[] values = values(entry);
+				generator.writeStartObject();
+				generator.writeStringField(COLUMNS[0], (String)values[0]);
+				for (int i = 1; i < values.length; i++) {
+					generator.writeFieldName(COLUMNS[i]);
+					if (values[i] instanceof Double) {
+						generator.writeNumber((Double)values[i]);
+					} else {
+						generator.writeNumber(((Number)values[i]).longValue());
+					}
+				}
+				generator.writeEndObject();
+				generator.flush();
+				writer.write('\n');
+			}
+		}
+		writer.flush();
+	}
+
+	public void writeCsv(final Path path) throws IOException {
+		try (final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			this.writeCsv(writer);
+		}
+	}
+
+	public void writeJsonLines(final Path path) throws IOException {
+		try (final BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+			this.writeJsonLines(writer);
+		}
+	}
+
+	private static String format(final Object value) {
+		if (value instanceof Double) {
+			return String.format(Locale.ROOT, "%.2f", (Double)value);
+		} else if (value instanceof String) {
+			final String s = (String)value;
+			return s.contains(",") || s.contains("\"") ? '"' + s.replace("\"", "\"\"") + '"' : s;
+		} else {
+			return String.valueOf(value);
+		}
+	}
+}
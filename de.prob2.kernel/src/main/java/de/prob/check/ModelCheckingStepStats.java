@@ -0,0 +1,125 @@
+package de.prob.check;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>
+ * Extended statistics about a single model checking step (time slice) of a {@link ConsistencyChecker}.
+ * </p>
+ * <p>
+ * The consistency checker passes instances of this class to {@link IModelCheckListener}s
+ * wherever a {@link StateSpaceStats} is expected,
+ * so listeners that need the extended statistics can check for this subclass.
+ * </p>
+ */
+public class ModelCheckingStepStats extends StateSpaceStats {
+	private final int step;
+	private final long elapsedMillis;
+	private final long stepMillis;
+	private final int sliceTimeout;
+	private final int newNodes;
+	private final int newTransitions;
+	private final int newProcessedNodes;
+	private final long memoryUsed;
+	private final long gcTime;
+
+	public ModelCheckingStepStats(final StateSpaceStats stats, final StateSpaceStats previous, final int step, final long elapsedMillis, final long stepMillis, final int sliceTimeout, final long memoryUsed, final long gcTime) {
+		super(stats.getNrTotalNodes(), stats.getNrTotalTransitions(), stats.getNrProcessedNodes());
+		this.step = step;
+		this.elapsedMillis = elapsedMillis;
+		this.stepMillis = stepMillis;
+		this.sliceTimeout = sliceTimeout;
+		this.newNodes = previous == null ? stats.getNrTotalNodes() : stats.getNrTotalNodes() - previous.getNrTotalNodes();
+		this.newTransitions = previous == null ? stats.getNrTotalTransitions() : stats.getNrTotalTransitions() - previous.getNrTotalTransitions();
+		this.newProcessedNodes = previous == null ? stats.getNrProcessedNodes() : stats.getNrProcessedNodes() - previous.getNrProcessedNodes();
+		this.memoryUsed = memoryUsed;
+		this.gcTime = gcTime;
+	}
+
+	/**
+	 * @return the number of this step, starting at 1
+	 */
+	public int getStep() {
+		return this.step;
+	}
+
+	/**
+	 * @return the time since model checking was started, in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return this.elapsedMillis;
+	}
+
+	/**
+	 * @return the actual duration of this step including communication with ProB, in milliseconds
+	 */
+	public long getStepMillis() {
+		return this.stepMillis;
+	}
+
+	/**
+	 * @return the time limit that was requested for this step, in milliseconds
+	 */
+	public int getSliceTimeout() {
+		return this.sliceTimeout;
+	}
+
+	public int getNrNewNodes() {
+		return this.newNodes;
+	}
+
+	public int getNrNewTransitions() {
+		return this.newTransitions;
+	}
+
+	public int getNrNewProcessedNodes() {
+		return this.newProcessedNodes;
+	}
+
+	/**
+	 * @return the number of states that were found, but not processed yet
+	 */
+	public int getQueueDepth() {
+		return this.getNrTotalNodes() - this.getNrProcessedNodes();
+	}
+
+	public double getStatesPerSecond() {
+		return this.stepMillis == 0 ? 0.0 : this.newProcessedNodes * 1000.0 / this.stepMillis;
+	}
+
+	public double getTransitionsPerSecond() {
+		return this.stepMillis == 0 ? 0.0 : this.newTransitions * 1000.0 / this.stepMillis;
+	}
+
+	/**
+	 * @return the memory used by the ProB Prolog process in bytes, or -1 if unknown
+	 */
+	public long getMemoryUsed() {
+		return this.memoryUsed;
+	}
+
+	/**
+	 * @return the total time spent on garbage collection by the ProB Prolog process in milliseconds, or -1 if unknown
+	 */
+	public long getGcTime() {
+		return this.gcTime;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("step", this.getStep())
+			.add("elapsedMillis", this.getElapsedMillis())
+			.add("stepMillis", this.getStepMillis())
+			.add("sliceTimeout", this.getSliceTimeout())
+			.add("totalNodes", this.getNrTotalNodes())
+			.add("totalTransitions", this.getNrTotalTransitions())
+			.add("processedNodes", this.getNrProcessedNodes())
+			.add("queueDepth", this.getQueueDepth())
+			.add("statesPerSecond", this.getStatesPerSecond())
+			.add("transitionsPerSecond", this.getTransitionsPerSecond())
+			.add("memoryUsed", this.getMemoryUsed())
+			.add("gcTime", this.getGcTime())
+			.toString();
+	}
+}
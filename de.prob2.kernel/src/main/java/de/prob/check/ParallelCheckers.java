@@ -0,0 +1,127 @@
+package de.prob.check;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import de.prob.animator.domainobjects.ProBPreference;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+/**
+ * Helper methods shared by the checkers that distribute work over several {@code probcli} instances.
+ */
+final class ParallelCheckers {
+	private ParallelCheckers() {
+		throw new AssertionError("Utility class");
+	}
+
+	/**
+	 * Start a new {@code probcli} instance with the same model and the same (non-default) preferences as the given state space.
+	 * 
+	 * @param stateSpace the state space whose model should be loaded
+	 * @param preferences the preferences to set, usually from {@link #getChangedPreferences(StateSpace)}
+	 * @return a new state space with the same model
+	 */
+	static StateSpace loadWorker(final StateSpace stateSpace, final Map<String, String> preferences) {
+		return stateSpace.getModel().load(stateSpace.getMainComponent(), preferences);
+	}
+
+	/**
+	 * Get all preferences of the given state space that have been changed from their default values.
+	 * 
+	 * @param stateSpace the state space to get the preferences from
+	 * @return all non-default preferences
+	 */
+	static Map<String, String> getChangedPreferences(final StateSpace stateSpace) {
+		final Map<String, String> currentValues = stateSpace.getCurrentPreferences();
+		final Map<String, String> changed = new HashMap<>();
+		for (final ProBPreference preference : stateSpace.getPreferenceInformation()) {
+			final String value = currentValues.get(preference.name);
+			if (value != null && !value.equals(preference.defaultValue)) {
+				changed.put(preference.name, value);
+			}
+		}
+		return changed;
+	}
+
+	static ExecutorService createExecutor(final int threads, final String name) {
+		final AtomicInteger threadCounter = new AtomicInteger();
+		return Executors.newFixedThreadPool(threads, r -> {
+			final Thread thread = new Thread(r, name + " " + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * A result is conclusive if it does not have to be confirmed by any other checker,
+	 * i. e. the state space was fully checked or a counter-example or goal was found.
+	 * 
+	 * @param result the result to check
+	 * @return whether the result is conclusive
+	 */
+	static boolean isConclusive(final IModelCheckingResult result) {
+		return result instanceof ModelCheckOk || result instanceof ModelCheckErrorUncovered || result instanceof ModelCheckGoalFound;
+	}
+
+	/**
+	 * Translate a result that refers to a state of one state space into the corresponding result for another state space.
+	 * The trace to the state is reconstructed in the target state space using {@link Trace#transferTo(StateSpace)}.
+	 * 
+	 * @param result the result from the source state space
+	 * @param source the state space in which the result was found
+	 * @param target the state space for which the result should be translated
+	 * @return the translated result
+	 */
+	static IModelCheckingResult transferResult(final IModelCheckingResult result, final StateSpace source, final StateSpace target) {
+		if (source == target) {
+			return result;
+		}
+		if (result instanceof ModelCheckErrorUncovered) {
+			final Trace trace = ((ModelCheckErrorUncovered)result).getTrace(source).transferTo(target);
+			return new ModelCheckErrorUncovered(result.getMessage(), trace.getCurrentState().getId());
+		} else if (result instanceof ModelCheckGoalFound) {
+			final Trace trace = ((ModelCheckGoalFound)result).getTrace(source).transferTo(target);
+			return new ModelCheckGoalFound(result.getMessage(), trace.getCurrentState().getId());
+		} else {
+			return result;
+		}
+	}
+
+	/**
+	 * A listener that remembers the last statistics reported by a checker and optionally forwards progress updates.
+	 */
+	static final class StatsCapture implements IModelCheckListener {
+		private final BiConsumer<IModelCheckingResult, StateSpaceStats> progressListener;
+		private volatile StateSpaceStats stats;
+
+		StatsCapture(final BiConsumer<IModelCheckingResult, StateSpaceStats> progressListener) {
+			this.progressListener = progressListener;
+		}
+
+		StateSpaceStats getStats() {
+			return this.stats;
+		}
+
+		@Override
+		public void updateStats(final String jobId, final long timeElapsed, final IModelCheckingResult result, final StateSpaceStats stats) {
+			if (stats != null) {
+				this.stats = stats;
+			}
+			if (this.progressListener != null) {
+				this.progressListener.accept(result, stats);
+			}
+		}
+
+		@Override
+		public void isFinished(final String jobId, final long timeElapsed, final IModelCheckingResult result, final StateSpaceStats stats) {
+			if (stats != null) {
+				this.stats = stats;
+			}
+		}
+	}
+}
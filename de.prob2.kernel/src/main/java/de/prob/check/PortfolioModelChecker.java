@@ -0,0 +1,247 @@
+package de.prob.check;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.prob.statespace.StateSpace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Performs consistency checking with several configurations (search strategies and other options) at the same time
+ * and returns the first conclusive result, i. e. a counter-example, a found goal or a complete check.
+ * </p>
+ * <p>
+ * The first configuration is checked in the given {@link StateSpace}.
+ * For every other configuration, a new {@code probcli} instance is started with the same model and preferences.
+ * As soon as one configuration has a conclusive result, all other configurations are interrupted
+ * and the additional instances are stopped.
+ * If the winning configuration found a counter-example or goal in another instance,
+ * the trace to it is reconstructed in the given state space,
+ * so the result can be used like the result of a {@link ConsistencyChecker}.
+ * </p>
+ * <p>
+ * Progress updates are only reported for the first configuration.
+ * </p>
+ */
+public class PortfolioModelChecker extends CheckerBase {
+	private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioModelChecker.class);
+	private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+	private final List<ModelCheckingOptions> configurations;
+	private volatile int winningIndex;
+
+	public PortfolioModelChecker(final StateSpace stateSpace, final List<ModelCheckingOptions> configurations) {
+		this(stateSpace, configurations, null);
+	}
+
+	/**
+	 * @param stateSpace the {@link StateSpace} in which the first configuration is checked and the result is reported
+	 * @param configurations the configurations to check in parallel
+	 * @param listener listener to inform about checking progress
+	 */
+	public PortfolioModelChecker(final StateSpace stateSpace, final List<ModelCheckingOptions> configurations, final IModelCheckListener listener) {
+		super(stateSpace, listener);
+		if (configurations.isEmpty()) {
+			throw new IllegalArgumentException("At least one model checking configuration is required");
+		}
+		this.configurations = Collections.unmodifiableList(new ArrayList<>(configurations));
+		this.winningIndex = -1;
+	}
+
+	/**
+	 * Create the configurations that differ only in their search strategy.
+	 * 
+	 * @param options the options to use for all configurations
+	 * @param strategies the search strategies to run in parallel
+	 * @return one configuration per search strategy
+	 */
+	public static List<ModelCheckingOptions> withSearchStrategies(final ModelCheckingOptions options, final List<ModelCheckingSearchStrategy> strategies) {
+		final List<ModelCheckingOptions> configurations = new ArrayList<>();
+		for (final ModelCheckingSearchStrategy strategy : strategies) {
+			configurations.add(options.searchStrategy(strategy));
+		}
+		return configurations;
+	}
+
+	public List<ModelCheckingOptions> getConfigurations() {
+		return this.configurations;
+	}
+
+	/**
+	 * @return the index of the configuration that produced the result, or -1 if no configuration had a conclusive result
+	 */
+	public int getWinningIndex() {
+		return this.winningIndex;
+	}
+
+	/**
+	 * @return the configuration that produced the result, or {@code null} if no configuration had a conclusive result
+	 */
+	public ModelCheckingOptions getWinningConfiguration() {
+		final int index = this.winningIndex;
+		return index < 0 ? null : this.configurations.get(index);
+	}
+
+	@Override
+	protected void execute() {
+		final int n = this.configurations.size();
+		final Map<String, String> preferences = n > 1 ? ParallelCheckers.getChangedPreferences(this.getStateSpace()) : Collections.emptyMap();
+		final AtomicReferenceArray<StateSpace> stateSpaces = new AtomicReferenceArray<>(n);
+		stateSpaces.set(0, this.getStateSpace());
+		final List<ParallelCheckers.StatsCapture> captures = new ArrayList<>();
+		final IModelCheckingResult[] results = new IModelCheckingResult[n];
+		// Set once the additional state spaces are being killed, so that workers loaded after that kill themselves.
+		final AtomicBoolean stopped = new AtomicBoolean(false);
+
+		final ExecutorService executor = ParallelCheckers.createExecutor(n, "Portfolio model checker");
+		final CompletionService<IModelCheckingResult> completionService = new ExecutorCompletionService<>(executor);
+		final Map<Future<IModelCheckingResult>, Integer> indices = new HashMap<>();
+		try {
+			for (int i = 0; i < n; i++) {
+				final int index = i;
+				final ParallelCheckers.StatsCapture capture = new ParallelCheckers.StatsCapture((result, stats) -> this.configurationProgress(index, result, stats));
+				captures.add(capture);
+				indices.put(completionService.submit(() -> {
+					StateSpace stateSpace = stateSpaces.get(index);
+					if (stateSpace == null) {
+						stateSpace = ParallelCheckers.loadWorker(this.getStateSpace(), preferences);
+						stateSpaces.set(index, stateSpace);
+						// The checker might have given up waiting for this configuration while the worker was loading.
+						if (stopped.get() && stateSpaces.compareAndSet(index, stateSpace, null)) {
+							stateSpace.kill();
+							return new CheckInterrupted();
+						}
+					}
+					this.prepareConfiguration(index, stateSpace);
+					if (Thread.currentThread().isInterrupted()) {
+						return new CheckInterrupted();
+					}
+					return new ConsistencyChecker(stateSpace, this.configurations.get(index), capture).call();
+				}), index);
+			}
+
+			IModelCheckingResult result = null;
+			for (int remaining = n; remaining > 0; remaining--) {
+				final Future<IModelCheckingResult> future = completionService.take();
+				final int index = indices.get(future);
+				try {
+					results[index] = future.get();
+				} catch (ExecutionException e) {
+					LOGGER.warn("Portfolio configuration {} ({}) failed", index, this.configurations.get(index), e.getCause());
+					results[index] = new CheckError("Checking failed: " + e.getCause());
+					continue;
+				}
+				if (ParallelCheckers.isConclusive(results[index])) {
+					this.winningIndex = index;
+					result = results[index];
+					break;
+				}
+			}
+
+			stopAll(executor, indices, stateSpaces);
+			if (result == null) {
+				// No configuration was conclusive, report the result of the first configuration.
+				result = results[0] != null ? results[0] : new NotYetFinished("No configuration finished checking", -1);
+				this.isFinished(result, this.getFinishedStats(0, collectStats(captures)));
+			} else {
+				LOGGER.info("Portfolio configuration {} ({}) finished first with result: {}", this.winningIndex, this.configurations.get(this.winningIndex), result.getMessage());
+				this.isFinished(ParallelCheckers.transferResult(result, stateSpaces.get(this.winningIndex), this.getStateSpace()), this.getFinishedStats(this.winningIndex, collectStats(captures)));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stopAll(executor, indices, stateSpaces);
+			this.isFinished(new CheckInterrupted(), captures.isEmpty() ? null : this.getFinishedStats(0, collectStats(captures)));
+		} finally {
+			executor.shutdownNow();
+			stopped.set(true);
+			for (int i = 1; i < n; i++) {
+				// Whoever removes a worker from the array kills it, so that no worker is killed twice.
+				final StateSpace stateSpace = stateSpaces.getAndSet(i, null);
+				if (stateSpace != null) {
+					stateSpace.kill();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Called in the configuration's thread after its state space has been loaded and before checking starts.
+	 * 
+	 * @param index the index of the configuration
+	 * @param stateSpace the state space in which the configuration will be checked
+	 */
+	void prepareConfiguration(final int index, final StateSpace stateSpace) {
+		// Nothing to prepare by default
+	}
+
+	/**
+	 * Called with every progress update of any configuration.
+	 * By default, only the progress of the first configuration is reported to the listener.
+	 * 
+	 * @param index the index of the configuration
+	 * @param result the intermediate result of the configuration
+	 * @param stats the current statistics of the configuration
+	 */
+	void configurationProgress(final int index, final IModelCheckingResult result, final StateSpaceStats stats) {
+		if (index == 0) {
+			this.updateStats(result, stats);
+		}
+	}
+
+	/**
+	 * Get the statistics to report together with the final result.
+	 * 
+	 * @param index the index of the winning configuration, or 0 if no configuration was conclusive
+	 * @param stats the last statistics of each configuration, {@code null} if a configuration has not reported any yet
+	 * @return the statistics to report
+	 */
+	StateSpaceStats getFinishedStats(final int index, final List<StateSpaceStats> stats) {
+		return stats.get(index);
+	}
+
+	private static List<StateSpaceStats> collectStats(final List<ParallelCheckers.StatsCapture> captures) {
+		final List<StateSpaceStats> stats = new ArrayList<>();
+		for (final ParallelCheckers.StatsCapture capture : captures) {
+			stats.add(capture.getStats());
+		}
+		return stats;
+	}
+
+	private static void stopAll(final ExecutorService executor, final Map<Future<IModelCheckingResult>, Integer> indices, final AtomicReferenceArray<StateSpace> stateSpaces) {
+		// Only interrupt the configurations that are still running.
+		// In particular, the winner and an idle main state space must not receive an interrupt,
+		// which would otherwise be left pending and interrupt the next command.
+		indices.forEach((future, index) -> {
+			if (!future.isDone()) {
+				future.cancel(true);
+				final StateSpace stateSpace = stateSpaces.get(index);
+				if (stateSpace != null) {
+					stateSpace.sendInterrupt();
+				}
+			}
+		});
+		executor.shutdown();
+		try {
+			// Wait for the checkers to notice the interrupt, so that no checker is still using the main state space.
+			if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+				LOGGER.warn("Portfolio model checker configurations did not stop within {} seconds", SHUTDOWN_TIMEOUT_SECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package de.prob.check;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+/**
+ * <p>
+ * Performs consistency checking with a swarm of {@code probcli} instances,
+ * each of which explores the state space in a different order.
+ * This is mainly useful for finding errors or goals faster in large state spaces.
+ * </p>
+ * <p>
+ * The first worker checks the given {@link StateSpace} using the given options unchanged.
+ * Every other worker runs in its own {@code probcli} instance
+ * and alternates between depth-first and mixed search.
+ * Before it starts checking, each of these workers executes a random walk from the root state,
+ * whose random seed is derived from the swarm seed and the worker index.
+ * Because the states found by the walk are the first candidates of the search,
+ * this steers every worker into a different part of the state space.
+ * The states visited by the random walk are rechecked during the first checking step,
+ * so no errors are missed.
+ * </p>
+ * <p>
+ * As soon as one worker has a conclusive result, all other workers are stopped.
+ * A counter-example or goal found by a worker is reconstructed in the given state space.
+ * The statistics reported to the listener are {@link SwarmStateSpaceStats},
+ * which combine the statistics of all workers.
+ * </p>
+ */
+public class SwarmModelChecker extends PortfolioModelChecker {
+	private static final int DEFAULT_WALK_LENGTH = 20;
+	private static final List<ModelCheckingSearchStrategy> WORKER_STRATEGIES = Arrays.asList(
+		ModelCheckingSearchStrategy.DEPTH_FIRST,
+		ModelCheckingSearchStrategy.MIXED_BF_DF
+	);
+
+	private final long seed;
+	private final int walkLength;
+	private final AtomicReferenceArray<StateSpaceStats> workerStats;
+
+	public SwarmModelChecker(final StateSpace stateSpace, final ModelCheckingOptions options, final int workers, final long seed) {
+		this(stateSpace, options, workers, seed, null);
+	}
+
+	/**
+	 * @param stateSpace the {@link StateSpace} in which the first worker checks and the result is reported
+	 * @param options the options to use for all workers (except for the search strategy)
+	 * @param workers the number of workers, including the one that uses {@code stateSpace}
+	 * @param seed the seed from which the random walk of each worker is derived
+	 * @param listener listener to inform about checking progress
+	 */
+	public SwarmModelChecker(final StateSpace stateSpace, final ModelCheckingOptions options, final int workers, final long seed, final IModelCheckListener listener) {
+		this(stateSpace, options, workers, seed, DEFAULT_WALK_LENGTH, listener);
+	}
+
+	/**
+	 * @param stateSpace the {@link StateSpace} in which the first worker checks and the result is reported
+	 * @param options the options to use for all workers (except for the search strategy)
+	 * @param workers the number of workers, including the one that uses {@code stateSpace}
+	 * @param seed the seed from which the random walk of each worker is derived
+	 * @param walkLength the maximum length of the random walk that each worker (except the first) executes before checking
+	 * @param listener listener to inform about checking progress
+	 */
+	public SwarmModelChecker(final StateSpace stateSpace, final ModelCheckingOptions options, final int workers, final long seed, final int walkLength, final IModelCheckListener listener) {
+		super(stateSpace, createConfigurations(options, workers), listener);
+		if (walkLength < 0) {
+			throw new IllegalArgumentException("Random walk length must not be negative, not " + walkLength);
+		}
+		this.seed = seed;
+		this.walkLength = walkLength;
+		this.workerStats = new AtomicReferenceArray<>(workers);
+	}
+
+	private static List<ModelCheckingOptions> createConfigurations(final ModelCheckingOptions options, final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("Number of workers must be at least 1, not " + workers);
+		}
+		final List<ModelCheckingOptions> configurations = new ArrayList<>();
+		configurations.add(options);
+		for (int i = 1; i < workers; i++) {
+			configurations.add(options.searchStrategy(WORKER_STRATEGIES.get((i - 1) % WORKER_STRATEGIES.size())).recheckExisting(true));
+		}
+		return configurations;
+	}
+
+	/**
+	 * Get the seed of the random walk that a worker executes before checking.
+	 * 
+	 * @param seed the seed of the whole swarm
+	 * @param index the index of the worker
+	 * @return the seed for the worker's random walk
+	 */
+	public static long getWorkerSeed(final long seed, final int index) {
+		return seed + index * 0x9E3779B97F4A7C15L;
+	}
+
+	public long getSeed() {
+		return this.seed;
+	}
+
+	public int getWorkers() {
+		return this.getConfigurations().size();
+	}
+
+	@Override
+	void prepareConfiguration(final int index, final StateSpace stateSpace) {
+		if (index > 0) {
+			new Trace(stateSpace).randomAnimation(this.walkLength, getWorkerSeed(this.seed, index));
+		}
+	}
+
+	@Override
+	synchronized void configurationProgress(final int index, final IModelCheckingResult result, final StateSpaceStats stats) {
+		if (stats == null) {
+			return;
+		}
+		this.workerStats.set(index, stats);
+		this.updateStats(new NotYetFinished("Swarm checking in progress", -1), this.createStats());
+	}
+
+	@Override
+	StateSpaceStats getFinishedStats(final int index, final List<StateSpaceStats> stats) {
+		return new SwarmStateSpaceStats(stats);
+	}
+
+	private SwarmStateSpaceStats createStats() {
+		final List<StateSpaceStats> stats = new ArrayList<>();
+		for (int i = 0; i < this.workerStats.length(); i++) {
+			stats.add(this.workerStats.get(i));
+		}
+		return new SwarmStateSpaceStats(stats);
+	}
+}
@@ -0,0 +1,68 @@
+package de.prob.check;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Combined statistics of all workers of a {@link SwarmModelChecker}.
+ * The totals are the sums over all workers,
+ * so states and transitions that were found by several workers are counted several times.
+ */
+public class SwarmStateSpaceStats extends StateSpaceStats {
+	private final List<StateSpaceStats> workerStats;
+
+	/**
+	 * @param workerStats the statistics of each worker, {@code null} for workers that have not reported any statistics yet
+	 */
+	public SwarmStateSpaceStats(final List<StateSpaceStats> workerStats) {
+		super(sum(workerStats, StateSpaceStats::getNrTotalNodes), sum(workerStats, StateSpaceStats::getNrTotalTransitions), sum(workerStats, StateSpaceStats::getNrProcessedNodes));
+		this.workerStats = Collections.unmodifiableList(new ArrayList<>(workerStats));
+	}
+
+	private static int sum(final List<StateSpaceStats> stats, final ToIntFunction<StateSpaceStats> getter) {
+		int sum = 0;
+		for (final StateSpaceStats s : stats) {
+			if (s != null) {
+				sum += getter.applyAsInt(s);
+			}
+		}
+		return sum;
+	}
+
+	/**
+	 * @return the statistics of each worker, {@code null} for workers that have not reported any statistics yet
+	 */
+	public List<StateSpaceStats> getWorkerStats() {
+		return this.workerStats;
+	}
+
+	/**
+	 * The largest number of states found by a single worker.
+	 * This is a lower bound for the number of distinct states found by the whole swarm.
+	 * 
+	 * @return the largest number of states found by a single worker
+	 */
+	public int getMaxNrTotalNodes() {
+		int max = 0;
+		for (final StateSpaceStats s : this.workerStats) {
+			if (s != null) {
+				max = Math.max(max, s.getNrTotalNodes());
+			}
+		}
+		return max;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("totalNodes", this.getNrTotalNodes())
+			.add("totalTransitions", this.getNrTotalTransitions())
+			.add("processedNodes", this.getNrProcessedNodes())
+			.add("workers", this.workerStats.size())
+			.toString();
+	}
+}
@@ -13,16 +13,20 @@ public class PersistentTrace {
 	private String description = "";
 	private final List<PersistentTransition> transitionList = new ArrayList<>();
 
+	/**
+	 * Store the first {@code count} transitions of a trace.
+	 * The values of all transitions are fetched from ProB in bulk,
+	 * see {@link PersistentTransition#createWithDestinationStates(List)}.
+	 * 
+	 * @param trace the trace to store
+	 * @param count the number of transitions to store
+	 */
 	public PersistentTrace(Trace trace, int count) {
 		if(count < 1) {
 			return;
 		}
 		List<Transition> list = trace.getTransitionList();
-		transitionList.add(new PersistentTransition(list.get(count-1), true, null));
-		for (int i = count-2; i >= 0; i--) {
-			PersistentTransition trans = new PersistentTransition(list.get(i), true, transitionList.get(0));
-			transitionList.add(0,trans);
-		}
+		transitionList.addAll(PersistentTransition.createWithDestinationStates(list.subList(0, count)));
 	}
 
 	public PersistentTrace(Trace trace) {
@@ -3,6 +3,7 @@ package de.prob.check.tracereplay;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -24,6 +25,7 @@ import de.prob.statespace.Language;
 import de.prob.statespace.LoadedMachine;
 import de.prob.statespace.OperationInfo;
 import de.prob.statespace.State;
+import de.prob.statespace.StateSpace;
 import de.prob.statespace.Transition;
 
 import static java.util.Collections.*;
@@ -71,22 +73,26 @@ public class PersistentTransition {
 
 			if (!Transition.INITIALISE_MACHINE_NAME.equals(name)) {
 				// for each operation
-				OperationInfo machineOperationInfo = loadedMachine.getMachineOperationInfo(name);
-				final EvaluatedTransitionInfo evaluated = transition.evaluate(TRACE_SAVE_EVAL_OPTIONS);
-
-				for (int i = 0; i < machineOperationInfo.getParameterNames().size(); i++) {
-					params.put(machineOperationInfo.getParameterNames().get(i), evaluated.getParameterValues().get(i));
-				}
-
-				for (int i = 0; i < machineOperationInfo.getOutputParameterNames().size(); i++) {
-					results.put(machineOperationInfo.getOutputParameterNames().get(i),
-							evaluated.getReturnValues().get(i));
-				}
+				addParametersAndResults(loadedMachine.getMachineOperationInfo(name), transition.evaluate(TRACE_SAVE_EVAL_OPTIONS));
 			}
 		}
 	}
 
 
+	/**
+	 * Create a transition with all destination state values, using values that have already been evaluated in bulk.
+	 * 
+	 * @param transition the transition to store
+	 * @param destinationValues the constant or variable values of the destination state
+	 */
+	private PersistentTransition(Transition transition, Map<IEvalElement, AbstractEvalResult> destinationValues) {
+		this.name = transition.getName();
+		addValuesToDestState(destinationValues, null);
+		if (!Transition.SETUP_CONSTANTS_NAME.equals(name) && !Transition.INITIALISE_MACHINE_NAME.equals(name)) {
+			addParametersAndResults(transition.getStateSpace().getLoadedMachine().getMachineOperationInfo(name), transition.evaluate(TRACE_SAVE_EVAL_OPTIONS));
+		}
+	}
+
 	// FIXME While for 2 arguments, the default value of storeDestinationState is true
 	public PersistentTransition(Transition transition, PersistentTransition transitionBefore) {
 		this.name = transition.getName();
@@ -101,17 +107,7 @@ public class PersistentTransition {
 
 			if (!Transition.INITIALISE_MACHINE_NAME.equals(name)) {
 				// for each operation
-				OperationInfo machineOperationInfo = loadedMachine.getMachineOperationInfo(name);
-				final EvaluatedTransitionInfo evaluated = transition.evaluate(TRACE_SAVE_EVAL_OPTIONS);
-
-				for (int i = 0; i < machineOperationInfo.getParameterNames().size(); i++) {
-					params.put(machineOperationInfo.getParameterNames().get(i), evaluated.getParameterValues().get(i));
-				}
-
-				for (int i = 0; i < machineOperationInfo.getOutputParameterNames().size(); i++) {
-					results.put(machineOperationInfo.getOutputParameterNames().get(i),
-							evaluated.getReturnValues().get(i));
-				}
+				addParametersAndResults(loadedMachine.getMachineOperationInfo(name), transition.evaluate(TRACE_SAVE_EVAL_OPTIONS));
 			}
 		}
 	}
@@ -189,6 +185,66 @@ public class PersistentTransition {
 
 	}
 
+	/**
+	 * <p>
+	 * Create persistent transitions with destination states for a list of transitions, e. g. a whole trace.
+	 * The result is the same as creating every transition using {@link #PersistentTransition(Transition, boolean, PersistentTransition)}
+	 * (with the destination state stored and the following transition as {@code transitionAfter}),
+	 * but the values are not evaluated separately for every transition.
+	 * Instead, the destination state values and the parameter and return values of all transitions
+	 * are fetched from ProB using a few composed queries,
+	 * each of which contains at most {@link StateSpace#getEvaluationBatchSize()} states or transitions.
+	 * </p>
+	 * 
+	 * @param transitions the transitions to store, usually the transitions of a trace
+	 * @return the persistent transitions in the same order
+	 */
+	public static List<PersistentTransition> createWithDestinationStates(final List<Transition> transitions) {
+		if (transitions.isEmpty()) {
+			return new ArrayList<>();
+		}
+		final StateSpace stateSpace = transitions.get(0).getStateSpace();
+		final LoadedMachine loadedMachine = stateSpace.getLoadedMachine();
+		final List<IEvalElement> constants = loadedMachine.getConstantEvalElements(TRACE_SAVE_EVAL_OPTIONS.getExpand());
+		final List<IEvalElement> variables = loadedMachine.getVariableEvalElements(TRACE_SAVE_EVAL_OPTIONS.getExpand());
+
+		final Set<State> constantStates = new LinkedHashSet<>();
+		final Set<State> variableStates = new LinkedHashSet<>();
+		final List<Transition> operations = new ArrayList<>();
+		for (final Transition transition : transitions) {
+			if (Transition.SETUP_CONSTANTS_NAME.equals(transition.getName())) {
+				constantStates.add(transition.getDestination());
+			} else {
+				variableStates.add(transition.getDestination());
+				if (!Transition.INITIALISE_MACHINE_NAME.equals(transition.getName())) {
+					operations.add(transition);
+				}
+			}
+		}
+
+		final Map<State, Map<IEvalElement, AbstractEvalResult>> constantValues = stateSpace.evaluateForGivenStates(constantStates, constants, TRACE_SAVE_EVAL_OPTIONS);
+		final Map<State, Map<IEvalElement, AbstractEvalResult>> variableValues = stateSpace.evaluateForGivenStates(variableStates, variables, TRACE_SAVE_EVAL_OPTIONS);
+		final int batchSize = stateSpace.getEvaluationBatchSize();
+		for (int start = 0; start < operations.size(); start += batchSize) {
+			stateSpace.evaluateTransitions(operations.subList(start, Math.min(start + batchSize, operations.size())), TRACE_SAVE_EVAL_OPTIONS);
+		}
+
+		final List<PersistentTransition> result = new ArrayList<>(transitions.size());
+		for (final Transition transition : transitions) {
+			final boolean isSetupConstants = Transition.SETUP_CONSTANTS_NAME.equals(transition.getName());
+			final Map<State, Map<IEvalElement, AbstractEvalResult>> values = isSetupConstants ? constantValues : variableValues;
+			result.add(new PersistentTransition(transition, values.get(transition.getDestination())));
+		}
+		// Values that are unchanged from the previous transition are not stored again.
+		// Go backwards so that every transition is compared with the full values of its predecessor.
+		for (int i = result.size() - 1; i > 0; i--) {
+			if (!Transition.SETUP_CONSTANTS_NAME.equals(transitions.get(i - 1).getName())) {
+				result.get(i - 1).removeUnchangedValues(result.get(i));
+			}
+		}
+		return result;
+	}
+
 	public PersistentTransition copyWithNewName(String name){
 		return new PersistentTransition(name, params, results, destState, destStateNotChanged, preds, postconditions, description);
 	}
@@ -233,6 +289,26 @@ public class PersistentTransition {
 	}
 
 
+	private void addParametersAndResults(OperationInfo machineOperationInfo, EvaluatedTransitionInfo evaluated) {
+		for (int i = 0; i < machineOperationInfo.getParameterNames().size(); i++) {
+			params.put(machineOperationInfo.getParameterNames().get(i), evaluated.getParameterValues().get(i));
+		}
+
+		for (int i = 0; i < machineOperationInfo.getOutputParameterNames().size(); i++) {
+			results.put(machineOperationInfo.getOutputParameterNames().get(i),
+					evaluated.getReturnValues().get(i));
+		}
+	}
+
+	private void removeUnchangedValues(PersistentTransition transitionAfter) {
+		for (Map.Entry<String, String> entry : destState.entrySet()) {
+			if (entry.getValue().equals(transitionAfter.destState.get(entry.getKey()))) {
+				transitionAfter.destState.remove(entry.getKey());
+				transitionAfter.destStateNotChanged.add(entry.getKey());
+			}
+		}
+	}
+
 	private void addValuesToDestState(Map<IEvalElement, AbstractEvalResult> map, PersistentTransition transitionAfter) {
 
 		for (Map.Entry<IEvalElement, AbstractEvalResult> entry : map.entrySet()) {
@@ -0,0 +1,179 @@
+package de.prob.check.tracereplay.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.prob.check.tracereplay.PersistentTransition;
+import de.prob.check.tracereplay.json.storage.TraceJsonFile;
+import de.prob.json.JacksonManager;
+import de.prob.json.JsonMetadata;
+
+/**
+ * <p>
+ * Reads the transitions of a trace file one by one using Jackson's streaming parser,
+ * so that very large trace files can be processed (e. g. replayed)
+ * without loading the whole file into memory first.
+ * Transitions from older format versions are converted to the current version one by one.
+ * </p>
+ * <p>
+ * The other fields of the trace file are available through {@link #getHeader()}.
+ * Fields that are stored after the transition list
+ * (as in files written by {@link TraceManager#save(java.nio.file.Path, TraceJsonFile)})
+ * are only available after all transitions have been read.
+ * Files written by {@link TraceJsonWriter} store all other fields before the transition list.
+ * </p>
+ * <p>
+ * Instances are created using {@link TraceManager#openReader(java.nio.file.Path)}.
+ * Because {@link Iterator} methods cannot throw checked exceptions,
+ * I/O errors while reading transitions are thrown as {@link UncheckedIOException}.
+ * </p>
+ */
+public final class TraceJsonReader implements Iterator<PersistentTransition>, Closeable {
+	private static final String TRANSITION_LIST_FIELD = "transitionList";
+
+	private final JacksonManager<TraceJsonFile> jacksonManager;
+	private final ObjectMapper objectMapper;
+	private final JsonParser parser;
+	private final JsonMetadata metadata;
+	private final ObjectNode header;
+	private PersistentTransition next;
+	private boolean transitionListFinished;
+	private int transitionCount;
+
+	TraceJsonReader(final ObjectMapper objectMapper, final JacksonManager<TraceJsonFile> jacksonManager, final JsonParser parser, final JsonMetadata metadata) throws IOException {
+		this.jacksonManager = jacksonManager;
+		this.objectMapper = objectMapper;
+		this.parser = parser;
+		this.metadata = metadata;
+		this.header = this.objectMapper.createObjectNode();
+		this.next = null;
+		this.transitionListFinished = false;
+		this.transitionCount = 0;
+
+		try {
+			final JsonToken rootToken = parser.nextToken();
+			if (rootToken != JsonToken.START_OBJECT) {
+				throw new JsonParseException(parser, "Expected trace file to contain an object, but got " + rootToken);
+			}
+			// Read all fields up to the start of the transition list.
+			if (!this.readHeaderFields()) {
+				throw new JsonParseException(parser, "Not a valid trace file - missing required field " + TRANSITION_LIST_FIELD);
+			}
+		} catch (IOException | RuntimeException e) {
+			parser.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Read fields of the root object into {@link #header} until the transition list or the end of the root object is reached.
+	 * 
+	 * @return {@code true} if the parser is now positioned at the start of the transition list,
+	 *     {@code false} if the end of the root object was reached
+	 */
+	private boolean readHeaderFields() throws IOException {
+		while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String fieldName = this.parser.getCurrentName();
+			final JsonToken valueToken = this.parser.nextToken();
+			if (TRANSITION_LIST_FIELD.equals(fieldName)) {
+				if (valueToken != JsonToken.START_ARRAY) {
+					throw new JsonParseException(this.parser, "Expected " + TRANSITION_LIST_FIELD + " to be an array, but got " + valueToken);
+				}
+				return true;
+			}
+			final JsonNode value = this.parser.readValueAsTree();
+			this.header.set(fieldName, value);
+		}
+		return false;
+	}
+
+	private PersistentTransition readTransition() throws IOException {
+		if (this.metadata.getFormatVersion() < TraceJsonFile.CURRENT_FORMAT_VERSION) {
+			final ObjectNode transition = this.parser.readValueAsTree();
+			TraceManager.convertOldTransition(transition, this.metadata.getFormatVersion());
+			return this.objectMapper.treeToValue(transition, PersistentTransition.class);
+		} else {
+			return this.objectMapper.readValue(this.parser, PersistentTransition.class);
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (this.next != null) {
+			return true;
+		}
+		if (this.transitionListFinished) {
+			return false;
+		}
+		try {
+			final JsonToken token = this.parser.nextToken();
+			if (token == JsonToken.START_OBJECT) {
+				this.next = this.readTransition();
+				this.transitionCount++;
+				return true;
+			} else if (token == JsonToken.END_ARRAY) {
+				this.transitionListFinished = true;
+				// Read the remaining fields after the transition list.
+				this.readHeaderFields();
+				return false;
+			} else {
+				throw new JsonParseException(this.parser, "Expected a transition object, but got " + token);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public PersistentTransition next() {
+		if (!this.hasNext()) {
+			throw new NoSuchElementException();
+		}
+		final PersistentTransition transition = this.next;
+		this.next = null;
+		return transition;
+	}
+
+	/**
+	 * @return the metadata of the trace file
+	 */
+	public JsonMetadata getMetadata() {
+		return this.metadata;
+	}
+
+	/**
+	 * @return the number of transitions that have been read so far
+	 */
+	public int getTransitionCount() {
+		return this.transitionCount;
+	}
+
+	/**
+	 * Get all information from the trace file except for the transitions,
+	 * i. e. the returned {@link TraceJsonFile} has an empty transition list.
+	 * This only contains the fields that have been read so far,
+	 * see the class documentation for details.
+	 * 
+	 * @return the information from the trace file, without transitions
+	 */
+	public TraceJsonFile getHeader() throws IOException {
+		final ObjectNode rootObject = this.header.deepCopy();
+		rootObject.set(TRANSITION_LIST_FIELD, rootObject.arrayNode());
+		return this.jacksonManager.readFromTree(rootObject, this.metadata);
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.parser.close();
+	}
+}
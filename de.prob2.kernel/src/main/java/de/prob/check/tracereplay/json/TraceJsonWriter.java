@@ -0,0 +1,112 @@
+package de.prob.check.tracereplay.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import de.prob.check.tracereplay.PersistentTransition;
+import de.prob.check.tracereplay.json.storage.TraceJsonFile;
+
+/**
+ * <p>
+ * Writes a trace file incrementally using Jackson's streaming generator,
+ * so that very large traces can be saved without keeping all transitions in memory.
+ * </p>
+ * <p>
+ * Unlike {@link TraceManager#save(java.nio.file.Path, TraceJsonFile)},
+ * the metadata and all other information are written before the transition list,
+ * so that {@link TraceJsonReader} can provide them before reading any transitions.
+ * The resulting file can be read by {@link TraceManager#load(java.nio.file.Path)} as usual.
+ * </p>
+ * <p>
+ * Instances are created using {@link TraceManager#openWriter(java.nio.file.Path, TraceJsonFile)}.
+ * The file is only complete after {@link #close()} has been called.
+ * </p>
+ */
+public final class TraceJsonWriter implements Closeable {
+	private final ObjectWriter objectWriter;
+	private final JsonGenerator generator;
+	private int transitionCount;
+	private boolean closed;
+
+	TraceJsonWriter(final ObjectWriter objectWriter, final JsonGenerator generator, final TraceJsonFile header) throws IOException {
+		// Don't flush the file after every single transition.
+		this.objectWriter = objectWriter.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		this.generator = generator;
+		this.transitionCount = 0;
+		this.closed = false;
+
+		try {
+			generator.writeStartObject();
+			this.writeField("metadata", header.getMetadata());
+			this.writeField("description", header.getDescription());
+			this.writeField("variableNames", header.getVariableNames());
+			this.writeField("constantNames", header.getConstantNames());
+			this.writeField("setNames", header.getSetNames());
+			this.writeField("machineOperationInfos", header.getReducedMachineOperationInfos());
+			this.writeField("globalIdentifierTypes", header.getGlobalIdentifierTypes());
+			generator.writeArrayFieldStart("transitionList");
+			this.writeTransitions(header.getTransitionList());
+		} catch (IOException | RuntimeException e) {
+			generator.close();
+			throw e;
+		}
+	}
+
+	private void writeField(final String name, final Object value) throws IOException {
+		this.generator.writeFieldName(name);
+		this.objectWriter.writeValue(this.generator, value);
+	}
+
+	/**
+	 * Append a transition to the trace file.
+	 * 
+	 * @param transition the transition to write
+	 */
+	public void writeTransition(final PersistentTransition transition) throws IOException {
+		if (this.closed) {
+			throw new IllegalStateException("Cannot write to a closed TraceJsonWriter");
+		}
+		this.objectWriter.writeValue(this.generator, transition);
+		this.transitionCount++;
+	}
+
+	/**
+	 * Append several transitions to the trace file.
+	 * 
+	 * @param transitions the transitions to write
+	 */
+	public void writeTransitions(final Collection<PersistentTransition> transitions) throws IOException {
+		for (final PersistentTransition transition : transitions) {
+			this.writeTransition(transition);
+		}
+	}
+
+	/**
+	 * @return the number of transitions that have been written so far
+	 */
+	public int getTransitionCount() {
+		return this.transitionCount;
+	}
+
+	/**
+	 * Finish the trace file and close the underlying file.
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.closed) {
+			return;
+		}
+		this.closed = true;
+		try {
+			this.generator.writeEndArray();
+			this.generator.writeEndObject();
+		} finally {
+			this.generator.close();
+		}
+	}
+}
@@ -11,15 +11,18 @@ import com.google.inject.Inject;
 import de.prob.check.tracereplay.json.storage.TraceJsonFile;
 import de.prob.json.JacksonManager;
 import de.prob.json.JsonConversionException;
+import de.prob.json.JsonMetadata;
 
 /**
  * Loads and saves traces
  */
 public class TraceManager  {
+	private final ObjectMapper objectMapper;
 	private final JacksonManager<TraceJsonFile> jacksonManager;
 
 	@Inject
 	public TraceManager(ObjectMapper objectMapper, final JacksonManager<TraceJsonFile> jacksonManager) {
+		this.objectMapper = objectMapper;
 		this.jacksonManager = jacksonManager;
 		this.jacksonManager.initContext(new JacksonManager.Context<TraceJsonFile>(objectMapper, TraceJsonFile.class, TraceJsonFile.FILE_TYPE, TraceJsonFile.CURRENT_FORMAT_VERSION) {
 			@Override
@@ -49,58 +52,60 @@ public class TraceManager  {
 							oldObject.set(objectFieldName, oldObject.objectNode());
 						}
 					}
-					for (final JsonNode transitionNode : oldObject.get("transitionList")) {
-						final ObjectNode transition = (ObjectNode)transitionNode;
-						for (final String objectFieldName : new String[] {"params", "results", "destState"}) {
-							if (!transition.has(objectFieldName) || transition.get(objectFieldName).isNull()) {
-								transition.set(objectFieldName, transition.objectNode());
-							}
-						}
-						for (final String arrayFieldName : new String[] {"destStateNotChanged", "preds"}) {
-							if (!transition.has(arrayFieldName) || transition.get(arrayFieldName).isNull()) {
-								transition.set(arrayFieldName, transition.arrayNode());
-							}
-						}
-					}
 				}
 
-				if (oldVersion <= 2) {
-					for (final JsonNode transitionNode : oldObject.get("transitionList")) {
-						final ObjectNode transition = (ObjectNode)transitionNode;
-						transition.set("postconditions", transition.arrayNode());
-					}
+				for (final JsonNode transitionNode : oldObject.get("transitionList")) {
+					convertOldTransition((ObjectNode)transitionNode, oldVersion);
 				}
 
-				if (oldVersion <= 3) {
-					for (final JsonNode transitionNode : oldObject.get("transitionList")) {
-						final ObjectNode transition = (ObjectNode)transitionNode;
-						if(!transition.has("description")) {
-							transition.put("description", "");
-						}
-					}
-				}
+				return oldObject;
+			}
+		});
+	}
 
-				if (oldVersion <= 4) {
-					for (final JsonNode transitionNode : oldObject.get("transitionList")) {
-						final ObjectNode transition = (ObjectNode)transitionNode;
-						for (final JsonNode postconditionNode : transition.get("postconditions")) {
-							final ObjectNode postcondition = (ObjectNode)postconditionNode;
-							String kind = postcondition.get("kind").asText();
-							if("PREDICATE".equals(kind)) {
-								postcondition.put("predicate", postcondition.get("value").asText());
-							} else if("ENABLEDNESS".equals(kind)) {
-								postcondition.put("operation", postcondition.get("value").asText());
-								postcondition.put("predicate", "");
-							}
-							postcondition.remove("value");
-						}
-					}
+	/**
+	 * Update a single transition of a trace file to the current format version.
+	 * 
+	 * @param transition the transition to convert, modified in place
+	 * @param oldVersion the format version of the trace file
+	 */
+	static void convertOldTransition(final ObjectNode transition, final int oldVersion) {
+		if (oldVersion <= 1) {
+			for (final String objectFieldName : new String[] {"params", "results", "destState"}) {
+				if (!transition.has(objectFieldName) || transition.get(objectFieldName).isNull()) {
+					transition.set(objectFieldName, transition.objectNode());
+				}
+			}
+			for (final String arrayFieldName : new String[] {"destStateNotChanged", "preds"}) {
+				if (!transition.has(arrayFieldName) || transition.get(arrayFieldName).isNull()) {
+					transition.set(arrayFieldName, transition.arrayNode());
 				}
+			}
+		}
 
+		if (oldVersion <= 2) {
+			transition.set("postconditions", transition.arrayNode());
+		}
 
-				return oldObject;
+		if (oldVersion <= 3) {
+			if(!transition.has("description")) {
+				transition.put("description", "");
 			}
-		});
+		}
+
+		if (oldVersion <= 4) {
+			for (final JsonNode postconditionNode : transition.get("postconditions")) {
+				final ObjectNode postcondition = (ObjectNode)postconditionNode;
+				String kind = postcondition.get("kind").asText();
+				if("PREDICATE".equals(kind)) {
+					postcondition.put("predicate", postcondition.get("value").asText());
+				} else if("ENABLEDNESS".equals(kind)) {
+					postcondition.put("operation", postcondition.get("value").asText());
+					postcondition.put("predicate", "");
+				}
+				postcondition.remove("value");
+			}
+		}
 	}
 
 	/**
@@ -120,4 +125,31 @@ public class TraceManager  {
 		this.jacksonManager.writeToFile(location, object);
 	}
 
+	/**
+	 * Open a trace file for reading the transitions one by one,
+	 * without loading the whole file into memory.
+	 * Only the metadata is read immediately.
+	 * 
+	 * @param path the path to load from
+	 * @return a reader for the transitions of the trace file, which must be closed after use
+	 */
+	public TraceJsonReader openReader(Path path) throws IOException {
+		final JsonMetadata metadata = this.jacksonManager.readMetadata(path);
+		return new TraceJsonReader(this.objectMapper, this.jacksonManager, this.jacksonManager.createParser(path), metadata);
+	}
+
+	/**
+	 * Open a trace file for writing the transitions one by one,
+	 * without keeping the whole trace in memory.
+	 * All information except for the transitions is taken from {@code header},
+	 * and the transitions of {@code header} (if any) are written first.
+	 * 
+	 * @param location where to save
+	 * @param header the trace information (description, machine information and metadata) to store
+	 * @return a writer for the transitions, which must be closed to complete the file
+	 */
+	public TraceJsonWriter openWriter(Path location, TraceJsonFile header) throws IOException {
+		return new TraceJsonWriter(this.objectMapper.writer(), this.jacksonManager.createGenerator(location, header.getMetadata()), header);
+	}
+
 }
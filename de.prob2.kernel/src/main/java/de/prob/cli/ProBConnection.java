@@ -6,37 +6,72 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.StandardCharsets;
 
 import com.google.common.base.MoreObjects;
 
+import de.prob.prolog.term.PrologTerm;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class ProBConnection {
 	private final Scanner inputScanner;
 	private final PrintWriter outputStream;
+	private final SocketChannel channel;
+	private final PrologAnswerReader answerReader;
 	private final Logger logger = LoggerFactory.getLogger(ProBConnection.class);
 	private volatile boolean shutingDown;
 	private final int port;
 
 	public ProBConnection(final int port) throws IOException {
+		this(port, false);
+	}
+
+	/**
+	 * Open a connection to a probcli socket server.
+	 * 
+	 * @param port the port on which probcli is listening
+	 * @param streaming if {@code true}, answers are read from a {@link SocketChannel}
+	 *     and parsed directly into {@link PrologTerm}s (see {@link #sendForTerm(String)}),
+	 *     otherwise answers are read as strings using a {@link Scanner}
+	 * @throws IOException if the connection could not be opened
+	 */
+	public ProBConnection(final int port, final boolean streaming) throws IOException {
 		this.port = port;
 
 		logger.debug("Connecting to port {}", this.port);
-		// The socket is closed in .disconnect() by closing its input/output streams.
-		@SuppressWarnings({"resource", "IOResourceOpenedButNotSafelyClosed", "SocketOpenedButNotSafelyClosed"})
-		final Socket socket = new Socket(InetAddress.getByName(null), this.port);
-		inputScanner = new Scanner(socket.getInputStream()).useDelimiter("\u0001"); // Prolog sends character 1 to terminate its outputs
-		outputStream = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+		if (streaming) {
+			channel = SocketChannel.open(new InetSocketAddress(InetAddress.getByName(null), this.port));
+			answerReader = new PrologAnswerReader(channel);
+			inputScanner = null;
+			outputStream = null;
+		} else {
+			// The socket is closed in .disconnect() by closing its input/output streams.
+			@SuppressWarnings({"resource", "IOResourceOpenedButNotSafelyClosed", "SocketOpenedButNotSafelyClosed"})
+			final Socket socket = new Socket(InetAddress.getByName(null), this.port);
+			inputScanner = new Scanner(socket.getInputStream()).useDelimiter("\u0001"); // Prolog sends character 1 to terminate its outputs
+			outputStream = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+			channel = null;
+			answerReader = null;
+		}
 		logger.debug("Connected");
 	}
 
+	public boolean isStreaming() {
+		return channel != null;
+	}
+
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(ProBConnection.class)
-				.add("port", port).toString();
+				.add("port", port)
+				.add("streaming", isStreaming())
+				.toString();
 	}
 
 	private static String shorten(final String s) {
@@ -44,7 +79,7 @@ public class ProBConnection {
 		return shortened.endsWith("\n") ? shortened.substring(0, shortened.length()-1) : shortened;
 	}
 
-	public String send(final String term) throws IOException {
+	private void sendQuery(final String term) throws IOException {
 		if (logger.isDebugEnabled()) {
 			logger.debug(shorten(term));
 		}
@@ -52,26 +87,80 @@ public class ProBConnection {
 			logger.error("Cannot send terms while probcli is shutting down: {}", term);
 			throw new IOException("ProB has been shut down. It does not accept messages.");
 		}
-		outputStream.println(term);
-		outputStream.flush();
+		if (isStreaming()) {
+			final ByteBuffer bytes = StandardCharsets.UTF_8.encode(term + "\n");
+			while (bytes.hasRemaining()) {
+				channel.write(bytes);
+			}
+		} else {
+			outputStream.println(term);
+			outputStream.flush();
+		}
+	}
+
+	public String send(final String term) throws IOException {
+		sendQuery(term);
 		String answer = getAnswer();
 		return answer;
 	}
 
 	public String getAnswer() throws IOException {
 		String input;
-		try {
-			input = inputScanner.next();
-		} catch (NoSuchElementException e) {
-			throw new IOException("ProB binary returned nothing - it might have crashed", e);
+		if (isStreaming()) {
+			input = answerReader.readRawAnswer();
+		} else {
+			try {
+				input = inputScanner.next();
+			} catch (NoSuchElementException e) {
+				throw new IOException("ProB binary returned nothing - it might have crashed", e);
+			}
 		}
 		logger.trace(input);
 		return input;
 	}
 
+	/**
+	 * Send a query and parse the answer directly into a {@link PrologTerm}.
+	 * Only supported by streaming connections.
+	 * 
+	 * @param term the query to send
+	 * @return the answer term
+	 * @throws IOException if the communication fails or the answer is malformed
+	 */
+	public PrologTerm sendForTerm(final String term) throws IOException {
+		sendQuery(term);
+		return getAnswerTerm();
+	}
+
+	/**
+	 * Receive the next answer and parse it directly into a {@link PrologTerm}.
+	 * Only supported by streaming connections.
+	 * 
+	 * @return the answer term
+	 * @throws IOException if the communication fails or the answer is malformed
+	 */
+	public PrologTerm getAnswerTerm() throws IOException {
+		if (!isStreaming()) {
+			throw new IllegalStateException("Answers can only be read as terms from a streaming connection");
+		}
+		final PrologTerm answer = answerReader.readAnswer();
+		if (logger.isTraceEnabled()) {
+			logger.trace(shorten(answer.toString()));
+		}
+		return answer;
+	}
+
 	public void disconnect() {
 		shutingDown = true;
-		inputScanner.close();
-		outputStream.close();
+		if (isStreaming()) {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				logger.warn("Failed to close connection to probcli", e);
+			}
+		} else {
+			inputScanner.close();
+			outputStream.close();
+		}
 	}
 }
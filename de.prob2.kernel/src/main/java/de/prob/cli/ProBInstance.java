@@ -10,6 +10,7 @@ import com.google.common.base.MoreObjects;
 
 import de.prob.animator.IConsoleOutputListener;
 import de.prob.exception.CliError;
+import de.prob.prolog.term.PrologTerm;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -158,6 +159,32 @@ public class ProBInstance {
 			throw new CliError("Error receiving from Prolog core.", e);
 		}
 	}
+
+	/**
+	 * @return whether answers from this instance can be read directly as terms
+	 *     using {@link #sendForTerm(String)} and {@link #receiveTerm()}
+	 */
+	public boolean isStreaming() {
+		return connection.isStreaming();
+	}
+
+	// like send, but parses Prolog's response directly into a term (only for streaming connections)
+	public PrologTerm sendForTerm(final String term) {
+		try {
+			return connection.sendForTerm(term);
+		} catch (IOException e) {
+			throw new CliError("Error during communication with Prolog core.", e);
+		}
+	}
+
+	// like receive, but parses Prolog's response directly into a term (only for streaming connections)
+	public PrologTerm receiveTerm() {
+		try {
+			return connection.getAnswerTerm();
+		} catch (IOException e) {
+			throw new CliError("Error receiving from Prolog core.", e);
+		}
+	}
 	
 	
 
@@ -165,6 +192,10 @@ public class ProBInstance {
 		return shuttingDown;
 	}
 
+	boolean isAlive() {
+		return !shuttingDown && process.isAlive();
+	}
+
 	@Override
 	public String toString() {
 		return MoreObjects.toStringHelper(ProBInstance.class)
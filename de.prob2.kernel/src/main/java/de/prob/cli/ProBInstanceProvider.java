@@ -9,11 +9,18 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.google.common.base.MoreObjects;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
@@ -44,8 +51,95 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 		}
 	}
 
+	/**
+	 * Statistics about the pool of pre-started instances.
+	 * All times are in milliseconds.
+	 */
+	public static final class PrewarmStatistics {
+		private final long hits;
+		private final long misses;
+		private final long spawnCount;
+		private final long totalSpawnTime;
+		private final long maxSpawnTime;
+		private final int warmInstances;
+
+		PrewarmStatistics(final long hits, final long misses, final long spawnCount, final long totalSpawnTime, final long maxSpawnTime, final int warmInstances) {
+			this.hits = hits;
+			this.misses = misses;
+			this.spawnCount = spawnCount;
+			this.totalSpawnTime = totalSpawnTime;
+			this.maxSpawnTime = maxSpawnTime;
+			this.warmInstances = warmInstances;
+		}
+
+		/**
+		 * @return number of {@link #get()} calls that were served by an already started instance
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return number of {@link #get()} calls that had to start a new instance synchronously
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * @return number of probcli instances started so far (both synchronously and in the background)
+		 */
+		public long getSpawnCount() {
+			return spawnCount;
+		}
+
+		public long getTotalSpawnTime() {
+			return totalSpawnTime;
+		}
+
+		public long getMaxSpawnTime() {
+			return maxSpawnTime;
+		}
+
+		public long getAverageSpawnTime() {
+			return spawnCount == 0 ? 0 : totalSpawnTime / spawnCount;
+		}
+
+		/**
+		 * @return number of started instances that are currently waiting to be handed out
+		 */
+		public int getWarmInstances() {
+			return warmInstances;
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("hits", hits)
+				.add("misses", misses)
+				.add("spawnCount", spawnCount)
+				.add("averageSpawnTime", getAverageSpawnTime())
+				.add("maxSpawnTime", maxSpawnTime)
+				.add("warmInstances", warmInstances)
+				.toString();
+		}
+	}
+
 	private static final Logger logger = LoggerFactory.getLogger(ProBInstanceProvider.class);
 
+	/**
+	 * Name of the system property that sets the initial number of probcli instances
+	 * that are started in the background ahead of time (default 0, i. e. no pre-started instances).
+	 * The instances are only started once the first instance is requested using {@link #get()}.
+	 */
+	public static final String PREWARM_SIZE_PROPERTY = "prob.prewarmInstances";
+
+	/**
+	 * Name of the system property that controls whether new connections read answers
+	 * using the streaming term reader instead of the string-based answer parser (default {@code false}).
+	 */
+	public static final String STREAMING_ANSWERS_PROPERTY = "prob.streamingAnswers";
+
 	static final Pattern CLI_PORT_PATTERN = Pattern.compile("^.*Port: (\\d+)$");
 	static final Pattern CLI_USER_INTERRUPT_REFERENCE_PATTERN = Pattern.compile("^.*user interrupt reference id: *(\\d+|off) *$");
 
@@ -54,19 +148,157 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 	private final Collection<Process> runningProcesses = new CopyOnWriteArrayList<>();
 	private final Collection<ProBInstance> runningInstances = new CopyOnWriteArrayList<>();
 
+	private final BlockingQueue<ProBInstance> warmInstances = new LinkedBlockingQueue<>();
+	private final AtomicInteger pendingSpawns = new AtomicInteger();
+	private volatile int prewarmTargetSize;
+	private volatile boolean streamingAnswers;
+	private ExecutorService prewarmExecutor;
+	private final AtomicLong prewarmHits = new AtomicLong();
+	private final AtomicLong prewarmMisses = new AtomicLong();
+	private final AtomicLong spawnCount = new AtomicLong();
+	private final AtomicLong totalSpawnTime = new AtomicLong();
+	private final AtomicLong maxSpawnTime = new AtomicLong();
+
 	@Inject
 	public ProBInstanceProvider(@Home final String home, final OsSpecificInfo osInfo, final Installer installer) {
 		this.home = home;
 		this.osInfo = osInfo;
 
-		Runtime.getRuntime().addShutdownHook(new Thread(this::shutdownAll, "Prolog Process Destroyer"));
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			this.stopPrewarming();
+			this.shutdownAll();
+		}, "Prolog Process Destroyer"));
 
 		installer.ensureCLIsInstalled();
+
+		this.streamingAnswers = Boolean.getBoolean(STREAMING_ANSWERS_PROPERTY);
+		// Instances are pre-started on the first get() call, so that no background work is submitted before construction has finished.
+		this.prewarmTargetSize = Integer.getInteger(PREWARM_SIZE_PROPERTY, 0);
 	}
 
 	@Override
 	public ProBInstance get() {
-		return startProlog();
+		ProBInstance instance;
+		while ((instance = warmInstances.poll()) != null) {
+			if (instance.isAlive()) {
+				prewarmHits.incrementAndGet();
+				this.replenishWarmInstances();
+				return instance;
+			}
+			logger.warn("Discarding pre-started {} because it is no longer running", instance);
+			instance.shutdown();
+		}
+		if (prewarmTargetSize > 0) {
+			prewarmMisses.incrementAndGet();
+		}
+		instance = this.startProlog();
+		this.replenishWarmInstances();
+		return instance;
+	}
+
+	/**
+	 * Get the number of probcli instances that are kept started in the background,
+	 * so that {@link #get()} can return them immediately.
+	 * 
+	 * @return the number of pre-started probcli instances to keep available
+	 */
+	public int getPrewarmTargetSize() {
+		return prewarmTargetSize;
+	}
+
+	/**
+	 * Set the number of probcli instances that are kept started in the background,
+	 * so that {@link #get()} can return them immediately.
+	 * Missing instances are started asynchronously.
+	 * If the size is reduced, any excess pre-started instances are shut down.
+	 * 
+	 * @param prewarmTargetSize the number of pre-started probcli instances to keep available (0 to disable)
+	 */
+	public void setPrewarmTargetSize(final int prewarmTargetSize) {
+		if (prewarmTargetSize < 0) {
+			throw new IllegalArgumentException("Pre-warm target size must not be negative: " + prewarmTargetSize);
+		}
+		this.prewarmTargetSize = prewarmTargetSize;
+		ProBInstance excess;
+		while (warmInstances.size() > prewarmTargetSize && (excess = warmInstances.poll()) != null) {
+			excess.shutdown();
+		}
+		this.replenishWarmInstances();
+	}
+
+	/**
+	 * Stop starting probcli instances in the background and shut down all pre-started instances that have not been handed out yet.
+	 * Instances that were already returned by {@link #get()} are not affected.
+	 * Pre-starting can be enabled again using {@link #setPrewarmTargetSize(int)}.
+	 */
+	public void stopPrewarming() {
+		synchronized (this) {
+			this.prewarmTargetSize = 0;
+			if (prewarmExecutor != null) {
+				// Spawns that never started are not counted as pending anymore.
+				pendingSpawns.addAndGet(-prewarmExecutor.shutdownNow().size());
+				prewarmExecutor = null;
+			}
+		}
+		ProBInstance excess;
+		while ((excess = warmInstances.poll()) != null) {
+			excess.shutdown();
+		}
+	}
+
+	public boolean isStreamingAnswers() {
+		return streamingAnswers;
+	}
+
+	/**
+	 * Select whether connections to newly started instances parse answers directly into terms
+	 * (see {@link ProBConnection#ProBConnection(int, boolean)}).
+	 * This does not affect instances that have already been started,
+	 * including pre-started instances that have not been handed out yet.
+	 * 
+	 * @param streamingAnswers whether new connections should use the streaming term reader
+	 */
+	public void setStreamingAnswers(final boolean streamingAnswers) {
+		this.streamingAnswers = streamingAnswers;
+	}
+
+	public PrewarmStatistics getPrewarmStatistics() {
+		return new PrewarmStatistics(prewarmHits.get(), prewarmMisses.get(), spawnCount.get(), totalSpawnTime.get(), maxSpawnTime.get(), warmInstances.size());
+	}
+
+	private synchronized ExecutorService getPrewarmExecutor() {
+		if (prewarmExecutor == null) {
+			prewarmExecutor = Executors.newSingleThreadExecutor(r -> {
+				final Thread thread = new Thread(r, "ProB Instance Pre-Starter");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return prewarmExecutor;
+	}
+
+	// Synchronized so that the executor cannot be shut down by stopPrewarming() while tasks are being submitted.
+	private synchronized void replenishWarmInstances() {
+		while (warmInstances.size() + pendingSpawns.get() < prewarmTargetSize) {
+			pendingSpawns.incrementAndGet();
+			getPrewarmExecutor().execute(() -> {
+				try {
+					if (warmInstances.size() < prewarmTargetSize) {
+						final ProBInstance instance = this.startProlog();
+						// The target size might have been reduced while the instance was starting.
+						if (warmInstances.size() < prewarmTargetSize) {
+							warmInstances.add(instance);
+						} else {
+							instance.shutdown();
+						}
+					}
+				} catch (RuntimeException e) {
+					logger.error("Failed to pre-start a probcli instance", e);
+				} finally {
+					pendingSpawns.decrementAndGet();
+				}
+			});
+		}
 	}
 
 	void instanceWasShutDown(ProBInstance instance, Process process) {
@@ -74,7 +306,15 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 		runningProcesses.remove(process);
 	}
 
+	/**
+	 * Shut down all running probcli instances, including pre-started ones.
+	 * This does not disable pre-starting - if a {@linkplain #setPrewarmTargetSize(int) pre-warm target size} is set,
+	 * new instances are started in the background afterwards.
+	 * Use {@link #stopPrewarming()} to disable pre-starting.
+	 */
 	public void shutdownAll() {
+		warmInstances.clear();
+
 		for (ProBInstance instance : runningInstances) {
 			// This also removes the instance and its process from the respective lists.
 			instance.shutdown();
@@ -104,6 +344,8 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 				logger.warn("Orphaned probcli process {} is taking more than 1 second to exit after being destroyed - ignoring", process);
 			}
 		}
+
+		this.replenishWarmInstances();
 	}
 
 	Process makeProcess() {
@@ -143,6 +385,7 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 	}
 
 	private ProBInstance startProlog() {
+		final long startTime = System.currentTimeMillis();
 		Process process = makeProcess();
 		final BufferedReader stream = new BufferedReader(new InputStreamReader(
 				process.getInputStream(), StandardCharsets.UTF_8));
@@ -164,13 +407,19 @@ public final class ProBInstanceProvider implements Provider<ProBInstance> {
 
 		final ProBConnection connection;
 		try {
-			connection = new ProBConnection(cliInformation.getPort());
+			connection = new ProBConnection(cliInformation.getPort(), streamingAnswers);
 		} catch (IOException e) {
 			throw new CliError("Error while opening socket connection to CLI", e);
 		}
 		ProBInstance cli = ProBInstance.create(process, stream,
 				cliInformation.getUserInterruptReference(), connection, home, osInfo, this);
 		runningInstances.add(cli);
+
+		final long spawnTime = System.currentTimeMillis() - startTime;
+		spawnCount.incrementAndGet();
+		totalSpawnTime.addAndGet(spawnTime);
+		maxSpawnTime.accumulateAndGet(spawnTime, Math::max);
+		logger.debug("Started {} in {} ms", cli, spawnTime);
 		return cli;
 	}
 
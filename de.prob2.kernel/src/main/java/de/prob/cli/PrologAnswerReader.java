@@ -0,0 +1,379 @@
+package de.prob.cli;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import de.prob.prolog.term.CompoundPrologTerm;
+import de.prob.prolog.term.FloatPrologTerm;
+import de.prob.prolog.term.IntegerPrologTerm;
+import de.prob.prolog.term.ListPrologTerm;
+import de.prob.prolog.term.PrologTerm;
+import de.prob.prolog.term.VariablePrologTerm;
+
+/**
+ * <p>
+ * Reads answers from probcli directly from a byte channel into {@link PrologTerm}s.
+ * </p>
+ * <p>
+ * Unlike the {@link java.util.Scanner}-based reading in {@link ProBConnection},
+ * this does not build an intermediate {@link String} for the whole answer
+ * or an intermediate SableCC AST.
+ * The read buffer and the buffer for atom/number text are reused for all answers.
+ * </p>
+ * <p>
+ * The answers are expected to be written in canonical Prolog syntax (no operators),
+ * with every answer terminated by the character {@code \u0001}.
+ * </p>
+ */
+final class PrologAnswerReader {
+	private static final byte ANSWER_TERMINATOR = 1;
+	private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	private static final String SYMBOL_CHARS = "+-*/\\^<>=~:.?@#&$";
+
+	private final ReadableByteChannel channel;
+	private final ByteBuffer buffer;
+	private byte[] text;
+	private int textLength;
+
+	PrologAnswerReader(final ReadableByteChannel channel) {
+		this(channel, DEFAULT_BUFFER_SIZE);
+	}
+
+	PrologAnswerReader(final ReadableByteChannel channel, final int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.flip();
+		this.text = new byte[256];
+		this.textLength = 0;
+	}
+
+	private void fill() throws IOException {
+		buffer.compact();
+		try {
+			int read;
+			do {
+				read = channel.read(buffer);
+			} while (read == 0);
+			if (read < 0) {
+				throw new EOFException("ProB binary returned nothing - it might have crashed");
+			}
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	private int peek() throws IOException {
+		if (!buffer.hasRemaining()) {
+			fill();
+		}
+		return buffer.get(buffer.position()) & 0xff;
+	}
+
+	private int next() throws IOException {
+		if (!buffer.hasRemaining()) {
+			fill();
+		}
+		return buffer.get() & 0xff;
+	}
+
+	private void expect(final char expected) throws IOException {
+		final int c = next();
+		if (c != expected) {
+			throw new IOException("Malformed answer from ProB: expected '" + expected + "' but got '" + (char)c + "'");
+		}
+	}
+
+	private int skipWhitespace() throws IOException {
+		int c = peek();
+		while (c != ANSWER_TERMINATOR && c <= ' ') {
+			next();
+			c = peek();
+		}
+		return c;
+	}
+
+	private void appendText(final int b) {
+		if (textLength == text.length) {
+			text = Arrays.copyOf(text, text.length * 2);
+		}
+		text[textLength++] = (byte)b;
+	}
+
+	private String takeText() {
+		final String s = new String(text, 0, textLength, StandardCharsets.UTF_8);
+		textLength = 0;
+		return s;
+	}
+
+	private static boolean isAlphanumeric(final int c) {
+		// Bytes >= 0x80 are part of multi-byte UTF-8 sequences, which can only occur in (Unicode) letters here.
+		return c >= 0x80 || c == '_' || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+	}
+
+	private static boolean isSymbolChar(final int c) {
+		return c < 0x80 && SYMBOL_CHARS.indexOf(c) >= 0;
+	}
+
+	/**
+	 * Read a single complete answer, including its terminator character.
+	 *
+	 * @return the answer term
+	 * @throws IOException if the connection fails or the answer is malformed
+	 */
+	PrologTerm readAnswer() throws IOException {
+		final PrologTerm term = readTerm();
+		int c = skipWhitespace();
+		if (c == '.') {
+			next();
+			c = skipWhitespace();
+		}
+		if (c != ANSWER_TERMINATOR) {
+			throw new IOException("Malformed answer from ProB: unexpected character '" + (char)c + "' after end of term");
+		}
+		next();
+		return term;
+	}
+
+	/**
+	 * Read a single complete answer as raw text, without parsing it.
+	 * This is used for callers that still need the answer as a {@link String}.
+	 *
+	 * @return the raw answer text, without the terminator character
+	 * @throws IOException if the connection fails
+	 */
+	String readRawAnswer() throws IOException {
+		int c;
+		while ((c = next()) != ANSWER_TERMINATOR) {
+			appendText(c);
+		}
+		return takeText();
+	}
+
+	private PrologTerm readTerm() throws IOException {
+		final int c = skipWhitespace();
+		if (c == '[') {
+			next();
+			if (skipWhitespace() == ']') {
+				next();
+				return new ListPrologTerm(new PrologTerm[0]);
+			}
+			return readListElements();
+		} else if (c == '{') {
+			next();
+			skipWhitespace();
+			expect('}');
+			return readArgumentsIfPresent("{}");
+		} else if (c == '\'') {
+			next();
+			return readArgumentsIfPresent(readQuotedText());
+		} else if (c == '_' || (c >= 'A' && c <= 'Z')) {
+			while (isAlphanumeric(peek())) {
+				appendText(next());
+			}
+			return new VariablePrologTerm(takeText());
+		} else if (c >= '0' && c <= '9') {
+			return readNumber();
+		} else if (c == '-') {
+			next();
+			final int afterMinus = peek();
+			if (afterMinus >= '0' && afterMinus <= '9') {
+				appendText('-');
+				return readNumber();
+			}
+			appendText('-');
+			while (isSymbolChar(peek())) {
+				appendText(next());
+			}
+			return readArgumentsIfPresent(takeText());
+		} else if (c >= 'a' && c <= 'z' || c >= 0x80) {
+			while (isAlphanumeric(peek())) {
+				appendText(next());
+			}
+			return readArgumentsIfPresent(takeText());
+		} else if (isSymbolChar(c)) {
+			while (isSymbolChar(peek())) {
+				appendText(next());
+			}
+			return readArgumentsIfPresent(takeText());
+		} else if (c == '!' || c == ';' || c == ',' || c == '|') {
+			next();
+			return readArgumentsIfPresent(String.valueOf((char)c));
+		} else {
+			throw new IOException("Malformed answer from ProB: unexpected character '" + (char)c + "'");
+		}
+	}
+
+	private PrologTerm readNumber() throws IOException {
+		while (peek() >= '0' && peek() <= '9') {
+			appendText(next());
+		}
+		boolean isFloat = false;
+		if (peek() == '.') {
+			// Only treat the dot as a decimal point if a digit follows.
+			// Otherwise it can only be the (optional) full stop after the whole answer,
+			// so it is fine to consume it here.
+			next();
+			final int afterDot = peek();
+			if (afterDot >= '0' && afterDot <= '9') {
+				isFloat = true;
+				appendText('.');
+				while (peek() >= '0' && peek() <= '9') {
+					appendText(next());
+				}
+				if (peek() == 'e' || peek() == 'E') {
+					appendText(next());
+					if (peek() == '+' || peek() == '-') {
+						appendText(next());
+					}
+					while (peek() >= '0' && peek() <= '9') {
+						appendText(next());
+					}
+				}
+			}
+		}
+		final String number = takeText();
+		if (isFloat) {
+			return new FloatPrologTerm(Double.parseDouble(number));
+		} else if (number.length() < 19) {
+			return new IntegerPrologTerm(Long.parseLong(number));
+		} else {
+			return new IntegerPrologTerm(new BigInteger(number));
+		}
+	}
+
+	private String readQuotedText() throws IOException {
+		while (true) {
+			int c = next();
+			if (c == '\'') {
+				if (peek() == '\'') {
+					next();
+					appendText('\'');
+				} else {
+					return takeText();
+				}
+			} else if (c == '\\') {
+				c = next();
+				switch (c) {
+					case 'n': appendText('\n'); break;
+					case 't': appendText('\t'); break;
+					case 'r': appendText('\r'); break;
+					case 'a': appendText(7); break;
+					case 'b': appendText('\b'); break;
+					case 'f': appendText('\f'); break;
+					case 'v': appendText(11); break;
+					case 'e': appendText(27); break;
+					case 'd': appendText(127); break;
+					case 's': appendText(' '); break;
+					case 'z': break;
+					case '\n': break; // line continuation
+					case 'x': appendCodePoint(readEscapedCode(16)); break;
+					default:
+						if (c >= '0' && c <= '7') {
+							appendCodePoint(readEscapedCode(8, c));
+						} else {
+							// \\, \', \", \` and anything unknown stand for the character itself.
+							appendText(c);
+						}
+				}
+			} else {
+				appendText(c);
+			}
+		}
+	}
+
+	private int readEscapedCode(final int radix) throws IOException {
+		return readEscapedCode(radix, -1);
+	}
+
+	private int readEscapedCode(final int radix, final int firstDigit) throws IOException {
+		int code = firstDigit < 0 ? 0 : Character.digit(firstDigit, radix);
+		int c;
+		while ((c = next()) != '\\') {
+			final int digit = Character.digit(c, radix);
+			if (digit < 0) {
+				throw new IOException("Malformed answer from ProB: invalid character '" + (char)c + "' in escape sequence");
+			}
+			code = code * radix + digit;
+		}
+		return code;
+	}
+
+	private void appendCodePoint(final int codePoint) {
+		final byte[] bytes = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+		for (final byte b : bytes) {
+			appendText(b);
+		}
+	}
+
+	private PrologTerm readArgumentsIfPresent(final String functor) throws IOException {
+		if (peek() != '(') {
+			return new CompoundPrologTerm(functor);
+		}
+		next();
+		final List<PrologTerm> arguments = new ArrayList<>();
+		while (true) {
+			arguments.add(readTerm());
+			final int c = skipWhitespace();
+			next();
+			if (c == ')') {
+				break;
+			} else if (c != ',') {
+				throw new IOException("Malformed answer from ProB: expected ',' or ')' but got '" + (char)c + "'");
+			}
+		}
+		if (arguments.size() == 2 && (".".equals(functor) || "[|]".equals(functor))) {
+			// Old-style list cell '.'(Head, Tail)
+			return consList(functor, arguments.subList(0, 1), arguments.get(1));
+		}
+		return new CompoundPrologTerm(functor, arguments.toArray(new PrologTerm[0]));
+	}
+
+	/**
+	 * Append a tail to list elements.
+	 * Like in the SableCC-based parser, the result is only a {@link ListPrologTerm} if the tail is a proper list.
+	 * Partial lists (e. g. with a variable as tail) are represented as nested list cell compound terms.
+	 */
+	private static PrologTerm consList(final String functor, final List<PrologTerm> elements, final PrologTerm tail) {
+		if (tail instanceof ListPrologTerm || tail.hasFunctor("[]", 0)) {
+			final List<PrologTerm> allElements = new ArrayList<>(elements);
+			if (tail instanceof ListPrologTerm) {
+				for (final PrologTerm element : (ListPrologTerm)tail) {
+					allElements.add(element);
+				}
+			}
+			return new ListPrologTerm(allElements.toArray(new PrologTerm[0]));
+		}
+		PrologTerm list = tail;
+		for (int i = elements.size() - 1; i >= 0; i--) {
+			list = new CompoundPrologTerm(functor, elements.get(i), list);
+		}
+		return list;
+	}
+
+	private PrologTerm readListElements() throws IOException {
+		final List<PrologTerm> elements = new ArrayList<>();
+		while (true) {
+			elements.add(readTerm());
+			final int c = skipWhitespace();
+			next();
+			if (c == ']') {
+				break;
+			} else if (c == '|') {
+				final PrologTerm tail = readTerm();
+				skipWhitespace();
+				expect(']');
+				return consList(".", elements, tail);
+			} else if (c != ',') {
+				throw new IOException("Malformed answer from ProB: expected ',' or ']' but got '" + (char)c + "'");
+			}
+		}
+		return new ListPrologTerm(elements.toArray(new PrologTerm[0]));
+	}
+}
@@ -4,6 +4,9 @@ import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Objects;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -28,6 +31,11 @@ import org.slf4j.LoggerFactory;
  * (first to extract the format version, then again to read the actual data),
  * which is not always possible with arbitrary readers.
  * </p>
+ * <p>
+ * Besides reading and writing whole objects,
+ * this class also provides parsers and generators for reading and writing very large files incrementally
+ * (see {@link #readMetadata(Path)}, {@link #createParser(Path)} and {@link #createGenerator(Path, JsonMetadata)}).
+ * </p>
  */
 public final class JacksonManager<T extends HasMetadata> {
 	public static class Context<T extends HasMetadata> {
@@ -135,8 +143,32 @@ public final class JacksonManager<T extends HasMetadata> {
 		objectMapper.registerModule(new JavaTimeModule());
 	}
 	
+	/**
+	 * Find the metadata (in new format) in the root object without parsing the rest of the root object.
+	 * All other fields are skipped without building any objects.
+	 * The search stops as soon as the metadata field has been read,
+	 * so if the metadata is the first field of the root object
+	 * (which is recommended for files written incrementally using {@link #createGenerator(Path, JsonMetadata)}),
+	 * only the first tokens of the file are read.
+	 * 
+	 * @param parser the parser positioned before the root object
+	 * @return the metadata, or {@code null} if the root object has no metadata field
+	 *     (in that case the parser is positioned at the end of the root object)
+	 */
 	private static JsonMetadata extractNewMetadata(final JsonParser parser) throws IOException {
-		return METADATA_OBJECT_MAPPER.readValue(parser, ObjectWithJustMetadata.class).getMetadata();
+		final JsonToken rootToken = parser.nextToken();
+		if (rootToken != JsonToken.START_OBJECT) {
+			throw new JsonParseException(parser, "Expected top-level JSON data to be an object, but got " + rootToken);
+		}
+		while (parser.nextToken() == JsonToken.FIELD_NAME) {
+			final String fieldName = parser.getCurrentName();
+			final JsonToken valueToken = parser.nextToken();
+			if ("metadata".equals(fieldName) && valueToken != JsonToken.VALUE_NULL) {
+				return METADATA_OBJECT_MAPPER.readValue(parser, JsonMetadata.class);
+			}
+			parser.skipChildren();
+		}
+		return null;
 	}
 	
 	private static ProB2UI1Dot0Metadata extractOldMetadataIfPresent(final JsonParser parser) throws IOException {
@@ -193,62 +225,114 @@ public final class JacksonManager<T extends HasMetadata> {
 	}
 	
 	/**
-	 * Read an object from a JSON file.
+	 * Read only the metadata of a JSON file.
 	 * The file type and version number are checked against the settings in the context.
-	 *
+	 * The rest of the file is skipped without parsing it into objects,
+	 * and reading stops as soon as the metadata has been found.
+	 * 
 	 * @param path the path of the JSON file to read
-	 * @return the read object
+	 * @return the metadata of the file
 	 */
-	public T readFromFile(final Path path) throws IOException {
+	public JsonMetadata readMetadata(final Path path) throws IOException {
 		LOGGER.trace("Attempting to load JSON data of type {}, current version {}", this.getContext().fileType, this.getContext().currentFormatVersion);
 		final JsonMetadata metadata;
 		try (final JsonParser parserForMetadata = METADATA_OBJECT_MAPPER.createParser(path.toFile())) {
 			metadata = this.readAndCheckMetadata(parserForMetadata);
 		}
+		if (metadata.getFormatVersion() > this.getContext().currentFormatVersion) {
+			// Check that the file format version isn't newer than we support.
+			throw new InvalidJsonFormatException("JSON data uses format version " + metadata.getFormatVersion() + ", which is newer than the newest supported version (" + this.getContext().currentFormatVersion + ")");
+		}
+		return metadata;
+	}
+	
+	/**
+	 * Read an object from a JSON file.
+	 * The file type and version number are checked against the settings in the context.
+	 *
+	 * @param path the path of the JSON file to read
+	 * @return the read object
+	 */
+	public T readFromFile(final Path path) throws IOException {
+		final JsonMetadata metadata = this.readMetadata(path);
 		
-		T parsed;
 		try (final JsonParser parserForRootObject = this.getContext().objectMapper.createParser(path.toFile())) {
-			if (metadata.getFormatVersion() > this.getContext().currentFormatVersion) {
-				// Check that the file format version isn't newer than we support.
-				throw new InvalidJsonFormatException("JSON data uses format version " + metadata.getFormatVersion() + ", which is newer than the newest supported version (" + this.getContext().currentFormatVersion + ")");
-			} else if (metadata.getFormatVersion() < this.getContext().currentFormatVersion) {
+			if (metadata.getFormatVersion() < this.getContext().currentFormatVersion) {
 				// If the file format version is older than the current version,
 				// parse it into a tree representation first,
 				// then ask the context to update the tree representation to the current format
 				// and finally parse the updated tree.
-				LOGGER.info("Converting JSON data from old version {} to current version {}", metadata.getFormatVersion(), this.getContext().currentFormatVersion);
-				final ObjectNode oldRootObject = this.getContext().objectMapper.readTree(parserForRootObject);
-				final ObjectNode updatedRootObject = this.getContext().convertOldData(oldRootObject, metadata.getFormatVersion());
-				parsed = this.getContext().objectMapper.treeToValue(updatedRootObject, this.getContext().clazz);
+				return this.readFromTree(this.getContext().objectMapper.readTree(parserForRootObject), metadata);
 			} else {
 				// If the file format version is equal to the current version,
 				// no update/conversion is necessary,
 				// so we can simply load the root object directly.
 				assert metadata.getFormatVersion() == this.getContext().currentFormatVersion;
-				parsed = this.getContext().objectMapper.readValue(parserForRootObject, this.getContext().clazz);
+				return this.withMissingMetadata(this.getContext().objectMapper.readValue(parserForRootObject, this.getContext().clazz), metadata);
 			}
 		}
-		
+	}
+	
+	/**
+	 * Convert a tree representation of the root object to an object,
+	 * after updating it to the current format version if necessary.
+	 * This is used when the root object has not been read directly from a file,
+	 * e. g. when reading a file incrementally.
+	 * 
+	 * @param rootObject the tree representation of the root object, may be modified in place
+	 * @param metadata the metadata of the data, as returned by {@link #readMetadata(Path)}
+	 * @return the converted object
+	 */
+	public T readFromTree(final ObjectNode rootObject, final JsonMetadata metadata) throws IOException {
+		final ObjectNode updatedRootObject;
+		if (metadata.getFormatVersion() < this.getContext().currentFormatVersion) {
+			LOGGER.info("Converting JSON data from old version {} to current version {}", metadata.getFormatVersion(), this.getContext().currentFormatVersion);
+			updatedRootObject = this.getContext().convertOldData(rootObject, metadata.getFormatVersion());
+		} else {
+			updatedRootObject = rootObject;
+		}
+		return this.withMissingMetadata(this.getContext().objectMapper.treeToValue(updatedRootObject, this.getContext().clazz), metadata);
+	}
+	
+	private T withMissingMetadata(final T parsed, final JsonMetadata metadata) {
 		// If the file didn't contain metadata in the new format,
 		// the parsed object's metadata will still be null.
 		// In that case we need to manually add the previously converted metadata to the object.
 		if (parsed.getMetadata() == null) {
 			assert metadata.getFormatVersion() == 0;
-			parsed = this.getContext().clazz.cast(parsed.withMetadata(metadata));
+			return this.getContext().clazz.cast(parsed.withMetadata(metadata));
 		}
-		
 		return parsed;
 	}
 	
 	/**
-	 * Write an object to a JSON file.
-	 * The file type and version number in the object's metadata must match the settings in the context.
-	 *
+	 * Create a parser for reading a JSON file incrementally,
+	 * using the context's {@link ObjectMapper} for reading values.
+	 * The metadata should be read and checked using {@link #readMetadata(Path)} first.
+	 * 
+	 * @param path the path of the JSON file to read
+	 * @return a new parser, which must be closed by the caller
+	 */
+	public JsonParser createParser(final Path path) throws IOException {
+		return this.getContext().objectMapper.createParser(path.toFile());
+	}
+	
+	/**
+	 * Create a generator for writing a JSON file incrementally,
+	 * with the same settings (formatting etc.) as {@link #writeToFile(Path, HasMetadata)}.
+	 * The caller is responsible for writing the root object, including the metadata.
+	 * The file type and version number in the metadata must match the settings in the context.
+	 * 
 	 * @param path the path of the JSON file to write
-	 * @param object the object to write
+	 * @param metadata the metadata that will be written to the file
+	 * @return a new generator, which must be closed by the caller
 	 */
-	public void writeToFile(final Path path, final T object) throws IOException {
-		final JsonMetadata metadata = object.getMetadata();
+	public JsonGenerator createGenerator(final Path path, final JsonMetadata metadata) throws IOException {
+		this.checkMetadataForWriting(metadata);
+		return this.getContext().objectMapper.writer().createGenerator(path.toFile(), JsonEncoding.UTF8);
+	}
+	
+	private void checkMetadataForWriting(final JsonMetadata metadata) {
 		if (metadata == null) {
 			throw new IllegalArgumentException("Object must have metadata set");
 		}
@@ -266,6 +350,17 @@ public final class JacksonManager<T extends HasMetadata> {
 				this.getContext().currentFormatVersion
 			));
 		}
+	}
+	
+	/**
+	 * Write an object to a JSON file.
+	 * The file type and version number in the object's metadata must match the settings in the context.
+	 *
+	 * @param path the path of the JSON file to write
+	 * @param object the object to write
+	 */
+	public void writeToFile(final Path path, final T object) throws IOException {
+		this.checkMetadataForWriting(object.getMetadata());
 		this.getContext().objectMapper.writeValue(path.toFile(), object);
 	}
 }
@@ -0,0 +1,79 @@
+package de.prob.scripting;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import groovy.lang.GroovyClassLoader;
+
+import org.codehaus.groovy.control.CompilationFailedException;
+
+/**
+ * <p>
+ * A {@link GroovyClassLoader} that caches the classes compiled from script texts,
+ * keyed by a hash of the script text.
+ * </p>
+ * <p>
+ * The Groovy script engine only caches compiled scripts per engine instance,
+ * but {@link ScriptEngineProvider} creates a new engine for every {@link ScriptEngineProvider#get()} call.
+ * All engines from the same provider share one instance of this class loader,
+ * so a script (including the init script) that has already been run in any engine
+ * is not parsed and compiled again.
+ * </p>
+ * <p>
+ * {@link GroovyClassLoader} itself keeps all classes it has defined,
+ * so classes whose entries are evicted from the cache are also removed from the class loader's own class cache.
+ * Otherwise the classes of all distinct scripts ever run would stay loaded as long as the provider exists.
+ * </p>
+ */
+final class CachingGroovyClassLoader extends GroovyClassLoader {
+	private final Cache<String, Class<?>> compiledScripts;
+
+	CachingGroovyClassLoader(final ClassLoader parent, final int maxCachedScripts) {
+		super(parent);
+		this.compiledScripts = CacheBuilder.newBuilder()
+			.maximumSize(maxCachedScripts)
+			.recordStats()
+			.<String, Class<?>>removalListener(this::compiledScriptRemoved)
+			.build();
+	}
+
+	private void compiledScriptRemoved(final RemovalNotification<String, Class<?>> notification) {
+		final Class<?> scriptClass = notification.getValue();
+		if (scriptClass == null) {
+			return;
+		}
+		// Also remove the classes generated for closures and inner classes of the script.
+		final String name = scriptClass.getName();
+		for (final Class<?> loadedClass : this.getLoadedClasses()) {
+			final String loadedName = loadedClass.getName();
+			if (loadedName.equals(name) || loadedName.startsWith(name + '$')) {
+				this.removeClassCacheEntry(loadedName);
+			}
+		}
+	}
+
+	@Override
+	public Class<?> parseClass(final String text, final String fileName) throws CompilationFailedException {
+		final String key = Hashing.sha256().hashString(text, StandardCharsets.UTF_8).toString();
+		try {
+			return this.compiledScripts.get(key, () -> super.parseClass(text, fileName));
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				// Usually a CompilationFailedException, which the script engine turns into a ScriptException.
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+	CacheStats getCacheStats() {
+		return this.compiledScripts.stats();
+	}
+}
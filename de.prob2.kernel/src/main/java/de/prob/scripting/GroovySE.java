@@ -6,6 +6,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.function.LongConsumer;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -24,6 +25,7 @@ import org.slf4j.LoggerFactory;
 public class GroovySE implements ScriptEngine {
 
 	private final ScriptEngine groovy;
+	private final LongConsumer evaluationTimeListener;
 	private final Logger logger = LoggerFactory.getLogger(GroovySE.class);
 
 	private static final String IMPORTS =
@@ -39,25 +41,42 @@ public class GroovySE implements ScriptEngine {
 		+ '\n'
 	;
 
+	// The init script never changes, so it only needs to be read once.
+	private static String initscript;
+
 	public GroovySE(final ScriptEngine engine) {
+		this(engine, nanos -> {});
+	}
+
+	/**
+	 * @param engine the Groovy engine to wrap
+	 * @param evaluationTimeListener called with the time in nanoseconds taken by every evaluation of a script
+	 */
+	GroovySE(final ScriptEngine engine, final LongConsumer evaluationTimeListener) {
 		groovy = engine;
+		this.evaluationTimeListener = evaluationTimeListener;
 
-		final String initscript;
-		try (
-			final InputStream is = this.getClass().getResourceAsStream("/de/prob/scripting/initscript.groovy");
-			final Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
-		) {
-			initscript = CharStreams.toString(reader);
-		} catch (IOException e) {
-			throw new ProBError("Could not read initscript", e);
-		}
 		try {
-			groovy.eval(IMPORTS + initscript);
+			groovy.eval(IMPORTS + getInitscript());
 		} catch (ScriptException e) {
 			throw new ProBError("initscript threw an exception", e);
 		}
 	}
 
+	private static synchronized String getInitscript() {
+		if (initscript == null) {
+			try (
+				final InputStream is = GroovySE.class.getResourceAsStream("/de/prob/scripting/initscript.groovy");
+				final Reader reader = new InputStreamReader(is, StandardCharsets.UTF_8);
+			) {
+				initscript = CharStreams.toString(reader);
+			} catch (IOException e) {
+				throw new ProBError("Could not read initscript", e);
+			}
+		}
+		return initscript;
+	}
+
 	@Override
 	public Object eval(final String script, final ScriptContext context)
 			throws ScriptException {
@@ -65,7 +84,13 @@ public class GroovySE implements ScriptEngine {
 		if (groovy.get("__console") == null) {
 			groovy.put("__console", buff);
 		}
-		Object result = groovy.eval(IMPORTS + script, context);
+		final long start = System.nanoTime();
+		Object result;
+		try {
+			result = groovy.eval(IMPORTS + script, context);
+		} finally {
+			evaluationTimeListener.accept(System.nanoTime() - start);
+		}
 		if (result == null) {
 			return "null";
 		}
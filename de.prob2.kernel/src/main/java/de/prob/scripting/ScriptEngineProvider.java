@@ -1,10 +1,20 @@
 package de.prob.scripting;
 
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 import javax.script.Bindings;
 import javax.script.ScriptContext;
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineManager;
 
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.CacheStats;
 import com.google.inject.Inject;
 import com.google.inject.Injector;
 import com.google.inject.Provider;
@@ -12,12 +22,158 @@ import com.google.inject.Singleton;
 
 import de.prob.statespace.AnimationSelector;
 
+import org.codehaus.groovy.jsr223.GroovyScriptEngineImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 @Singleton
 public class ScriptEngineProvider implements Provider<ScriptEngine> {
+	/**
+	 * Statistics about the script engines created by a {@link ScriptEngineProvider}.
+	 * All times are in microseconds.
+	 */
+	public static final class ScriptEngineStatistics {
+		private final long hits;
+		private final long misses;
+		private final long engineCount;
+		private final long totalStartupTime;
+		private final long maxStartupTime;
+		private final int warmEngines;
+		private final long compiledScriptHits;
+		private final long compiledScriptMisses;
+		private final long evaluationCount;
+		private final long totalEvaluationTime;
+
+		ScriptEngineStatistics(final long hits, final long misses, final long engineCount, final long totalStartupTime, final long maxStartupTime, final int warmEngines, final long compiledScriptHits, final long compiledScriptMisses, final long evaluationCount, final long totalEvaluationTime) {
+			this.hits = hits;
+			this.misses = misses;
+			this.engineCount = engineCount;
+			this.totalStartupTime = totalStartupTime;
+			this.maxStartupTime = maxStartupTime;
+			this.warmEngines = warmEngines;
+			this.compiledScriptHits = compiledScriptHits;
+			this.compiledScriptMisses = compiledScriptMisses;
+			this.evaluationCount = evaluationCount;
+			this.totalEvaluationTime = totalEvaluationTime;
+		}
+
+		/**
+		 * @return number of {@link #get()} calls that were served by an already initialized engine
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return number of {@link #get()} calls that had to initialize a new engine synchronously
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		/**
+		 * @return number of engines initialized so far (both synchronously and in the background)
+		 */
+		public long getEngineCount() {
+			return engineCount;
+		}
+
+		public long getTotalStartupTime() {
+			return totalStartupTime;
+		}
+
+		public long getMaxStartupTime() {
+			return maxStartupTime;
+		}
+
+		public long getAverageStartupTime() {
+			return engineCount == 0 ? 0 : totalStartupTime / engineCount;
+		}
+
+		/**
+		 * @return number of initialized engines that are currently waiting to be handed out
+		 */
+		public int getWarmEngines() {
+			return warmEngines;
+		}
+
+		/**
+		 * @return number of scripts whose compiled class was found in the cache
+		 */
+		public long getCompiledScriptHits() {
+			return compiledScriptHits;
+		}
+
+		/**
+		 * @return number of scripts that had to be parsed and compiled
+		 */
+		public long getCompiledScriptMisses() {
+			return compiledScriptMisses;
+		}
+
+		/**
+		 * @return number of scripts evaluated in all engines from the provider (not including the init script)
+		 */
+		public long getEvaluationCount() {
+			return evaluationCount;
+		}
+
+		public long getTotalEvaluationTime() {
+			return totalEvaluationTime;
+		}
+
+		public long getAverageEvaluationTime() {
+			return evaluationCount == 0 ? 0 : totalEvaluationTime / evaluationCount;
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("hits", hits)
+				.add("misses", misses)
+				.add("engineCount", engineCount)
+				.add("averageStartupTime", getAverageStartupTime())
+				.add("maxStartupTime", maxStartupTime)
+				.add("warmEngines", warmEngines)
+				.add("compiledScriptHits", compiledScriptHits)
+				.add("compiledScriptMisses", compiledScriptMisses)
+				.add("evaluationCount", evaluationCount)
+				.add("averageEvaluationTime", getAverageEvaluationTime())
+				.toString();
+		}
+	}
+
+	private static final Logger logger = LoggerFactory.getLogger(ScriptEngineProvider.class);
+
+	/**
+	 * Name of the system property that sets the initial number of script engines
+	 * that are initialized in the background ahead of time (default 0, i. e. no pre-initialized engines).
+	 */
+	public static final String WARM_ENGINES_PROPERTY = "prob.warmScriptEngines";
+	/**
+	 * Name of the system property that sets the maximum number of compiled scripts
+	 * that are cached and shared by all engines (default 256).
+	 */
+	public static final String COMPILED_SCRIPT_CACHE_SIZE_PROPERTY = "prob.compiledScriptCacheSize";
+	private static final int DEFAULT_COMPILED_SCRIPT_CACHE_SIZE = 256;
+
 	private final Api api;
 	private final AnimationSelector animations;
 	private final Injector injector;
 	private final ScriptEngineManager manager;
+	private final CachingGroovyClassLoader classLoader;
+
+	private final BlockingQueue<ScriptEngine> warmEngines = new LinkedBlockingQueue<>();
+	private final AtomicInteger pendingEngines = new AtomicInteger();
+	private volatile int warmEnginesTargetSize;
+	private ExecutorService warmupExecutor;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong engineCount = new AtomicLong();
+	private final AtomicLong totalStartupTime = new AtomicLong();
+	private final AtomicLong maxStartupTime = new AtomicLong();
+	private final AtomicLong evaluationCount = new AtomicLong();
+	private final AtomicLong totalEvaluationTime = new AtomicLong();
 
 	@Inject
 	public ScriptEngineProvider(final Api api, final AnimationSelector animations, final Injector injector) {
@@ -25,16 +181,124 @@ public class ScriptEngineProvider implements Provider<ScriptEngine> {
 		this.animations = animations;
 		this.injector = injector;
 		manager = new ScriptEngineManager(this.getClass().getClassLoader());
+		this.classLoader = new CachingGroovyClassLoader(this.getClass().getClassLoader(), Integer.getInteger(COMPILED_SCRIPT_CACHE_SIZE_PROPERTY, DEFAULT_COMPILED_SCRIPT_CACHE_SIZE));
+		this.warmEnginesTargetSize = Integer.getInteger(WARM_ENGINES_PROPERTY, 0);
+		this.replenishWarmEngines();
 	}
 
+	/**
+	 * Get a new script engine that has not been used before.
+	 * If engines are {@linkplain #setWarmEnginesTargetSize(int) initialized ahead of time},
+	 * an already initialized engine is returned if one is available.
+	 *
+	 * @return a new script engine
+	 */
 	@Override
 	public ScriptEngine get() {
-		final ScriptEngine engine = manager.getEngineByName("Groovy");
+		ScriptEngine engine = warmEngines.poll();
+		if (engine != null) {
+			hits.incrementAndGet();
+		} else {
+			if (warmEnginesTargetSize > 0) {
+				misses.incrementAndGet();
+			}
+			engine = this.createEngine();
+		}
+		this.replenishWarmEngines();
+		return engine;
+	}
+
+	private ScriptEngine createEngine() {
+		final long start = System.nanoTime();
+		// All engines share the class loader, so that compiled scripts can be reused between engines.
+		final GroovyScriptEngineImpl engine = new GroovyScriptEngineImpl(this.classLoader);
+		// Like engines created by the manager, all engines share the manager's global bindings.
+		engine.setBindings(manager.getBindings(), ScriptContext.GLOBAL_SCOPE);
 		final Bindings bindings = engine.getBindings(ScriptContext.GLOBAL_SCOPE);
 		bindings.put("api", api);
 		bindings.put("animations", animations);
-		bindings.put("engine", engine);
 		bindings.put("injector", injector);
-		return new GroovySE(engine);
+		// The global bindings are shared with all other engines (including pre-initialized ones),
+		// so each engine's reference to itself must be in its own engine scope.
+		engine.getBindings(ScriptContext.ENGINE_SCOPE).put("engine", engine);
+		final GroovySE groovySE = new GroovySE(engine, this::evaluationFinished);
+		final long startupTime = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+		engineCount.incrementAndGet();
+		totalStartupTime.addAndGet(startupTime);
+		maxStartupTime.accumulateAndGet(startupTime, Math::max);
+		return groovySE;
+	}
+
+	private void evaluationFinished(final long nanos) {
+		evaluationCount.incrementAndGet();
+		totalEvaluationTime.addAndGet(TimeUnit.NANOSECONDS.toMicros(nanos));
+	}
+
+	/**
+	 * Get the number of script engines that are kept initialized in the background,
+	 * so that {@link #get()} can return them immediately.
+	 *
+	 * @return the number of pre-initialized engines to keep available
+	 */
+	public int getWarmEnginesTargetSize() {
+		return warmEnginesTargetSize;
+	}
+
+	/**
+	 * Set the number of script engines that are kept initialized in the background,
+	 * so that {@link #get()} can return them immediately.
+	 * Every engine is still only handed out once,
+	 * so scripts cannot see variables from scripts that ran in other engines.
+	 * Missing engines are initialized asynchronously.
+	 *
+	 * @param warmEnginesTargetSize the number of pre-initialized engines to keep available (0 to disable)
+	 */
+	public void setWarmEnginesTargetSize(final int warmEnginesTargetSize) {
+		if (warmEnginesTargetSize < 0) {
+			throw new IllegalArgumentException("Warm engines target size must not be negative: " + warmEnginesTargetSize);
+		}
+		this.warmEnginesTargetSize = warmEnginesTargetSize;
+		while (warmEngines.size() > warmEnginesTargetSize && warmEngines.poll() != null) {
+			// Excess engines are simply dropped - they don't hold any external resources.
+		}
+		this.replenishWarmEngines();
+	}
+
+	public ScriptEngineStatistics getStatistics() {
+		final CacheStats compiledScriptStats = classLoader.getCacheStats();
+		return new ScriptEngineStatistics(
+			hits.get(), misses.get(),
+			engineCount.get(), totalStartupTime.get(), maxStartupTime.get(), warmEngines.size(),
+			compiledScriptStats.hitCount(), compiledScriptStats.missCount(),
+			evaluationCount.get(), totalEvaluationTime.get()
+		);
+	}
+
+	private synchronized ExecutorService getWarmupExecutor() {
+		if (warmupExecutor == null) {
+			warmupExecutor = Executors.newSingleThreadExecutor(r -> {
+				final Thread thread = new Thread(r, "Script Engine Initializer");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return warmupExecutor;
+	}
+
+	private void replenishWarmEngines() {
+		while (warmEngines.size() + pendingEngines.get() < warmEnginesTargetSize) {
+			pendingEngines.incrementAndGet();
+			getWarmupExecutor().execute(() -> {
+				try {
+					if (warmEngines.size() < warmEnginesTargetSize) {
+						warmEngines.add(this.createEngine());
+					}
+				} catch (RuntimeException e) {
+					logger.error("Failed to initialize a script engine in the background", e);
+				} finally {
+					pendingEngines.decrementAndGet();
+				}
+			});
+		}
 	}
 }
@@ -0,0 +1,101 @@
+package de.prob.simulation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.common.base.MoreObjects;
+
+import de.prob.animator.domainobjects.AbstractEvalResult;
+import de.prob.statespace.State;
+import de.prob.statespace.Trace;
+import de.prob.statespace.Transition;
+
+/**
+ * The result of a single random walk executed by a {@link RandomWalkSimulator}.
+ */
+public final class RandomWalkResult {
+	private final int walkIndex;
+	private final long seed;
+	private final Trace trace;
+	private final boolean deadlocked;
+	private final List<AbstractEvalResult> samples;
+
+	RandomWalkResult(final int walkIndex, final long seed, final Trace trace, final boolean deadlocked, final List<AbstractEvalResult> samples) {
+		this.walkIndex = walkIndex;
+		this.seed = seed;
+		this.trace = trace;
+		this.deadlocked = deadlocked;
+		this.samples = Collections.unmodifiableList(samples);
+	}
+
+	/**
+	 * @return the index of this walk, between 0 (inclusive) and the number of walks (exclusive)
+	 */
+	public int getWalkIndex() {
+		return walkIndex;
+	}
+
+	/**
+	 * @return the seed that was used to choose the transitions of this walk
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * Get the trace of this walk.
+	 * The trace belongs to the state space of the worker that executed the walk,
+	 * so state IDs in different walks are not comparable.
+	 * 
+	 * @return the trace of this walk
+	 */
+	public Trace getTrace() {
+		return trace;
+	}
+
+	public int getSteps() {
+		return trace.size();
+	}
+
+	/**
+	 * @return the names of the executed transitions, in order
+	 */
+	public List<String> getTransitionNames() {
+		return trace.getTransitionList().stream()
+			.map(Transition::getName)
+			.collect(Collectors.toList());
+	}
+
+	public State getFinalState() {
+		return trace.getCurrentState();
+	}
+
+	/**
+	 * @return whether the walk ended early because a state without outgoing transitions was reached
+	 */
+	public boolean isDeadlocked() {
+		return deadlocked;
+	}
+
+	/**
+	 * Get the values of the sampled formula in all states of this walk,
+	 * starting with the start state.
+	 * If no formula was sampled, this list is empty.
+	 * 
+	 * @return values of the sampled formula in all states of this walk
+	 */
+	public List<AbstractEvalResult> getSamples() {
+		return samples;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("walkIndex", walkIndex)
+			.add("seed", seed)
+			.add("steps", getSteps())
+			.add("deadlocked", deadlocked)
+			.toString();
+	}
+}
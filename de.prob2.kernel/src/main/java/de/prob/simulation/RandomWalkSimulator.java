@@ -0,0 +1,251 @@
+package de.prob.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import com.google.common.base.MoreObjects;
+
+import de.prob.animator.domainobjects.AbstractEvalResult;
+import de.prob.animator.domainobjects.IEvalElement;
+import de.prob.exception.ProBError;
+import de.prob.scripting.ExtractedModel;
+import de.prob.statespace.State;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+import de.prob.statespace.Transition;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * <p>
+ * Executes many independent random walks through a model in parallel.
+ * </p>
+ * <p>
+ * Each worker thread has its own {@link StateSpace} (and thus its own {@code probcli} instance),
+ * so the walks are not serialized on a single instance.
+ * The walks are distributed to the workers dynamically,
+ * but the transitions of each walk only depend on the simulation seed and the index of the walk,
+ * so running a simulation again with the same seed produces the same walks,
+ * regardless of the number of workers and which worker executes which walk.
+ * </p>
+ * <p>
+ * State IDs are assigned independently by each {@code probcli} instance,
+ * so walks should be compared using their {@linkplain RandomWalkResult#getTransitionNames() transition names}
+ * and {@linkplain RandomWalkResult#getSamples() samples} rather than state IDs.
+ * </p>
+ */
+public final class RandomWalkSimulator {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RandomWalkSimulator.class);
+	// Multiplier used to derive well-distributed per-walk seeds from the simulation seed
+	private static final long SEED_INCREMENT = 0x9E3779B97F4A7C15L;
+
+	private final List<StateSpace> stateSpaces;
+
+	/**
+	 * Create a simulator that uses the given state spaces as workers.
+	 * All state spaces must have the same model loaded with the same preferences,
+	 * otherwise the walks are not reproducible.
+	 * 
+	 * @param stateSpaces the state spaces to execute the walks in, one worker thread is used for each
+	 */
+	public RandomWalkSimulator(final List<StateSpace> stateSpaces) {
+		if (stateSpaces.isEmpty()) {
+			throw new IllegalArgumentException("At least one state space is required for simulation");
+		}
+		this.stateSpaces = Collections.unmodifiableList(new ArrayList<>(stateSpaces));
+	}
+
+	/**
+	 * Start {@code workers} {@code probcli} instances, load the given model into all of them,
+	 * and create a simulator that uses them.
+	 * The instances should be stopped using {@link #kill()} once the simulator is no longer needed.
+	 * 
+	 * @param extractedModel the model to load
+	 * @param preferences the preferences to set before loading the model
+	 * @param workers the number of {@code probcli} instances to start
+	 * @return a simulator using the newly started instances
+	 */
+	public static RandomWalkSimulator load(final ExtractedModel<?> extractedModel, final Map<String, String> preferences, final int workers) {
+		if (workers < 1) {
+			throw new IllegalArgumentException("Number of workers must be at least 1, not " + workers);
+		}
+		final List<StateSpace> stateSpaces = new ArrayList<>();
+		try {
+			for (int i = 0; i < workers; i++) {
+				stateSpaces.add(extractedModel.load(preferences));
+			}
+		} catch (RuntimeException e) {
+			stateSpaces.forEach(StateSpace::kill);
+			throw e;
+		}
+		LOGGER.info("Loaded model into {} probcli instances for simulation", workers);
+		return new RandomWalkSimulator(stateSpaces);
+	}
+
+	public List<StateSpace> getStateSpaces() {
+		return stateSpaces;
+	}
+
+	public int getWorkerCount() {
+		return stateSpaces.size();
+	}
+
+	/**
+	 * Stop all {@code probcli} instances used by this simulator.
+	 */
+	public void kill() {
+		stateSpaces.forEach(StateSpace::kill);
+	}
+
+	/**
+	 * Get the seed used for the walk with the given index.
+	 * 
+	 * @param seed the simulation seed
+	 * @param walkIndex the index of the walk
+	 * @return the seed for the transitions of the walk
+	 */
+	public static long getWalkSeed(final long seed, final int walkIndex) {
+		return seed + walkIndex * SEED_INCREMENT;
+	}
+
+	/**
+	 * Execute random walks without sampling any formula.
+	 * 
+	 * @see #run(long, int, int, IEvalElement, Consumer)
+	 */
+	public SimulationStatistics run(final long seed, final int walkCount, final int maxSteps, final Consumer<RandomWalkResult> consumer) {
+		return this.run(seed, walkCount, maxSteps, null, consumer);
+	}
+
+	/**
+	 * <p>
+	 * Execute {@code walkCount} random walks of at most {@code maxSteps} transitions each, starting in the root state.
+	 * A walk ends early if it reaches a state without outgoing transitions.
+	 * </p>
+	 * <p>
+	 * The results are passed to {@code consumer} as soon as each walk is completed,
+	 * which means that they are generally not in the order of their walk indices.
+	 * The consumer is never called concurrently from multiple threads.
+	 * </p>
+	 * 
+	 * @param seed the simulation seed
+	 * @param walkCount the number of walks to execute
+	 * @param maxSteps the maximum number of transitions per walk
+	 * @param sampledFormula a formula to evaluate in every state visited by a walk, or {@code null} to not sample anything
+	 * @param consumer called with the result of each walk
+	 * @return statistics about the whole simulation
+	 */
+	public SimulationStatistics run(final long seed, final int walkCount, final int maxSteps, final IEvalElement sampledFormula, final Consumer<RandomWalkResult> consumer) {
+		if (walkCount < 0) {
+			throw new IllegalArgumentException("Number of walks must not be negative: " + walkCount);
+		}
+
+		final AtomicInteger nextWalk = new AtomicInteger();
+		final AtomicInteger completedWalks = new AtomicInteger();
+		final AtomicInteger deadlocks = new AtomicInteger();
+		final AtomicLong totalSteps = new AtomicLong();
+		final Object consumerLock = new Object();
+
+		final AtomicInteger threadCounter = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(stateSpaces.size(), r -> {
+			final Thread thread = new Thread(r, "RandomWalkSimulator worker " + threadCounter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		final long startTime = System.currentTimeMillis();
+		try {
+			final List<Future<?>> futures = new ArrayList<>();
+			for (final StateSpace stateSpace : stateSpaces) {
+				futures.add(executor.submit(() -> {
+					int walkIndex;
+					while ((walkIndex = nextWalk.getAndIncrement()) < walkCount && !Thread.currentThread().isInterrupted()) {
+						final RandomWalkResult result = executeWalk(stateSpace, seed, walkIndex, maxSteps, sampledFormula);
+						if (result == null) {
+							// Interrupted while walking
+							break;
+						}
+						completedWalks.incrementAndGet();
+						totalSteps.addAndGet(result.getSteps());
+						if (result.isDeadlocked()) {
+							deadlocks.incrementAndGet();
+						}
+						synchronized (consumerLock) {
+							consumer.accept(result);
+						}
+					}
+				}));
+			}
+			for (final Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			stateSpaces.forEach(StateSpace::sendInterrupt);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new ProBError("Random walk simulation failed", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+
+		final SimulationStatistics statistics = new SimulationStatistics(completedWalks.get(), totalSteps.get(), deadlocks.get(), stateSpaces.size(), System.currentTimeMillis() - startTime);
+		LOGGER.info("Random walk simulation finished: {}", statistics);
+		return statistics;
+	}
+
+	private static RandomWalkResult executeWalk(final StateSpace stateSpace, final long seed, final int walkIndex, final int maxSteps, final IEvalElement sampledFormula) {
+		final long walkSeed = getWalkSeed(seed, walkIndex);
+		final Random random = new Random(walkSeed);
+		Trace trace = new Trace(stateSpace);
+		boolean deadlocked = false;
+		// Execute one step at a time, so that an interrupted walk stops after the current step.
+		// The random number generator is shared by all steps,
+		// so this chooses the same transitions as a single randomAnimation call with all steps.
+		for (int step = 0; step < maxSteps; step++) {
+			final Trace next = trace.randomAnimation(1, random);
+			if (Thread.currentThread().isInterrupted()) {
+				return null;
+			}
+			if (next.size() == trace.size()) {
+				deadlocked = true;
+				break;
+			}
+			trace = next;
+		}
+
+		final List<AbstractEvalResult> samples = new ArrayList<>();
+		if (sampledFormula != null) {
+			final List<State> states = new ArrayList<>();
+			states.add(stateSpace.getRoot());
+			for (final Transition transition : trace.getTransitionList()) {
+				states.add(transition.getDestination());
+			}
+			final Map<State, Map<IEvalElement, AbstractEvalResult>> values = stateSpace.evaluateForGivenStates(states, Collections.singletonList(sampledFormula));
+			for (final State state : states) {
+				samples.add(values.get(state).get(sampledFormula));
+			}
+		}
+		return new RandomWalkResult(walkIndex, walkSeed, trace, deadlocked, samples);
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("workers", stateSpaces.size())
+			.toString();
+	}
+}
@@ -0,0 +1,74 @@
+package de.prob.simulation;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Summary of a run of a {@link RandomWalkSimulator}.
+ */
+public final class SimulationStatistics {
+	private final int walks;
+	private final long totalSteps;
+	private final int deadlocks;
+	private final int workers;
+	private final long elapsedMillis;
+
+	SimulationStatistics(final int walks, final long totalSteps, final int deadlocks, final int workers, final long elapsedMillis) {
+		this.walks = walks;
+		this.totalSteps = totalSteps;
+		this.deadlocks = deadlocks;
+		this.workers = workers;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * @return number of completed walks
+	 */
+	public int getWalks() {
+		return walks;
+	}
+
+	/**
+	 * @return total number of transitions executed in all walks
+	 */
+	public long getTotalSteps() {
+		return totalSteps;
+	}
+
+	/**
+	 * @return number of walks that ended in a deadlock
+	 */
+	public int getDeadlocks() {
+		return deadlocks;
+	}
+
+	/**
+	 * @return number of probcli instances that executed walks in parallel
+	 */
+	public int getWorkers() {
+		return workers;
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	public double getWalksPerSecond() {
+		return elapsedMillis == 0 ? 0.0 : walks * 1000.0 / elapsedMillis;
+	}
+
+	public double getStepsPerSecond() {
+		return elapsedMillis == 0 ? 0.0 : totalSteps * 1000.0 / elapsedMillis;
+	}
+
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+			.add("walks", walks)
+			.add("totalSteps", totalSteps)
+			.add("deadlocks", deadlocks)
+			.add("workers", workers)
+			.add("elapsedMillis", elapsedMillis)
+			.add("walksPerSecond", getWalksPerSecond())
+			.toString();
+	}
+}
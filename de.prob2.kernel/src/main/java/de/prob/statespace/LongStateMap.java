@@ -0,0 +1,190 @@
+package de.prob.statespace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>
+ * A bounded map from numeric state IDs to {@link State} objects,
+ * used by {@link StateSpace} instead of its {@link String}-keyed cache for all states except the root state
+ * if the primitive state index is enabled.
+ * </p>
+ * <p>
+ * The map uses open addressing with linear probing on primitive {@code long} keys,
+ * so lookups and insertions don't allocate any objects (no boxed keys, strings or map entries).
+ * If the maximum number of states is reached, an old state is evicted
+ * using the CLOCK (second chance) algorithm, which approximates least recently used eviction.
+ * </p>
+ * <p>
+ * All methods are synchronized, because a state space can be used from multiple threads.
+ * </p>
+ */
+final class LongStateMap {
+	// State IDs from ProB are never negative, so this can be used to mark free slots.
+	private static final long FREE = Long.MIN_VALUE;
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private final int maxSize;
+	private final int mask;
+	private final long[] keys;
+	private final State[] values;
+	private final boolean[] referenced;
+	private int size;
+	private int clockHand;
+
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * @param maxSize the maximum number of states in the map, must be at least 1
+	 */
+	LongStateMap(final int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Maximum size must be at least 1, not " + maxSize);
+		}
+		// Keep the load factor at or below 0.5 so that probe sequences stay short.
+		final int capacity = Math.max(2, Integer.highestOneBit((int)Math.min((long)maxSize * 2 - 1, MAX_CAPACITY - 1)) << 1);
+		this.maxSize = Math.min(maxSize, capacity / 2);
+		this.mask = capacity - 1;
+		this.keys = new long[capacity];
+		Arrays.fill(this.keys, FREE);
+		this.values = new State[capacity];
+		this.referenced = new boolean[capacity];
+		this.size = 0;
+		this.clockHand = 0;
+	}
+
+	private int home(final long key) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int)(h ^ (h >>> 32)) & this.mask;
+	}
+
+	private int indexOf(final long key) {
+		int slot = this.home(key);
+		while (this.keys[slot] != FREE) {
+			if (this.keys[slot] == key) {
+				return slot;
+			}
+			slot = (slot + 1) & this.mask;
+		}
+		return -1 - slot;
+	}
+
+	/**
+	 * @param id the numeric state ID
+	 * @return the state with the given ID, or {@code null} if it is not in the map
+	 */
+	synchronized State get(final long id) {
+		final int slot = this.indexOf(id);
+		if (slot < 0) {
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		this.referenced[slot] = true;
+		return this.values[slot];
+	}
+
+	/**
+	 * Add a state to the map unless there already is a state with the same ID.
+	 * 
+	 * @param id the numeric state ID
+	 * @param state the state to add
+	 * @return the state that is now in the map for the ID, i. e. either the existing state or {@code state}
+	 */
+	synchronized State putIfAbsent(final long id, final State state) {
+		if (id < 0) {
+			throw new IllegalArgumentException("Numeric state IDs must not be negative: " + id);
+		}
+		int slot = this.indexOf(id);
+		if (slot >= 0) {
+			this.referenced[slot] = true;
+			return this.values[slot];
+		}
+		if (this.size >= this.maxSize) {
+			this.evictOne();
+			// Evicting may have moved entries, so the free slot has to be searched again.
+			slot = this.indexOf(id);
+		}
+		slot = -1 - slot;
+		this.keys[slot] = id;
+		this.values[slot] = state;
+		this.referenced[slot] = false;
+		this.size++;
+		return state;
+	}
+
+	private void evictOne() {
+		while (true) {
+			final int slot = this.clockHand;
+			this.clockHand = (this.clockHand + 1) & this.mask;
+			if (this.keys[slot] == FREE) {
+				continue;
+			}
+			if (this.referenced[slot]) {
+				// Second chance - the state was used since the clock hand last passed it.
+				this.referenced[slot] = false;
+			} else {
+				this.removeAt(slot);
+				this.evictions++;
+				return;
+			}
+		}
+	}
+
+	private void removeAt(final int slot) {
+		// Backward shift deletion: move following entries of the probe sequence into the hole,
+		// so that no tombstones are needed.
+		int hole = slot;
+		int i = (slot + 1) & this.mask;
+		while (this.keys[i] != FREE) {
+			final int home = this.home(this.keys[i]);
+			if (((i - home) & this.mask) >= ((i - hole) & this.mask)) {
+				this.keys[hole] = this.keys[i];
+				this.values[hole] = this.values[i];
+				this.referenced[hole] = this.referenced[i];
+				hole = i;
+			}
+			i = (i + 1) & this.mask;
+		}
+		this.keys[hole] = FREE;
+		this.values[hole] = null;
+		this.referenced[hole] = false;
+		this.size--;
+	}
+
+	/**
+	 * @return a snapshot of all states currently in the map
+	 */
+	synchronized List<State> values() {
+		final List<State> states = new ArrayList<>(this.size);
+		for (final State state : this.values) {
+			if (state != null) {
+				states.add(state);
+			}
+		}
+		return states;
+	}
+
+	synchronized int size() {
+		return this.size;
+	}
+
+	synchronized int getMaxSize() {
+		return this.maxSize;
+	}
+
+	synchronized long getHits() {
+		return this.hits;
+	}
+
+	synchronized long getMisses() {
+		return this.misses;
+	}
+
+	synchronized long getEvictions() {
+		return this.evictions;
+	}
+}
@@ -4,15 +4,29 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Provides;
 
 import de.prob.annotations.MaxCacheSize;
+import de.prob.annotations.MaxCacheWeight;
+import de.prob.annotations.PrimitiveStateIndex;
 import de.prob.model.classicalb.ClassicalBModel;
 import de.prob.model.eventb.EventBModel;
 import de.prob.model.representation.CSPModel;
 
 public class ModelModule extends AbstractModule {
 	private final int maxCacheSize;
+	private final long maxCacheWeight;
+	private final boolean primitiveStateIndex;
 
-	public ModelModule(final int maxCacheSize) {
+	public ModelModule(final int maxCacheSize, final long maxCacheWeight, final boolean primitiveStateIndex) {
 		this.maxCacheSize = maxCacheSize;
+		this.maxCacheWeight = maxCacheWeight;
+		this.primitiveStateIndex = primitiveStateIndex;
+	}
+
+	public ModelModule(final int maxCacheSize, final long maxCacheWeight) {
+		this(maxCacheSize, maxCacheWeight, false);
+	}
+
+	public ModelModule(final int maxCacheSize) {
+		this(maxCacheSize, 0);
 	}
 
 	@Override
@@ -29,4 +43,16 @@ public class ModelModule extends AbstractModule {
 	private int getMaxCacheSize() {
 		return this.maxCacheSize;
 	}
+
+	@Provides
+	@MaxCacheWeight
+	private long getMaxCacheWeight() {
+		return this.maxCacheWeight;
+	}
+
+	@Provides
+	@PrimitiveStateIndex
+	private boolean isPrimitiveStateIndex() {
+		return this.primitiveStateIndex;
+	}
 }
@@ -1,5 +1,6 @@
 package de.prob.statespace;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -11,6 +12,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -18,8 +20,10 @@ import de.prob.animator.command.EvaluateFormulasCommand;
 import de.prob.animator.command.ExecuteOperationException;
 import de.prob.animator.command.ExploreStateCommand;
 import de.prob.animator.command.GetBStateCommand;
+import de.prob.animator.command.GetEnabledOperationsCommand;
 import de.prob.animator.domainobjects.AbstractEvalResult;
 import de.prob.animator.domainobjects.EvalOptions;
+import de.prob.animator.domainobjects.EvalResult;
 import de.prob.animator.domainobjects.FormulaExpand;
 import de.prob.animator.domainobjects.IEvalElement;
 import de.prob.animator.domainobjects.StateError;
@@ -39,10 +43,21 @@ import org.codehaus.groovy.runtime.DefaultGroovyMethods;
  * @author joy
  */
 public class State extends GroovyObjectSupport {
+	// Rough memory footprint estimates (in bytes) used by estimateMemoryFootprint.
+	private static final int STATE_BASE_SIZE = 256;
+	private static final int TRANSITION_SIZE = 256;
+	private static final int EVAL_RESULT_BASE_SIZE = 96;
+
 	private String id;
 	private StateSpace stateSpace;
 	private volatile boolean explored;
 	private List<Transition> transitions;
+	/**
+	 * The enabled transitions calculated by {@link #getOutTransitionsWithoutExploring()} while the state was not explored yet,
+	 * so that e. g. repeated random animations through the same states don't have to ask ProB again.
+	 * It is {@code null} if they have not been calculated or the state has been explored since.
+	 */
+	private volatile List<Transition> enabledTransitions;
 	private boolean constantsSetUp;
 	private boolean initialised;
 	private boolean invariantOk;
@@ -56,15 +71,18 @@ public class State extends GroovyObjectSupport {
 	 * grouped by the {@link EvalOptions} that were used for evaluation.
 	 * The {@link IEvalElement#expansion()} is <i>not</i> directly used here.
 	 * Code that uses this cache is expected to integrate that setting into the {@link EvalOptions} as appropriate.
+	 * The cache is only softly referenced, so that the garbage collector drops it when memory runs low,
+	 * while the state itself (including its transitions) stays in the {@link StateSpace}'s state cache.
+	 * It is {@code null} until the first value is cached.
 	 */
-	private Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>> evalCache;
+	private volatile SoftReference<Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>>> evalCache;
 
 	public State(String id, StateSpace space) {
 		this.id = id;
 		this.stateSpace = space;
 		this.explored = false;
 		this.transitions = new ArrayList<>();
-		this.evalCache = new HashMap<>();
+		this.evalCache = null;
 	}
 
 	/**
@@ -191,8 +209,21 @@ public class State extends GroovyObjectSupport {
 		return anyOperation(filter);
 	}
 
+	private Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>> getEvalCache() {
+		final SoftReference<Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>>> ref = this.evalCache;
+		Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>> cache = ref == null ? null : ref.get();
+		if (cache == null) {
+			// If two threads get here at the same time, the values cached by one of them are lost,
+			// which only means that they have to be evaluated again.
+			cache = new ConcurrentHashMap<>();
+			this.evalCache = new SoftReference<>(cache);
+		}
+		return cache;
+	}
+
 	private Map<IEvalElement, AbstractEvalResult> getEvalCacheForOptions(final EvalOptions options) {
-		return this.evalCache.computeIfAbsent(options, k -> new HashMap<>());
+		// The caches can be read and written by multiple threads at once, e. g. while the state cache's weigher iterates over them.
+		return this.getEvalCache().computeIfAbsent(options, k -> new ConcurrentHashMap<>());
 	}
 
 	/**
@@ -272,19 +303,97 @@ public class State extends GroovyObjectSupport {
 	 * @return map of formulas to their values in this state
 	 */
 	public Map<IEvalElement, AbstractEvalResult> evalFormulas(List<? extends IEvalElement> formulas, EvalOptions options) {
+		// Keep a strong reference to the cache until the values have been read,
+		// so that the garbage collector cannot drop the new values before they are returned.
 		final Map<IEvalElement, AbstractEvalResult> cache = this.getEvalCacheForOptions(options);
+		final EvaluateFormulasCommand cmd = this.createEvaluateCommandForUncached(formulas, options, cache);
+		if (cmd != null) {
+			stateSpace.execute(cmd);
+			cache.putAll(cmd.getResultMap());
+			stateSpace.updateCachedState(this);
+		}
+		return getCachedValues(formulas, cache);
+	}
+
+	/**
+	 * Create a command that evaluates all of the given formulas that are not yet cached in this state.
+	 * The command is not executed - this allows callers to combine the commands for multiple states into a single query.
+	 * After the command has been executed,
+	 * its results should be stored using {@link #cacheEvaluationResults(EvaluateFormulasCommand, EvalOptions)}.
+	 * 
+	 * @param formulas the formulas to evaluate
+	 * @param options options for evaluation
+	 * @return a command that evaluates the uncached formulas, or {@code null} if all formulas are already cached
+	 */
+	EvaluateFormulasCommand createEvaluateCommandForUncached(final List<? extends IEvalElement> formulas, final EvalOptions options) {
+		return this.createEvaluateCommandForUncached(formulas, options, this.getEvalCacheForOptions(options));
+	}
+
+	private EvaluateFormulasCommand createEvaluateCommandForUncached(final List<? extends IEvalElement> formulas, final EvalOptions options, final Map<IEvalElement, AbstractEvalResult> cache) {
 		final List<IEvalElement> notEvaluatedElements = new ArrayList<>();
 		for (IEvalElement element : formulas) {
 			if (!cache.containsKey(element)) {
 				notEvaluatedElements.add(element);
 			}
 		}
-		if (!notEvaluatedElements.isEmpty()) {
-			final EvaluateFormulasCommand cmd = new EvaluateFormulasCommand(notEvaluatedElements, this, options);
-			stateSpace.execute(cmd);
-			cache.putAll(cmd.getResultMap());
+		if (notEvaluatedElements.isEmpty()) {
+			return null;
 		}
+		stateSpace.recordFormulaEvaluations(notEvaluatedElements);
+		return new EvaluateFormulasCommand(notEvaluatedElements, this, options);
+	}
+
+	/**
+	 * Store the results of an executed command from {@link #createEvaluateCommandForUncached(List, EvalOptions)} in this state's cache.
+	 * 
+	 * @param cmd the executed command
+	 * @param options the options that were used to create the command
+	 */
+	void cacheEvaluationResults(final EvaluateFormulasCommand cmd, final EvalOptions options) {
+		this.getEvalCacheForOptions(options).putAll(cmd.getResultMap());
+		stateSpace.updateCachedState(this);
+	}
 
+	/**
+	 * Remove all cached formula values from this state.
+	 * The values are re-evaluated by ProB the next time they are needed.
+	 * This also happens automatically when memory runs low.
+	 */
+	public void clearEvalCache() {
+		this.evalCache = null;
+		stateSpace.updateCachedState(this);
+	}
+
+	/**
+	 * Estimate the memory used by this state, its outgoing transitions and its cached formula values.
+	 * This is only a rough estimate, which is used as the weight of this state in the {@link StateSpace}'s state cache.
+	 * 
+	 * @return estimated memory footprint of this state in bytes
+	 */
+	int estimateMemoryFootprint() {
+		long size = STATE_BASE_SIZE + (long)transitions.size() * TRANSITION_SIZE;
+		final List<Transition> enabled = this.enabledTransitions;
+		if (enabled != null) {
+			size += (long)enabled.size() * TRANSITION_SIZE;
+		}
+		final SoftReference<Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>>> ref = this.evalCache;
+		final Map<EvalOptions, Map<IEvalElement, AbstractEvalResult>> evalCache = ref == null ? null : ref.get();
+		if (evalCache == null) {
+			return (int)Math.min(Integer.MAX_VALUE, size);
+		}
+		for (final Map<IEvalElement, AbstractEvalResult> cache : evalCache.values()) {
+			for (final AbstractEvalResult result : cache.values()) {
+				size += EVAL_RESULT_BASE_SIZE;
+				if (result instanceof EvalResult) {
+					// Java strings use up to 2 bytes per character.
+					size += 2L * ((EvalResult)result).getValue().length();
+				}
+			}
+		}
+		return (int)Math.min(Integer.MAX_VALUE, size);
+	}
+
+	private static Map<IEvalElement, AbstractEvalResult> getCachedValues(final List<? extends IEvalElement> formulas, final Map<IEvalElement, AbstractEvalResult> cache) {
 		Map<IEvalElement, AbstractEvalResult> result = new LinkedHashMap<>();
 		for (IEvalElement element : formulas) {
 			result.put(element, cache.get(element));
@@ -421,6 +530,36 @@ public class State extends GroovyObjectSupport {
 		return this.transitions;
 	}
 
+	/**
+	 * Get the outgoing transitions from this state without fully exploring it.
+	 * If the state has already been explored, its known transitions are returned.
+	 * Otherwise only the enabled operations are calculated by ProB,
+	 * which is much cheaper than {@link #explore()}
+	 * (no invariant and error checks, no evaluation of subscribed formulas).
+	 * The state remains unexplored and will be explored when any of the information is needed.
+	 * The calculated transitions are cached in the state until it is explored.
+	 * 
+	 * @return the outgoing transitions from this state
+	 */
+	List<Transition> getOutTransitionsWithoutExploring() {
+		if (this.explored) {
+			return this.transitions;
+		}
+		final List<Transition> cached = this.enabledTransitions;
+		if (cached != null) {
+			return cached;
+		}
+		final GetEnabledOperationsCommand cmd = new GetEnabledOperationsCommand(stateSpace, id);
+		stateSpace.execute(cmd);
+		final List<Transition> enabled = Collections.unmodifiableList(new ArrayList<>(cmd.getEnabledOperations()));
+		// Another thread may have explored the state in the meantime, then its full list of transitions is used instead.
+		if (!this.explored) {
+			this.enabledTransitions = enabled;
+			stateSpace.updateCachedState(this);
+		}
+		return enabled;
+	}
+
 	/**
 	 * @deprecated Use {@link #getOutTransitions()} instead.
 	 *     If {@code evaluate} was set to {@code true},
@@ -457,7 +596,16 @@ public class State extends GroovyObjectSupport {
 	}
 
 	public synchronized State explore() {
-		final ExploreStateCommand cmd = new ExploreStateCommand(stateSpace, id, Collections.emptyList());
+		// Evaluate the subscribed formulas in the same query as the exploration,
+		// so that exploring a state only needs a single round trip to ProB.
+		final Map<EvalOptions, EvaluateFormulasCommand> evalCommands = new HashMap<>();
+		stateSpace.getSubscribedFormulasByOptions().forEach((options, formulas) -> {
+			final EvaluateFormulasCommand evalCmd = this.createEvaluateCommandForUncached(new ArrayList<>(formulas), options);
+			if (evalCmd != null) {
+				evalCommands.put(options, evalCmd);
+			}
+		});
+		final ExploreStateCommand cmd = new ExploreStateCommand(stateSpace, id, Collections.emptyList(), evalCommands.values());
 		stateSpace.execute(cmd);
 		transitions = cmd.getNewTransitions();
 		constantsSetUp = cmd.isConstantsSetUp();
@@ -467,9 +615,11 @@ public class State extends GroovyObjectSupport {
 		maxTransitionsCalculated = cmd.isMaxOperationsReached();
 		stateErrors = cmd.getStateErrors();
 		transitionsWithTimeout = cmd.getOperationsWithTimeout();
-		// TODO Combine the subscribed formula evaluation commands into ExploreStateCommand again
-		this.getValues();
+		evalCommands.forEach((options, evalCmd) -> this.getEvalCacheForOptions(options).putAll(evalCmd.getResultMap()));
 		explored = true;
+		// Exploring calculates the same transitions (and more), so the separately cached ones are no longer needed.
+		enabledTransitions = null;
+		stateSpace.updateCachedState(this);
 		return this;
 	}
 
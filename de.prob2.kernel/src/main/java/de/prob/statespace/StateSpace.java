@@ -11,10 +11,13 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 
+import com.google.common.base.MoreObjects;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
+import com.google.common.cache.CacheStats;
 import com.google.common.cache.LoadingCache;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.google.inject.Inject;
@@ -26,6 +29,7 @@ import de.prob.animator.IWarningListener;
 import de.prob.animator.command.AbstractCommand;
 import de.prob.animator.command.CheckIfStateIdValidCommand;
 import de.prob.animator.command.ComposedCommand;
+import de.prob.animator.command.EvaluateFormulasCommand;
 import de.prob.animator.command.ExecuteOperationException;
 import de.prob.animator.command.ExtendedStaticCheckCommand;
 import de.prob.animator.command.FindStateCommand;
@@ -52,6 +56,9 @@ import de.prob.animator.domainobjects.IEvalElement;
 import de.prob.animator.domainobjects.ProBPreference;
 import de.prob.animator.domainobjects.TypeCheckResult;
 import de.prob.annotations.MaxCacheSize;
+import de.prob.annotations.MaxCacheWeight;
+import de.prob.annotations.PrimitiveStateIndex;
+import de.prob.exception.ProBError;
 import de.prob.formula.PredicateBuilder;
 import de.prob.model.classicalb.ClassicalBModel;
 import de.prob.model.eventb.EventBModel;
@@ -83,11 +90,115 @@ import org.slf4j.LoggerFactory;
  *
  */
 public class StateSpace implements IAnimator {
+	/**
+	 * Statistics about the cache of {@link State} objects in a state space.
+	 * This is an immutable snapshot taken by {@link #getStateCacheStatistics()}.
+	 */
+	public static final class StateCacheStatistics {
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final long size;
+		private final long estimatedWeight;
+		private final long maxWeight;
+
+		StateCacheStatistics(final long hits, final long misses, final long evictions, final long size, final long estimatedWeight, final long maxWeight) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.size = size;
+			this.estimatedWeight = estimatedWeight;
+			this.maxWeight = maxWeight;
+		}
+
+		/**
+		 * @return number of state lookups that found the state in the cache
+		 */
+		public long getHits() {
+			return hits;
+		}
+
+		/**
+		 * @return number of state lookups that did not find the state in the cache
+		 */
+		public long getMisses() {
+			return misses;
+		}
+
+		public double getHitRate() {
+			final long total = hits + misses;
+			return total == 0 ? 1.0 : (double)hits / total;
+		}
+
+		/**
+		 * @return number of states that were removed from the cache to stay within its size or weight limit
+		 */
+		public long getEvictions() {
+			return evictions;
+		}
+
+		/**
+		 * @return number of states currently in the cache
+		 */
+		public long getSize() {
+			return size;
+		}
+
+		/**
+		 * @return estimated memory used by all states currently in the cache, in bytes
+		 */
+		public long getEstimatedWeight() {
+			return estimatedWeight;
+		}
+
+		/**
+		 * @return the maximum weight of the cache, or 0 if the cache is limited by the number of states
+		 */
+		public long getMaxWeight() {
+			return maxWeight;
+		}
+
+		@Override
+		public String toString() {
+			return MoreObjects.toStringHelper(this)
+				.add("hits", hits)
+				.add("misses", misses)
+				.add("hitRate", getHitRate())
+				.add("evictions", evictions)
+				.add("size", size)
+				.add("estimatedWeight", estimatedWeight)
+				.add("maxWeight", maxWeight)
+				.toString();
+		}
+	}
+
+
+	private static final int DEFAULT_EVALUATION_BATCH_SIZE = 100;
+	// Numeric state IDs with up to 18 digits always fit into a long and are stored in the primitive state index.
+	private static final int MAX_INDEXED_STATE_ID_DIGITS = 18;
+	private static final long MAX_INDEXED_STATE_ID = 999_999_999_999_999_999L;
+
+	/**
+	 * Name of the system property that sets the default {@linkplain #setAutoRegisterThreshold(int) automatic registration threshold}
+	 * (default 0, i. e. formulas are never registered automatically).
+	 */
+	public static final String AUTO_REGISTER_THRESHOLD_PROPERTY = "prob.autoRegisterThreshold";
+	/**
+	 * Name of the system property that sets the default {@linkplain #setAutoRegisterBudget(int) automatic registration budget}
+	 * (default 100).
+	 */
+	public static final String AUTO_REGISTER_BUDGET_PROPERTY = "prob.autoRegisterBudget";
+	private static final int DEFAULT_AUTO_REGISTER_BUDGET = 100;
+	// Upper bound for the number of not yet registered formulas whose evaluations are counted.
+	private static final int MAX_TRACKED_FORMULAS = 1000;
+	// Marks formulas whose automatic registration failed, so that it is not attempted again.
+	private static final int REGISTRATION_FAILED = -1;
 
 	Logger logger = LoggerFactory.getLogger(StateSpace.class);
 	private IAnimator animator;
 
-	private final Set<IEvalElement> registeredFormulas = new HashSet<>();
+	// Concurrent, because it is read by evaluation commands without holding autoRegistrationLock.
+	private final Set<IEvalElement> registeredFormulas = ConcurrentHashMap.newKeySet();
 	private final Map<IEvalElement, Set<Object>> formulaSubscribers = new HashMap<>();
 
 	/**
@@ -100,16 +211,54 @@ public class StateSpace implements IAnimator {
 	private LoadedMachine loadedMachine;
 
 	private final LoadingCache<String, State> states;
+	private final long maxCacheWeight;
+	/**
+	 * States with numeric IDs, if the primitive state index is enabled, otherwise {@code null}.
+	 * The root state and any other states with non-numeric IDs are always stored in {@link #states}.
+	 */
+	private final LongStateMap numericStates;
 
 	private AbstractModel model;
 	private AbstractElement mainComponent;
 	private volatile boolean killed;
 	private final Collection<IStatesCalculatedListener> statesCalculatedListeners = new ArrayList<>();
+	private volatile int evaluationBatchSize = DEFAULT_EVALUATION_BATCH_SIZE;
+
+	private final Object autoRegistrationLock = new Object();
+	private volatile int autoRegisterThreshold = Integer.getInteger(AUTO_REGISTER_THRESHOLD_PROPERTY, 0);
+	private int autoRegisterBudget = Integer.getInteger(AUTO_REGISTER_BUDGET_PROPERTY, DEFAULT_AUTO_REGISTER_BUDGET);
+	/**
+	 * Number of evaluations of formulas that are not registered yet.
+	 * Only the most recently used formulas are tracked, so that one-off formulas do not accumulate here.
+	 */
+	private final Map<IEvalElement, Integer> formulaEvaluationCounts = new LinkedHashMap<IEvalElement, Integer>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(final Map.Entry<IEvalElement, Integer> eldest) {
+			return this.size() > MAX_TRACKED_FORMULAS;
+		}
+	};
+	/**
+	 * Formulas that were registered automatically, in least recently used order.
+	 */
+	private final Map<IEvalElement, Boolean> autoRegisteredFormulas = new LinkedHashMap<>(16, 0.75f, true);
 
+	/**
+	 * Create a state space whose state cache is limited either by the number of states
+	 * or by the approximate memory used by the states.
+	 * 
+	 * @param panimator provides the animator used by this state space
+	 * @param maxSize the maximum number of cached states, only used if {@code maxWeight} is not positive
+	 * @param maxWeight the approximate maximum memory (in bytes) used by the cached states,
+	 *     or 0 to limit the cache by {@code maxSize} instead
+	 * @param primitiveStateIndex whether to store states with numeric IDs in a primitive {@code long}-keyed index
+	 *     instead of the general state cache, only used if the cache is limited by {@code maxSize}
+	 */
 	@Inject
-	public StateSpace(final Provider<IAnimator> panimator, @MaxCacheSize final int maxSize) {
+	public StateSpace(final Provider<IAnimator> panimator, @MaxCacheSize final int maxSize, @MaxCacheWeight final long maxWeight, @PrimitiveStateIndex final boolean primitiveStateIndex) {
 		animator = panimator.get();
-		states = CacheBuilder.newBuilder().maximumSize(maxSize).build(new CacheLoader<String, State>() {
+		final CacheLoader<String, State> loader = new CacheLoader<String, State>() {
 			@Override
 			public State load(final String key) {
 				CheckIfStateIdValidCommand cmd = new CheckIfStateIdValidCommand(key);
@@ -119,7 +268,29 @@ public class StateSpace implements IAnimator {
 				}
 				throw new IllegalArgumentException(key + " does not represent a valid state in the StateSpace");
 			}
-		});
+		};
+		this.maxCacheWeight = Math.max(maxWeight, 0);
+		if (this.isStateCacheWeighted()) {
+			// Guava splits the maximum weight evenly between the segments of the cache,
+			// so with multiple segments a single large state could be evicted immediately after it was added.
+			states = CacheBuilder.newBuilder()
+				.concurrencyLevel(1)
+				.maximumWeight(maxWeight)
+				.weigher((String id, State state) -> state.estimateMemoryFootprint())
+				.recordStats()
+				.build(loader);
+		} else {
+			states = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build(loader);
+		}
+		this.numericStates = primitiveStateIndex && !this.isStateCacheWeighted() ? new LongStateMap(maxSize) : null;
+	}
+
+	public StateSpace(final Provider<IAnimator> panimator, final int maxSize, final long maxWeight) {
+		this(panimator, maxSize, maxWeight, false);
+	}
+
+	public StateSpace(final Provider<IAnimator> panimator, final int maxSize) {
+		this(panimator, maxSize, 0);
 	}
 
 	/**
@@ -143,6 +314,19 @@ public class StateSpace implements IAnimator {
 	 *             if a state with the specified id doesn't exist
 	 */
 	public State getState(final String id) {
+		final long numericId = parseNumericId(id);
+		if (numericId >= 0) {
+			State state = numericStates.get(numericId);
+			if (state == null) {
+				final CheckIfStateIdValidCommand cmd = new CheckIfStateIdValidCommand(id);
+				execute(cmd);
+				if (!cmd.isValidState()) {
+					throw new IllegalArgumentException(id + " does not represent a valid state in the StateSpace");
+				}
+				state = numericStates.putIfAbsent(numericId, new State(id, this));
+			}
+			return state;
+		}
 		try {
 			return states.get(id);
 		} catch (ExecutionException | UncheckedExecutionException e) {
@@ -159,6 +343,10 @@ public class StateSpace implements IAnimator {
 	 * @return a state object associated with the given id.
 	 */
 	State addState(final String id) {
+		final long numericId = parseNumericId(id);
+		if (numericId >= 0) {
+			return addState(numericId, id);
+		}
 		State sId = states.getIfPresent(id);
 		if (sId != null) {
 			return sId;
@@ -170,6 +358,116 @@ public class StateSpace implements IAnimator {
 		return sId;
 	}
 
+	/**
+	 * Like {@link #addState(String)}, but for a state with a numeric ID.
+	 * If the primitive state index is enabled,
+	 * this avoids building the ID string unless the state is not in the state space yet.
+	 * 
+	 * @param id the numeric ID of the state
+	 * @return a state object associated with the given id
+	 */
+	State addState(final long id) {
+		if (numericStates == null || id < 0 || id > MAX_INDEXED_STATE_ID) {
+			return addState(String.valueOf(id));
+		}
+		return addState(id, null);
+	}
+
+	private State addState(final long numericId, final String id) {
+		final State state = numericStates.get(numericId);
+		if (state != null) {
+			return state;
+		}
+		return numericStates.putIfAbsent(numericId, new State(id == null ? String.valueOf(numericId) : id, this));
+	}
+
+	/**
+	 * Get the numeric value of a state ID if it should be stored in the primitive state index.
+	 * 
+	 * @param id the state ID
+	 * @return the numeric value of the ID, or -1 if the primitive state index is disabled
+	 *     or the ID is not the canonical decimal representation of a non-negative {@code long}
+	 */
+	private long parseNumericId(final String id) {
+		final int length = id.length();
+		// Longer IDs are not realistic and just use the normal cache.
+		if (numericStates == null || length == 0 || length > MAX_INDEXED_STATE_ID_DIGITS || (id.charAt(0) == '0' && length > 1)) {
+			return -1;
+		}
+		long value = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = id.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + (c - '0');
+		}
+		return value;
+	}
+
+	private boolean isStateCacheWeighted() {
+		return this.maxCacheWeight > 0;
+	}
+
+	/**
+	 * Update the weight of a cached state after its memory footprint has changed,
+	 * e. g. because it was explored or formula values were cached in it.
+	 * This does nothing if the state cache is limited by the number of states
+	 * or if the state is not currently cached.
+	 * 
+	 * @param state the state whose footprint has changed
+	 */
+	void updateCachedState(final State state) {
+		if (this.isStateCacheWeighted()) {
+			// Replacing the entry with itself makes the cache recompute its weight.
+			states.asMap().replace(state.getId(), state, state);
+		}
+	}
+
+	/**
+	 * Remove the cached formula values from all states that are currently in the state cache.
+	 * The states themselves (including their outgoing transitions) stay in the cache.
+	 * This can be used to free memory without losing the explored part of the state space,
+	 * because formula values can be re-evaluated when needed.
+	 * The cached values are also dropped automatically by the garbage collector when memory runs low.
+	 */
+	public void clearEvalCaches() {
+		for (final State state : states.asMap().values()) {
+			state.clearEvalCache();
+		}
+		if (numericStates != null) {
+			for (final State state : numericStates.values()) {
+				state.clearEvalCache();
+			}
+		}
+	}
+
+	/**
+	 * Get statistics about the cache of {@link State} objects in this state space.
+	 * Computing the estimated weight requires looking at all cached states,
+	 * so this method should not be called very frequently for large caches.
+	 * 
+	 * @return a snapshot of the current state cache statistics
+	 */
+	public StateCacheStatistics getStateCacheStatistics() {
+		final CacheStats stats = states.stats();
+		final List<State> cachedStates = new ArrayList<>(states.asMap().values());
+		long hits = stats.hitCount();
+		long misses = stats.missCount();
+		long evictions = stats.evictionCount();
+		if (numericStates != null) {
+			cachedStates.addAll(numericStates.values());
+			hits += numericStates.getHits();
+			misses += numericStates.getMisses();
+			evictions += numericStates.getEvictions();
+		}
+		long weight = 0;
+		for (final State state : cachedStates) {
+			weight += state.estimateMemoryFootprint();
+		}
+		return new StateCacheStatistics(hits, misses, evictions, cachedStates.size(), weight, this.maxCacheWeight);
+	}
+
 	/**
 	 * Most states in the state space use numeric ids. This method exists to
 	 * allow the user to access a given state via integer id instead of string
@@ -409,6 +707,10 @@ public class StateSpace implements IAnimator {
 	 * All {@linkplain #getSubscribedFormulas() subscribed formulas} are also automatically registered,
 	 * but not vice versa.
 	 * 
+	 * The returned set is a read-only view that is safe to use from any thread
+	 * and reflects later (un)registrations.
+	 * Use a copy if a consistent snapshot is needed.
+	 * 
 	 * @return set of all formulas currently registered for efficient evaluation
 	 */
 	public Set<IEvalElement> getRegisteredFormulas() {
@@ -431,6 +733,14 @@ public class StateSpace implements IAnimator {
 	 * @return all formulas that were newly registered
 	 */
 	public Collection<IEvalElement> registerFormulas(final Collection<? extends IEvalElement> formulas) {
+		synchronized (this.autoRegistrationLock) {
+			// Explicitly registered formulas must not be unregistered automatically.
+			this.autoRegisteredFormulas.keySet().removeAll(formulas);
+		}
+		return this.registerFormulasInternal(formulas);
+	}
+
+	private Collection<IEvalElement> registerFormulasInternal(final Collection<? extends IEvalElement> formulas) {
 		final List<IEvalElement> toRegister = new ArrayList<>();
 		for (final IEvalElement formula : formulas) {
 			if (!this.registeredFormulas.contains(formula)) {
@@ -454,6 +764,13 @@ public class StateSpace implements IAnimator {
 	 * @param formulas formulas to unregister
 	 */
 	public void unregisterFormulas(final Collection<? extends IEvalElement> formulas) {
+		synchronized (this.autoRegistrationLock) {
+			this.autoRegisteredFormulas.keySet().removeAll(formulas);
+		}
+		this.unregisterFormulasInternal(formulas);
+	}
+
+	private void unregisterFormulasInternal(final Collection<? extends IEvalElement> formulas) {
 		final List<IEvalElement> toUnregister = new ArrayList<>();
 		for (final IEvalElement formula : formulas) {
 			if (this.registeredFormulas.contains(formula)) {
@@ -467,6 +784,147 @@ public class StateSpace implements IAnimator {
 		}
 	}
 
+	/**
+	 * Get the number of evaluations after which a formula is automatically registered.
+	 * 
+	 * @return the automatic registration threshold, or 0 if automatic registration is disabled
+	 * @see #setAutoRegisterThreshold(int)
+	 */
+	public int getAutoRegisterThreshold() {
+		return this.autoRegisterThreshold;
+	}
+
+	/**
+	 * <p>
+	 * Set the number of evaluations after which a formula is automatically {@linkplain #registerFormulas(Collection) registered}.
+	 * This allows code that evaluates the same {@link IEvalElement} object many times (e. g. in many states)
+	 * to benefit from registration without registering the formula explicitly.
+	 * Formulas whose registration fails (e. g. because of type errors) are evaluated normally.
+	 * </p>
+	 * <p>
+	 * At most {@link #getAutoRegisterBudget()} formulas stay registered automatically.
+	 * When more formulas become hot, the least recently evaluated automatically registered formulas are unregistered again.
+	 * Explicitly registered and subscribed formulas are never unregistered automatically.
+	 * </p>
+	 * <p>
+	 * The default value can be set using the system property {@value #AUTO_REGISTER_THRESHOLD_PROPERTY}.
+	 * </p>
+	 * 
+	 * @param autoRegisterThreshold the automatic registration threshold, or 0 to disable automatic registration
+	 */
+	public void setAutoRegisterThreshold(final int autoRegisterThreshold) {
+		if (autoRegisterThreshold < 0) {
+			throw new IllegalArgumentException("Automatic registration threshold must not be negative: " + autoRegisterThreshold);
+		}
+		this.autoRegisterThreshold = autoRegisterThreshold;
+	}
+
+	/**
+	 * Get the maximum number of formulas that are registered automatically at the same time.
+	 * 
+	 * @return the automatic registration budget
+	 * @see #setAutoRegisterThreshold(int)
+	 */
+	public int getAutoRegisterBudget() {
+		synchronized (this.autoRegistrationLock) {
+			return this.autoRegisterBudget;
+		}
+	}
+
+	/**
+	 * Set the maximum number of formulas that are registered automatically at the same time.
+	 * The default value can be set using the system property {@value #AUTO_REGISTER_BUDGET_PROPERTY}.
+	 * 
+	 * @param autoRegisterBudget the automatic registration budget, must be at least 1
+	 * @see #setAutoRegisterThreshold(int)
+	 */
+	public void setAutoRegisterBudget(final int autoRegisterBudget) {
+		if (autoRegisterBudget < 1) {
+			throw new IllegalArgumentException("Automatic registration budget must be at least 1, not " + autoRegisterBudget);
+		}
+		synchronized (this.autoRegistrationLock) {
+			this.autoRegisterBudget = autoRegisterBudget;
+			this.unregisterColdFormulas(Collections.emptySet());
+		}
+	}
+
+	/**
+	 * Get all formulas that are currently registered because they were evaluated often.
+	 * 
+	 * @return the automatically registered formulas, from least to most recently evaluated
+	 * @see #setAutoRegisterThreshold(int)
+	 */
+	public List<IEvalElement> getAutoRegisteredFormulas() {
+		synchronized (this.autoRegistrationLock) {
+			return new ArrayList<>(this.autoRegisteredFormulas.keySet());
+		}
+	}
+
+	/**
+	 * Count evaluations of the given formulas and automatically register them once they become hot.
+	 * This should be called before the evaluation command for the formulas is created,
+	 * so that newly registered formulas are already referenced by their ID in the command.
+	 * 
+	 * @param formulas the formulas that are about to be evaluated
+	 */
+	void recordFormulaEvaluations(final Collection<? extends IEvalElement> formulas) {
+		final int threshold = this.autoRegisterThreshold;
+		if (threshold <= 0) {
+			return;
+		}
+		synchronized (this.autoRegistrationLock) {
+			final List<IEvalElement> hot = new ArrayList<>();
+			for (final IEvalElement formula : formulas) {
+				// Calling get also marks the formula as recently used.
+				if (formula instanceof CSP || this.autoRegisteredFormulas.get(formula) != null || this.registeredFormulas.contains(formula)) {
+					continue;
+				}
+				final Integer oldCount = this.formulaEvaluationCounts.get(formula);
+				if (oldCount != null && oldCount == REGISTRATION_FAILED) {
+					continue;
+				}
+				final int count = oldCount == null ? 1 : oldCount + 1;
+				if (count >= threshold) {
+					this.formulaEvaluationCounts.remove(formula);
+					hot.add(formula);
+				} else {
+					this.formulaEvaluationCounts.put(formula, count);
+				}
+			}
+			if (hot.isEmpty()) {
+				return;
+			}
+
+			try {
+				this.registerFormulasInternal(hot);
+			} catch (ProBError e) {
+				logger.warn("Failed to automatically register formulas {}, they will be evaluated without registration", hot, e);
+				hot.forEach(formula -> this.formulaEvaluationCounts.put(formula, REGISTRATION_FAILED));
+				return;
+			}
+			logger.debug("Automatically registered frequently evaluated formulas {}", hot);
+			hot.forEach(formula -> this.autoRegisteredFormulas.put(formula, Boolean.TRUE));
+			this.unregisterColdFormulas(hot);
+		}
+	}
+
+	private void unregisterColdFormulas(final Collection<IEvalElement> keep) {
+		final List<IEvalElement> cold = new ArrayList<>();
+		for (final IEvalElement formula : this.autoRegisteredFormulas.keySet()) {
+			if (this.autoRegisteredFormulas.size() - cold.size() <= this.autoRegisterBudget) {
+				break;
+			}
+			if (!keep.contains(formula) && !this.isSubscribed(formula)) {
+				cold.add(formula);
+			}
+		}
+		if (!cold.isEmpty()) {
+			cold.forEach(this.autoRegisteredFormulas::remove);
+			logger.debug("Automatically unregistered least recently evaluated formulas {}", cold);
+			this.unregisterFormulasInternal(cold);
+		}
+	}
+
 	/**
 	 * This method lets ProB know that the subscriber is interested in the
 	 * specified formulas. ProB will then evaluate the formulas for every state
@@ -967,14 +1425,19 @@ public class StateSpace implements IAnimator {
 	 * needs to be retrieved (i.e. parameters, return values, etc.) if the
 	 * transitions have not yet been evaluated
 	 * ({@link Transition#isEvaluated(EvalOptions)}).
+	 * Transitions that have already been evaluated with the same or stronger options
+	 * (see {@link EvalOptions#subsumes(EvalOptions)}) are not sent to ProB again,
+	 * and each transition is only requested once even if it occurs multiple times in {@code transitions}.
 	 *
 	 * @param transitions the transitions to be evaluated
 	 * @param options options for evaluation
 	 * @return map of all transitions and the corresponding evaluated infos
 	 */
 	public Map<Transition, EvaluatedTransitionInfo> evaluateTransitions(final Collection<Transition> transitions, final EvalOptions options) {
-		GetOpsFromIds cmd = new GetOpsFromIds(transitions, options);
-		execute(cmd);
+		final GetOpsFromIds cmd = new GetOpsFromIds(new LinkedHashSet<>(transitions), options);
+		if (!cmd.getSubcommands().isEmpty()) {
+			execute(cmd);
+		}
 		final Map<Transition, EvaluatedTransitionInfo> result = new LinkedHashMap<>(transitions.size());
 		for (final Transition transition : transitions) {
 			result.put(transition, transition.evaluate(options));
@@ -1016,15 +1479,65 @@ public class StateSpace implements IAnimator {
 	 */
 	public Map<State, Map<IEvalElement, AbstractEvalResult>> evaluateForGivenStates(final Collection<State> states,
 			final List<IEvalElement> formulas, final EvalOptions options) {
-		Map<State, Map<IEvalElement, AbstractEvalResult>> result = new HashMap<>();
+		// Every state only needs to be evaluated once, even if it is given multiple times (e. g. a trace with loops).
+		final Set<State> uniqueStates = new LinkedHashSet<>(states);
+		final List<State> statesToEvaluate = new ArrayList<>();
+		final List<EvaluateFormulasCommand> commands = new ArrayList<>();
+		for (State state : uniqueStates) {
+			final EvaluateFormulasCommand cmd = state.createEvaluateCommandForUncached(formulas, options);
+			if (cmd != null) {
+				statesToEvaluate.add(state);
+				commands.add(cmd);
+			}
+		}
 
-		for (State state : states) {
-			// TODO Optimize this again by sending all evaluation commands at once
-			result.put(state, state.evalFormulas(formulas, options));
+		// Send the evaluation commands for many states at once,
+		// but split them into chunks to keep the size of a single query bounded.
+		final int batchSize = this.evaluationBatchSize;
+		for (int start = 0; start < commands.size(); start += batchSize) {
+			final int end = Math.min(start + batchSize, commands.size());
+			final List<EvaluateFormulasCommand> batch = commands.subList(start, end);
+			if (batch.size() == 1) {
+				this.execute(batch.get(0));
+			} else {
+				this.execute(new ComposedCommand(batch));
+			}
+			for (int i = start; i < end; i++) {
+				statesToEvaluate.get(i).cacheEvaluationResults(commands.get(i), options);
+			}
 		}
 
+		Map<State, Map<IEvalElement, AbstractEvalResult>> result = new HashMap<>();
+		for (State state : uniqueStates) {
+			// All formulas are cached now, so this does not cause any further evaluation.
+			result.put(state, state.evalFormulas(formulas, options));
+		}
 		return result;
 	}
+
+	/**
+	 * Get the maximum number of states whose formulas are evaluated in a single query
+	 * by {@link #evaluateForGivenStates(Collection, List, EvalOptions)}.
+	 * 
+	 * @return the maximum number of states evaluated per query
+	 */
+	public int getEvaluationBatchSize() {
+		return this.evaluationBatchSize;
+	}
+
+	/**
+	 * Set the maximum number of states whose formulas are evaluated in a single query
+	 * by {@link #evaluateForGivenStates(Collection, List, EvalOptions)}.
+	 * Larger values need fewer round trips to ProB, but produce larger queries and answers.
+	 * 
+	 * @param evaluationBatchSize the maximum number of states evaluated per query, must be at least 1
+	 */
+	public void setEvaluationBatchSize(final int evaluationBatchSize) {
+		if (evaluationBatchSize < 1) {
+			throw new IllegalArgumentException("Evaluation batch size must be at least 1, not " + evaluationBatchSize);
+		}
+		this.evaluationBatchSize = evaluationBatchSize;
+	}
 	
 	/**
 	 * Evaluates all of the formulas for every specified state.
@@ -7,9 +7,9 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
@@ -37,6 +37,11 @@ public class Trace extends GroovyObjectSupport {
 	private final StateSpace stateSpace;
 	private final UUID uuid;
 	private final PersistentVector<Transition> transitionList;
+	/**
+	 * All elements of this trace, including the ones after {@link #current}, indexed by {@link TraceElement#getIndex()} + 1.
+	 * This allows navigating to any position in constant time instead of walking the linked list from {@link #head}.
+	 */
+	private final PersistentVector<TraceElement> elements;
 
 	public Trace(final StateSpace s) {
 		this(s.getRoot());
@@ -47,10 +52,10 @@ public class Trace extends GroovyObjectSupport {
 	}
 
 	public Trace(final StateSpace s, final TraceElement head, List<Transition> transitionList, UUID uuid) {
-		this(s, head, head, transitionList, uuid);
+		this(s, head, head, transitionList, collectElements(head), uuid);
 	}
 
-	private Trace(final StateSpace s, final TraceElement head, final TraceElement current, List<Transition> transitionList, UUID uuid) {
+	private Trace(final StateSpace s, final TraceElement head, final TraceElement current, List<Transition> transitionList, final PersistentVector<TraceElement> elements, UUID uuid) {
 		this.stateSpace = s;
 		this.head = head;
 		this.current = current;
@@ -59,9 +64,19 @@ public class Trace extends GroovyObjectSupport {
 		} else {
 			this.transitionList = PersistentVector.create(transitionList);
 		}
+		this.elements = elements;
 		this.uuid = uuid;
 	}
 
+	private static PersistentVector<TraceElement> collectElements(final TraceElement head) {
+		final List<TraceElement> elements = new ArrayList<>(head.getIndex() + 2);
+		for (TraceElement element = head; element != null; element = element.getPrevious()) {
+			elements.add(element);
+		}
+		Collections.reverse(elements);
+		return PersistentVector.create(elements);
+	}
+
 	public boolean isExploreStateByDefault() {
 		return exploreStateByDefault;
 	}
@@ -84,18 +99,23 @@ public class Trace extends GroovyObjectSupport {
 
 	/**
 	 * Get a list of all {@link TraceElement}s that make up this trace.
-	 * Currently, this list is newly constructed on every call to this method and is <i>not</i> cached.
-	 * To iterate over the trace more efficiently,
-	 * traverse the {@link TraceElement}s manually starting at {@link #getHead()} or {@link #getCurrent()}.
+	 * The returned list is immutable and shared with this trace, so this method does not copy anything.
 	 * 
 	 * @return list of all elements of this trace
 	 */
 	public List<TraceElement> getElements() {
-		final LinkedList<TraceElement> elements = new LinkedList<>();
-		for (TraceElement element = this.getHead(); element != null; element = element.getPrevious()) {
-			elements.addFirst(element);
-		}
-		return elements;
+		return this.elements;
+	}
+
+	/**
+	 * Get the element of this trace at a position.
+	 * 
+	 * @param index the {@link TraceElement#getIndex() index} of the element, -1 for the first element (the start state of the trace)
+	 * @return the element at the given position
+	 * @throws IndexOutOfBoundsException if there is no element at the given position
+	 */
+	public TraceElement getElement(final int index) {
+		return this.elements.nth(index + 1);
 	}
 
 	public AbstractEvalResult evalCurrent(String formula, EvalOptions options) {
@@ -175,7 +195,8 @@ public class Trace extends GroovyObjectSupport {
 		// TODO: Should we check to ensure that current.getCurrentState() == op.getSrcId()
 		final TraceElement newHE = new TraceElement(op, current);
 		final PersistentVector<Transition> transitionList = branchTransitionListIfNecessary(op);
-		final Trace newTrace = new Trace(stateSpace, newHE, transitionList, this.uuid);
+		final PersistentVector<TraceElement> elements = branchElementsIfNecessary(newHE);
+		final Trace newTrace = new Trace(stateSpace, newHE, newHE, transitionList, elements, this.uuid);
 		newTrace.setExploreStateByDefault(this.exploreStateByDefault);
 		if (exploreStateByDefault) {
 			op.getDestination().exploreIfNeeded();
@@ -220,7 +241,7 @@ public class Trace extends GroovyObjectSupport {
 	 */
 	public Trace back() {
 		if (canGoBack()) {
-			return new Trace(stateSpace, head, current.getPrevious(), transitionList, this.uuid);
+			return new Trace(stateSpace, head, current.getPrevious(), transitionList, elements, this.uuid);
 		}
 		return this;
 	}
@@ -230,30 +251,23 @@ public class Trace extends GroovyObjectSupport {
 	 */
 	public Trace forward() {
 		if (canGoForward()) {
-			TraceElement p = head;
-			while (!p.getPrevious().equals(current)) {
-				p = p.getPrevious();
-			}
-			return new Trace(stateSpace, head, p, transitionList, this.uuid);
+			return new Trace(stateSpace, head, this.getElement(current.getIndex() + 1), transitionList, elements, this.uuid);
 		}
 		return this;
 	}
 
+	/**
+	 * Move to any position in this trace.
+	 * If the position is outside of the trace, the current position is not changed.
+	 * 
+	 * @param pos the {@link TraceElement#getIndex() index} of the element to move to, -1 for the start of the trace
+	 * @return a trace with the same elements, with the current position moved to the given position
+	 */
 	public Trace gotoPosition(int pos) {
-		Trace trace = this;
-		int currentIndex = trace.getCurrent().getIndex();
-		if (pos == currentIndex) {
-			return trace;
-		} else if (pos > currentIndex && pos < size()) {
-			while (pos != trace.getCurrent().getIndex()) {
-				trace = trace.forward();
-			}
-		} else if (pos < currentIndex && pos >= -1) {
-			while (pos != trace.getCurrent().getIndex()) {
-				trace = trace.back();
-			}
+		if (pos == current.getIndex() || pos < -1 || pos > head.getIndex()) {
+			return this;
 		}
-		return trace;
+		return new Trace(stateSpace, head, this.getElement(pos), transitionList, elements, this.uuid);
 	}
 
 	public boolean canGoForward() {
@@ -264,6 +278,15 @@ public class Trace extends GroovyObjectSupport {
 		return current.getPrevious() != null;
 	}
 
+	private PersistentVector<TraceElement> branchElementsIfNecessary(TraceElement newElement) {
+		if (head.equals(current)) {
+			return elements.assocN(elements.size(), newElement);
+		} else {
+			final PersistentVector<TraceElement> branched = PersistentVector.create(elements.subList(0, current.getIndex() + 2));
+			return branched.assocN(branched.size(), newElement);
+		}
+	}
+
 	private PersistentVector<Transition> branchTransitionListIfNecessary(Transition newOp) {
 		if (head.equals(current)) {
 			return transitionList.assocN(transitionList.size(), newOp);
@@ -285,7 +308,48 @@ public class Trace extends GroovyObjectSupport {
 		return getCurrent().getIndex() + " previous transitions. Last executed transition: " + getCurrent().getTransition().evaluate(FormulaExpand.TRUNCATE).getRep();
 	}
 
+	/**
+	 * Execute a number of randomly chosen transitions, starting at the current state.
+	 * The animation stops early if a state without outgoing transitions is reached.
+	 * 
+	 * @param numOfSteps the maximum number of transitions to execute
+	 * @return a new trace with the executed transitions added
+	 * @see #randomAnimation(int, long)
+	 */
 	public Trace randomAnimation(final int numOfSteps) {
+		return this.randomAnimation(numOfSteps, new Random());
+	}
+
+	/**
+	 * Execute a number of randomly chosen transitions, starting at the current state.
+	 * The animation stops early if a state without outgoing transitions is reached.
+	 * Using the same seed on the same model (with the same preferences) results in the same trace.
+	 * 
+	 * @param numOfSteps the maximum number of transitions to execute
+	 * @param seed the seed for choosing the transitions
+	 * @return a new trace with the executed transitions added
+	 */
+	public Trace randomAnimation(final int numOfSteps, final long seed) {
+		return this.randomAnimation(numOfSteps, new Random(seed));
+	}
+
+	/**
+	 * <p>
+	 * Execute a number of randomly chosen transitions, starting at the current state.
+	 * The animation stops early if a state without outgoing transitions is reached.
+	 * </p>
+	 * <p>
+	 * The states visited during the random animation are not fully explored -
+	 * for each step, ProB only calculates the enabled operations of the current state.
+	 * The remaining information about each state (invariant status, errors, values of subscribed formulas, etc.)
+	 * is calculated lazily when it is first accessed.
+	 * </p>
+	 * 
+	 * @param numOfSteps the maximum number of transitions to execute
+	 * @param random the random number generator used to choose the transitions
+	 * @return a new trace with the executed transitions added
+	 */
+	public Trace randomAnimation(final int numOfSteps, final Random random) {
 		if (numOfSteps <= 0) {
 			return this;
 		}
@@ -293,20 +357,22 @@ public class Trace extends GroovyObjectSupport {
 		State currentState = this.current.getCurrentState();
 		TraceElement current = this.current;
 		PersistentVector<Transition> transitionList = this.transitionList;
+		PersistentVector<TraceElement> elements = this.elements;
 		try {
 			this.stateSpace.startTransaction();
 			for (int i = 0; i < numOfSteps; i++) {
-				final List<Transition> ops = currentState.getOutTransitions();
+				final List<Transition> ops = currentState.getOutTransitionsWithoutExploring();
 				if (ops.isEmpty()) {
 					break;
 				}
-				Collections.shuffle(ops);
-				final Transition op = ops.get(0);
+				final Transition op = ops.get(random.nextInt(ops.size()));
 				current = new TraceElement(op, current);
 				if (i == 0) {
 					transitionList = branchTransitionListIfNecessary(op);
+					elements = branchElementsIfNecessary(current);
 				} else {
 					transitionList = transitionList.assocN(transitionList.size(), op);
+					elements = elements.assocN(elements.size(), current);
 				}
 				currentState = op.getDestination();
 				if(Thread.currentThread().isInterrupted()) {
@@ -317,7 +383,7 @@ public class Trace extends GroovyObjectSupport {
 			this.stateSpace.endTransaction();
 		}
 
-		return new Trace(stateSpace, current, transitionList, this.uuid);
+		return new Trace(stateSpace, current, current, transitionList, elements, this.uuid);
 	}
 
 	/**
@@ -537,17 +603,76 @@ public class Trace extends GroovyObjectSupport {
 		final Transition first = ops.get(0);
 		TraceElement h = new TraceElement(first, current);
 		PersistentVector<Transition> transitionList = branchTransitionListIfNecessary(first);
+		PersistentVector<TraceElement> elements = branchElementsIfNecessary(h);
 		for (Transition op : ops.subList(1, ops.size())) {
 			h = new TraceElement(op, h);
 			transitionList = transitionList.assocN(transitionList.size(), op);
+			elements = elements.assocN(elements.size(), h);
 		}
-		return new Trace(stateSpace, h, transitionList, this.uuid);
+		return new Trace(stateSpace, h, h, transitionList, elements, this.uuid);
+	}
+
+	/**
+	 * <p>
+	 * Reconstruct the transitions of this trace in another state space that has the same model loaded,
+	 * starting in its root state.
+	 * State and transition IDs are assigned independently by each {@code probcli} instance,
+	 * so transitions are matched by name and by the serialized values of their destination states.
+	 * </p>
+	 * <p>
+	 * This is used to show a counter-example found in one {@code probcli} instance
+	 * (e. g. by a parallel model checker) in the state space that the user works with.
+	 * </p>
+	 * 
+	 * @param target the state space in which to reconstruct the trace
+	 * @return a new trace in {@code target} with the same transitions as this trace
+	 * @throws IllegalArgumentException if a transition cannot be found in {@code target}
+	 */
+	public Trace transferTo(final StateSpace target) {
+		if (target == this.stateSpace) {
+			return this;
+		}
+
+		final List<Transition> transitions = this.getTransitionList();
+		final List<SerializeStateCommand> expectedStates = transitions.stream()
+			.map(t -> new SerializeStateCommand(t.getDestination().getId()))
+			.collect(Collectors.toList());
+		if (!expectedStates.isEmpty()) {
+			this.stateSpace.execute(new ComposedCommand(expectedStates));
+		}
+
+		Trace result = new Trace(target);
+		for (int i = 0; i < transitions.size(); i++) {
+			final String name = transitions.get(i).getName();
+			final List<Transition> candidates = result.getCurrentState().getOutTransitionsWithoutExploring().stream()
+				.filter(t -> t.getName().equals(name))
+				.collect(Collectors.toList());
+			final List<SerializeStateCommand> candidateStates = candidates.stream()
+				.map(t -> new SerializeStateCommand(t.getDestination().getId()))
+				.collect(Collectors.toList());
+			if (!candidateStates.isEmpty()) {
+				target.execute(new ComposedCommand(candidateStates));
+			}
+			final String expectedState = expectedStates.get(i).getState();
+			Transition match = null;
+			for (int j = 0; j < candidates.size(); j++) {
+				if (candidateStates.get(j).getState().equals(expectedState)) {
+					match = candidates.get(j);
+					break;
+				}
+			}
+			if (match == null) {
+				throw new IllegalArgumentException("Could not find transition " + name + " at position " + i + " of the trace in the target state space");
+			}
+			result = result.add(match);
+		}
+		return result;
 	}
 
 	/**
 	 * @return an identical Trace object with a different UUID
 	 */
 	public Trace copy() {
-		return new Trace(stateSpace, head, current, transitionList, UUID.randomUUID());
+		return new Trace(stateSpace, head, current, transitionList, elements, UUID.randomUUID());
 	}
 }
@@ -214,15 +214,8 @@ public class Transition {
 		return name;
 	}
 
-	// TODO Replace this with evaluate(OLD_DEFAULT_EVAL_OPTIONS) once evaluate supports fuzzy matching
 	private EvaluatedTransitionInfo getCachedEvalInfoForRep() {
-		if (this.isEvaluated(OLD_DEFAULT_EVAL_OPTIONS.withExpand(FormulaExpand.EXPAND))) {
-			return this.evaluate(OLD_DEFAULT_EVAL_OPTIONS.withExpand(FormulaExpand.EXPAND));
-		} else if (this.isEvaluated(OLD_DEFAULT_EVAL_OPTIONS)) {
-			return this.evaluate(OLD_DEFAULT_EVAL_OPTIONS);
-		} else {
-			return null;
-		}
+		return this.getCachedEvalInfo(OLD_DEFAULT_EVAL_OPTIONS);
 	}
 
 	/**
@@ -345,9 +338,37 @@ public class Transition {
 	 * @param info result of the {@link GetOpFromId} command
 	 */
 	void addEvaluatedInfo(final EvalOptions options, final EvaluatedTransitionInfo info) {
+		for (final EvalOptions cachedOptions : this.evaluatedInfos.keySet()) {
+			if (!cachedOptions.equals(options) && cachedOptions.subsumes(options)) {
+				// A better result is already cached, which also answers all requests for the new options.
+				return;
+			}
+		}
+		// Results for weaker options are no longer needed, because the new result answers those requests as well.
+		this.evaluatedInfos.keySet().removeIf(options::subsumes);
 		this.evaluatedInfos.put(options, info);
 	}
 
+	/**
+	 * Find a cached result that can be used for the given options,
+	 * i. e. one whose options {@linkplain EvalOptions#subsumes(EvalOptions) subsume} the requested options.
+	 * 
+	 * @param options the requested evaluation options
+	 * @return the cached result, or {@code null} if there is no suitable result
+	 */
+	private EvaluatedTransitionInfo getCachedEvalInfo(final EvalOptions options) {
+		final EvaluatedTransitionInfo exact = this.evaluatedInfos.get(options);
+		if (exact != null) {
+			return exact;
+		}
+		for (final Map.Entry<EvalOptions, EvaluatedTransitionInfo> entry : this.evaluatedInfos.entrySet()) {
+			if (entry.getKey().subsumes(options)) {
+				return entry.getValue();
+			}
+		}
+		return null;
+	}
+
 	/**
 	 * The {@link Transition} is checked to see if the name, parameters, and
 	 * return values have been retrieved from ProB yet. If not, the retrieval
@@ -377,28 +398,26 @@ public class Transition {
 	/**
 	 * Retrieve the transition's parameter and return values from ProB.
 	 * The results are cached,
-	 * so if the transition has already ben evaluated before with the same options,
+	 * so if the transition has already been evaluated before with the same options
+	 * or with options that {@linkplain EvalOptions#subsumes(EvalOptions) subsume} them
+	 * (e. g. {@link FormulaExpand#EXPAND} instead of {@link FormulaExpand#TRUNCATE}),
 	 * that result is returned directly without calling ProB again.
 	 * 
 	 * @param options options to use when pretty-printing the parameter and return values
 	 * @return the transition's parameter and return values
 	 */
 	public EvaluatedTransitionInfo evaluate(final EvalOptions options) {
-		// TODO Reuse cached values where the options don't match exactly, but are strictly better, e. g.:
-		// If FormulaExpand.TRUNCATE was requested
-		// and the transition was already evaluated with FormulaExpand.EXPAND,
-		// then that result should be returned instead of re-evaluating with TRUNCATE.
-		// If FormulaExpand.EXPAND was requested
-		// and the transition was already evaluated with FormulaExpand.TRUNCATE,
-		// then the TRUNCATE result should be replaced by the EXPAND result instead of caching both.
-		if (!this.isEvaluated(options)) {
+		EvaluatedTransitionInfo info = this.getCachedEvalInfo(options);
+		if (info == null) {
 			stateSpace.execute(new GetOpFromId(this, options));
+			info = this.getCachedEvalInfo(options);
 		}
-		return this.evaluatedInfos.get(options);
+		return info;
 	}
 
 	/**
-	 * Check whether this transition has already been evaluated with the given options.
+	 * Check whether this transition has already been evaluated with the given options
+	 * or with options that {@linkplain EvalOptions#subsumes(EvalOptions) subsume} them.
 	 * If {@code true} is returned,
 	 * calling {@link #evaluate(EvalOptions)} with the same options
 	 * will return the cached results instead of re-evaluating the transition.
@@ -407,7 +426,7 @@ public class Transition {
 	 * @return whether evaluation results have already been cached for the given options
 	 */
 	public boolean isEvaluated(final EvalOptions options) {
-		return this.evaluatedInfos.containsKey(options);
+		return this.getCachedEvalInfo(options) != null;
 	}
 
 	/**
@@ -497,9 +516,22 @@ public class Transition {
 	public static Transition createTransitionFromCompoundPrologTerm(final StateSpace s, final CompoundPrologTerm cpt) {
 		String opId = Transition.getIdFromPrologTerm(cpt.getArgument(1));
 		String name = BindingGenerator.getCompoundTerm(cpt.getArgument(2), 0).getFunctor().intern();
-		String srcId = Transition.getIdFromPrologTerm(cpt.getArgument(3));
-		String destId = Transition.getIdFromPrologTerm(cpt.getArgument(4));
-		return new Transition(s, opId, name, s.addState(srcId), s.addState(destId));
+		return new Transition(s, opId, name, getStateFromPrologTerm(s, cpt.getArgument(3)), getStateFromPrologTerm(s, cpt.getArgument(4)));
+	}
+
+	/**
+	 * Look up or add the state with the given ID term.
+	 * Numeric IDs are passed to the state space as {@code long}s,
+	 * so that no ID string has to be built if the state is already known.
+	 */
+	private static State getStateFromPrologTerm(final StateSpace s, final PrologTerm idTerm) {
+		if (idTerm instanceof IntegerPrologTerm) {
+			final BigInteger id = BindingGenerator.getInteger(idTerm).getValue();
+			if (id.signum() >= 0 && id.bitLength() < Long.SIZE) {
+				return s.addState(id.longValue());
+			}
+		}
+		return s.addState(getIdFromPrologTerm(idTerm));
 	}
 
 	/**
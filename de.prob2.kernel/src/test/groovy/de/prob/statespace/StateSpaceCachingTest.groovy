@@ -132,6 +132,78 @@ class StateSpaceCachingTest extends Specification {
 		}
 	}
 
+	def "the cache can be limited by the estimated memory footprint of the states"() {
+		given:
+		final mainModule = new MainModule()
+		mainModule.maxCacheWeight = 4096
+		final injector = Guice.createInjector(mainModule)
+		final path = Paths.get("groovyTests", "machines", "scheduler.mch").toString()
+		final factory = injector.getInstance(ClassicalBFactory.class)
+
+		when:
+		final s = factory.extract(path).load([:])
+		Trace t = new Trace(s)
+		final weights = []
+		for (i in 1..10) {
+			t = t.anyEvent()
+			weights << s.stateCacheStatistics.estimatedWeight
+		}
+
+		then:
+		weights.every {it <= 4096}
+		s.stateCacheStatistics.maxWeight == 4096
+		s.stateCacheStatistics.evictions > 0
+
+		cleanup:
+		if (s != null) {
+			s.kill()
+		}
+	}
+
+	def "cached formula values can be dropped without removing the states"() {
+		when:
+		final root = s.root
+		root.explore()
+		final state = s.getState("0")
+		state.eval("card(waiting)")
+		final cachedBefore = state.evalCache.get().values().sum { it.size() }
+		s.clearEvalCaches()
+
+		then:
+		cachedBefore > 0
+		state.evalCache == null
+		s.states.getIfPresent("0").is(state)
+		state.eval("card(waiting)").value == "0"
+	}
+
+	def "cached formula values are evaluated again after the garbage collector dropped them"() {
+		when:
+		final root = s.root
+		root.explore()
+		final state = s.getState("0")
+		state.eval("card(waiting)")
+		// Simulate the garbage collector clearing the softly referenced cache when memory runs low.
+		state.evalCache.clear()
+
+		then:
+		state.evalCache.get() == null
+		s.states.getIfPresent("0").is(state)
+		state.eval("card(waiting)").value == "0"
+		state.evalCache.get() != null
+	}
+
+	def "state cache statistics count hits and misses"() {
+		when:
+		final before = s.stateCacheStatistics
+		s.root
+		s.root
+
+		then:
+		s.stateCacheStatistics.hits > before.hits
+		s.stateCacheStatistics.misses > before.misses
+		s.stateCacheStatistics.size > 0
+	}
+
 	def "trying to get a key from the LoadingCache that doesn't exist results in an exception"() {
 		when:
 		s.states.get("b")
@@ -5,6 +5,7 @@ import java.nio.file.Paths
 import de.prob.animator.domainobjects.AbstractEvalResult
 import de.prob.animator.domainobjects.CSP
 import de.prob.animator.domainobjects.ClassicalB
+import de.prob.animator.domainobjects.FormulaExpand
 import de.prob.animator.domainobjects.IEvalElement
 import de.prob.animator.domainobjects.IdentifierNotInitialised
 import de.prob.cli.CliTestCommon
@@ -157,6 +158,21 @@ class StateSpaceEvaluationTest extends Specification {
 		values[formula].getValue() == "1"
 	}
 
+	def "exploring a state also caches the values of all subscribed formulas"() {
+		when:
+		def formula = new ClassicalB("card(ready) + 2")
+		def formula2 = new ClassicalB("waiting \\/ active", FormulaExpand.EXPAND)
+		s.subscribe("explorer", formula)
+		s.subscribe("explorer", formula2)
+		def state = firstState.new("pp=PID2")
+		state.explore()
+		def cached = state.evalCache.get().values().collectMany { it.keySet() } as Set
+		then:
+		cached.contains(formula)
+		cached.contains(formula2)
+		state.values[formula].getValue() == "2"
+	}
+
 	class DummyObject {
 		def field = "I don't do much!"
 	}
@@ -279,4 +295,75 @@ class StateSpaceEvaluationTest extends Specification {
 		result[state3][waiting].getValue() == "{PID2}"
 		result[state4][waiting].getValue() == "{PID3}"
 	}
+
+	def "evaluation in multiple states is split into batches"() {
+		when:
+		def formula = new ClassicalB("card(waiting) + 100")
+		def states = (1..3).collect { firstState.new("pp=PID" + it) } + [root, firstState]
+		def oldBatchSize = s.evaluationBatchSize
+		s.evaluationBatchSize = 2
+		Map<State, Map<IEvalElement, AbstractEvalResult>> result
+		try {
+			result = s.evaluateForGivenStates(states, [formula])
+		} finally {
+			s.evaluationBatchSize = oldBatchSize
+		}
+		then:
+		result.keySet() == states as Set
+		result[root][formula] instanceof IdentifierNotInitialised
+		result[firstState][formula].getValue() == "100"
+		states.findAll { it != root && it != firstState }.every { result[it][formula].getValue() == "101" }
+	}
+
+	def "states given multiple times are only evaluated once"() {
+		when:
+		def formula = new ClassicalB("card(waiting) + 400")
+		def state2 = firstState.new("pp=PID1")
+		def states = [state2, firstState, state2, root, state2]
+		def oldBatchSize = s.evaluationBatchSize
+		s.evaluationBatchSize = 1
+		Map<State, Map<IEvalElement, AbstractEvalResult>> result
+		try {
+			result = s.evaluateForGivenStates(states, [formula])
+		} finally {
+			s.evaluationBatchSize = oldBatchSize
+		}
+		then:
+		result.size() == 3
+		result[state2][formula].getValue() == "401"
+		result[firstState][formula].getValue() == "400"
+		result[root][formula] instanceof IdentifierNotInitialised
+	}
+
+	def "frequently evaluated formulas are registered automatically within a budget"() {
+		when:
+		def hot = new ClassicalB("card(waiting) + 200")
+		def hot2 = new ClassicalB("card(waiting) + 300")
+		def states = (1..3).collect { firstState.new("pp=PID" + it) }
+		s.autoRegisterThreshold = 3
+		s.autoRegisterBudget = 1
+		def registeredAfterFirst
+		def values
+		try {
+			s.evaluateForGivenStates(states, [hot])
+			registeredAfterFirst = s.registeredFormulas.contains(hot)
+			values = s.evaluateForGivenStates(states, [hot2])
+		} finally {
+			s.autoRegisterThreshold = 0
+			s.autoRegisterBudget = 100
+		}
+		then:
+		registeredAfterFirst
+		s.autoRegisteredFormulas == [hot2]
+		!s.registeredFormulas.contains(hot)
+		s.registeredFormulas.contains(hot2)
+		states.every { values[it][hot2].getValue() == "301" }
+	}
+
+	def "the evaluation batch size must be positive"() {
+		when:
+		s.evaluationBatchSize = 0
+		then:
+		thrown(IllegalArgumentException)
+	}
 }
@@ -212,6 +212,34 @@ class TraceAnimationTest extends Specification {
 		t2.transitionList.size() == 5
 	}
 
+	def "random animation with the same seed produces the same trace"() {
+		when:
+		final t2 = t.randomAnimation(20, 42L)
+		final t3 = new Trace(s).randomAnimation(20, 42L)
+
+		then:
+		t2.transitionList.collect { it.id } == t3.transitionList.collect { it.id }
+	}
+
+	def "random animation does not explore the visited states until they are used"() {
+		given:
+		def path = System.getProperties().get("user.dir")+"/groovyTests/machines/scheduler.mch"
+		final freshStateSpace = CliTestCommon.injector.getInstance(ClassicalBFactory.class).extract(path).load([:])
+
+		when:
+		final t2 = new Trace(freshStateSpace).randomAnimation(5)
+		final visitedStates = t2.transitionList.collect { it.destination }
+		final exploredBefore = visitedStates.findAll { it.explored }
+
+		then:
+		exploredBefore.isEmpty()
+		t2.currentState.initialised
+		t2.currentState.explored
+
+		cleanup:
+		freshStateSpace.kill()
+	}
+
 	def "branching works for random animation as well"() {
 		when:
 		final t2 = t.$initialise_machine().new("pp=PID1")
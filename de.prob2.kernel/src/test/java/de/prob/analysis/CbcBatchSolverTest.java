@@ -0,0 +1,102 @@
+package de.prob.analysis;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.prob.animator.domainobjects.AbstractEvalResult;
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.animator.domainobjects.EvalResult;
+import de.prob.animator.domainobjects.IEvalElement;
+import de.prob.cli.CliTestCommon;
+import de.prob.exception.ProBError;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CbcBatchSolverTest {
+	private static Api api;
+	private StateSpace stateSpace;
+
+	@BeforeAll
+	static void beforeAll() {
+		api = CliTestCommon.getInjector().getInstance(Api.class);
+	}
+
+	@BeforeEach
+	void beforeEach() throws IOException, URISyntaxException {
+		String example_mch = Paths.get(CbcBatchSolverTest.class.getClassLoader()
+				.getResource("de/prob/testmachines/b/VariablesOnly.mch")
+				.toURI()).toString();
+		stateSpace = api.b_load(example_mch);
+	}
+
+	@AfterEach
+	void afterEach() {
+		stateSpace.kill();
+	}
+
+	private static List<IEvalElement> predicates(int count) {
+		List<IEvalElement> predicates = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			// every third predicate is a contradiction
+			predicates.add(new ClassicalB(i % 3 == 0 ? "x:INTEGER & x>" + i + " & x<" + i : "x:INTEGER & x=" + i));
+		}
+		return predicates;
+	}
+
+	private static void assertResultsInOrder(List<AbstractEvalResult> results, int count) {
+		assertEquals(count, results.size());
+		for (int i = 0; i < count; i++) {
+			if (i % 3 == 0) {
+				assertEquals(EvalResult.FALSE, results.get(i));
+			} else {
+				assertEquals(String.valueOf(i), ((EvalResult)results.get(i)).getSolution("x"));
+			}
+		}
+	}
+
+	@Test
+	void should_return_results_in_order_across_batches() {
+		CbcBatchSolver solver = new CbcBatchSolver(stateSpace);
+		solver.setBatchSize(4);
+		assertResultsInOrder(solver.solve(predicates(30)), 30);
+	}
+
+	@Test
+	void should_return_results_in_order_when_parallel() {
+		CbcBatchSolver solver = new CbcBatchSolver(stateSpace);
+		solver.setBatchSize(3);
+		solver.setParallelism(4);
+		assertResultsInOrder(solver.solve(predicates(30)), 30);
+	}
+
+	@Test
+	void should_restore_timeout_preference() {
+		String originalTimeout = stateSpace.getCurrentPreference("TIME_OUT");
+		CbcBatchSolver solver = new CbcBatchSolver(stateSpace);
+		solver.setBatchSize(5);
+		solver.setTimeout(1234);
+		assertResultsInOrder(solver.solve(predicates(12)), 12);
+		assertEquals(originalTimeout, stateSpace.getCurrentPreference("TIME_OUT"));
+	}
+
+	@Test
+	void should_report_error_of_single_predicate() {
+		List<IEvalElement> predicates = predicates(6);
+		predicates.add(3, new ClassicalB("x:INTEGER & x=TRUE"));
+		CbcBatchSolver solver = new CbcBatchSolver(stateSpace);
+		assertThrows(ProBError.class, () -> solver.solve(predicates));
+		assertTrue(solver.solve(predicates(6)).size() == 6);
+	}
+}
@@ -0,0 +1,164 @@
+package de.prob.animator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import de.prob.animator.command.AbstractCommand;
+import de.prob.animator.command.CheckIfStateIdValidCommand;
+import de.prob.animator.command.ComposedCommand;
+import de.prob.animator.command.GetErrorItemsCommand;
+import de.prob.animator.command.GetVersionCommand;
+import de.prob.animator.domainobjects.ErrorItem;
+import de.prob.cli.CliTestCommon;
+import de.prob.cli.ProBInstance;
+import de.prob.parser.ISimplifiedROMap;
+import de.prob.prolog.output.IPrologTermOutput;
+import de.prob.prolog.term.CompoundPrologTerm;
+import de.prob.prolog.term.ListPrologTerm;
+import de.prob.prolog.term.PrologTerm;
+import de.prob.statespace.AnimationSelector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public final class PiggybackedErrorsTest {
+	/**
+	 * Answers queries without a probcli instance.
+	 * The command under test binds {@code Result} to {@code ok} if it succeeds,
+	 * and the error getter returns the configured error items.
+	 */
+	private static final class FakeCommandProcessor extends CommandProcessor {
+		private final boolean commandSucceeds;
+		private final ListPrologTerm errors;
+		private int queries;
+
+		FakeCommandProcessor(final boolean commandSucceeds, final PrologTerm... errors) {
+			this.commandSucceeds = commandSucceeds;
+			this.errors = new ListPrologTerm(errors);
+		}
+
+		@Override
+		public IPrologResult sendCommand(final AbstractCommand command) {
+			this.queries++;
+			if (command instanceof GetErrorItemsCommand) {
+				return new YesResult(new SimplifiedROMap<>(Collections.singletonMap("Errors", this.errors)));
+			} else if (!this.commandSucceeds) {
+				return new NoResult();
+			} else if (command instanceof ComposedCommand) {
+				// The command and the appended error getter use the variable prefixes A and B.
+				final Map<String, PrologTerm> bindings = new HashMap<>();
+				bindings.put("AResult", new CompoundPrologTerm("ok"));
+				bindings.put("BErrors", this.errors);
+				return new YesResult(new SimplifiedROMap<>(bindings));
+			} else {
+				return new YesResult(new SimplifiedROMap<>(Collections.singletonMap("Result", new CompoundPrologTerm("ok"))));
+			}
+		}
+
+		@Override
+		public void configure(final ProBInstance cli) {
+			// No probcli instance is used.
+		}
+	}
+
+	private static final class RecordingCommand extends AbstractCommand {
+		private String result;
+		private List<ErrorItem> errors;
+
+		@Override
+		public void writeCommand(final IPrologTermOutput pto) {
+			pto.openTerm("test_command").printVariable("Result").closeTerm();
+		}
+
+		@Override
+		public void processResult(final ISimplifiedROMap<String, PrologTerm> bindings) {
+			this.result = bindings.get("Result").atomToString();
+		}
+
+		@Override
+		public void processErrorResult(final IPrologResult result, final List<ErrorItem> errors) {
+			this.errors = errors;
+		}
+	}
+
+	private static PrologTerm error(final String message, final String type) {
+		return new CompoundPrologTerm("error", new CompoundPrologTerm(message), new CompoundPrologTerm(type), new ListPrologTerm());
+	}
+
+	private static AnimatorImpl createAnimator(final FakeCommandProcessor processor, final boolean piggyback) {
+		final AnimatorImpl animator = new AnimatorImpl(null, processor, new GetErrorItemsCommand(), new AnimationSelector());
+		animator.setPiggybackErrors(piggyback);
+		return animator;
+	}
+
+	@Test
+	public void testSameResultInBothModes() {
+		final AnimatorImpl animator = (AnimatorImpl)CliTestCommon.getInjector().getInstance(IAnimator.class);
+		try {
+			for (final boolean piggyback : new boolean[] {false, true}) {
+				animator.setPiggybackErrors(piggyback);
+				final GetVersionCommand versionCommand = new GetVersionCommand();
+				final CheckIfStateIdValidCommand validCommand = new CheckIfStateIdValidCommand("root");
+				animator.execute(versionCommand);
+				animator.execute(validCommand);
+				Assertions.assertNotNull(versionCommand.getVersionString());
+				Assertions.assertTrue(validCommand.isValidState());
+			}
+		} finally {
+			animator.kill();
+		}
+	}
+
+	@Test
+	public void testSuccessfulCommandNeedsSingleQuery() {
+		final FakeCommandProcessor processor = new FakeCommandProcessor(true);
+		final RecordingCommand command = new RecordingCommand();
+		createAnimator(processor, true).execute(command);
+		Assertions.assertEquals("ok", command.result);
+		Assertions.assertEquals(1, processor.queries);
+	}
+
+	@Test
+	public void testWarningsOfSuccessfulCommandAreReported() {
+		for (final boolean piggyback : new boolean[] {false, true}) {
+			final AnimatorImpl animator = createAnimator(new FakeCommandProcessor(true, error("Test warning", "warning")), piggyback);
+			final List<ErrorItem> warnings = new ArrayList<>();
+			animator.addWarningListener(warnings::addAll);
+			final RecordingCommand command = new RecordingCommand();
+			animator.execute(command);
+			Assertions.assertEquals("ok", command.result);
+			Assertions.assertNull(command.errors);
+			Assertions.assertEquals(1, warnings.size());
+			Assertions.assertEquals("Test warning", warnings.get(0).getMessage());
+			Assertions.assertEquals(ErrorItem.Type.WARNING, warnings.get(0).getType());
+		}
+	}
+
+	@Test
+	public void testErrorsOfSuccessfulCommandAreFatal() {
+		for (final boolean piggyback : new boolean[] {false, true}) {
+			final RecordingCommand command = new RecordingCommand();
+			createAnimator(new FakeCommandProcessor(true, error("Test error", "error")), piggyback).execute(command);
+			Assertions.assertNull(command.result);
+			Assertions.assertEquals(1, command.errors.size());
+			Assertions.assertEquals("Test error", command.errors.get(0).getMessage());
+		}
+	}
+
+	@Test
+	public void testErrorsOfFailedCommandAreProcessed() {
+		for (final boolean piggyback : new boolean[] {false, true}) {
+			final FakeCommandProcessor processor = new FakeCommandProcessor(false, error("Test error", "error"));
+			final RecordingCommand command = new RecordingCommand();
+			createAnimator(processor, piggyback).execute(command);
+			Assertions.assertNull(command.result);
+			Assertions.assertEquals(1, command.errors.size());
+			Assertions.assertEquals("Test error", command.errors.get(0).getMessage());
+			// The error getter is not reached if the command fails, so the errors are always fetched separately.
+			Assertions.assertEquals(2, processor.queries);
+		}
+	}
+}
@@ -1,12 +1,18 @@
 package de.prob.animator.domainobjects;
 
+import java.util.Collections;
+
+import de.be4.classicalb.core.parser.BParser;
+import de.be4.classicalb.core.parser.analysis.prolog.ASTProlog;
+import de.be4.classicalb.core.parser.exceptions.BCompoundException;
+import de.prob.prolog.output.PrologTermStringOutput;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ClassicalBEvalElementTest {
-
 	@Test
 	public void testExpression() {
 		ClassicalB element = new ClassicalB("9");
@@ -35,4 +41,41 @@ public class ClassicalBEvalElementTest {
 		});
 	}
 
+	private static String printUncached(final ClassicalB element) {
+		final PrologTermStringOutput pout = new PrologTermStringOutput();
+		ASTProlog.printFormula(element.getAst(), pout);
+		return pout.toString();
+	}
+
+	private static String printCached(final ClassicalB element) {
+		final PrologTermStringOutput pout = new PrologTermStringOutput();
+		element.printProlog(pout);
+		return pout.toString();
+	}
+
+	@Test
+	public void testCachedPrologOutputIsUnchanged() {
+		ClassicalB element = new ClassicalB("x : 1..10 & y = {\"a\", \"b\"} & z = -3 & f = %i.(i : NAT | i * 2)");
+		assertEquals(printUncached(element), printCached(element));
+		// The second call uses the cached term.
+		assertEquals(printUncached(element), printCached(element));
+	}
+
+	@Test
+	public void testCachedPrologOutputOfLargeFormulaIsUnchanged() {
+		final String conjunct = "x : 1..10 & y = {1,2,3} & f = %i.(i : NAT | i * 2)";
+		ClassicalB element = new ClassicalB(String.join(" & ", Collections.nCopies(200, conjunct)));
+		final String expected = printUncached(element);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(expected, printCached(element));
+		}
+	}
+
+	@Test
+	public void testSubstitutionIsRejectedEveryTime() throws BCompoundException {
+		ClassicalB element = new ClassicalB(new BParser().parseSubstitution("x := 1"), "x := 1");
+		// Nothing is cached if the conversion fails.
+		assertThrows(EvaluationException.class, () -> printCached(element));
+		assertThrows(EvaluationException.class, () -> printCached(element));
+	}
 }
@@ -3,6 +3,10 @@ package de.prob.animator.domainobjects;
 import java.util.HashMap;
 import java.util.Map;
 
+import de.prob.prolog.term.CompoundPrologTerm;
+import de.prob.prolog.term.ListPrologTerm;
+import de.prob.prolog.term.PrologTerm;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -24,4 +28,22 @@ public class EvaluationResultTest {
 		assertEquals("does not work", c.getReason());
 	}
 
+	private static PrologTerm resultTerm(final String value) {
+		return new CompoundPrologTerm("result", new CompoundPrologTerm(value), new ListPrologTerm(), new ListPrologTerm());
+	}
+
+	@Test
+	public void testEqualValuesAreShared() {
+		final EvalResult.CacheStatistics before = EvalResult.getCacheStatistics();
+		final AbstractEvalResult first = EvalResult.getEvalResult(resultTerm("{1,2,3,4}"));
+		final AbstractEvalResult second = EvalResult.getEvalResult(resultTerm("{1,2,3,4}"));
+		final EvalResult.CacheStatistics after = EvalResult.getCacheStatistics();
+		assertSame(first, second);
+		assertEquals("{1,2,3,4}", ((EvalResult)second).getValue());
+		assertTrue(after.getHits() > before.getHits());
+		assertTrue(after.getSize() > 0);
+
+		EvalResult.clearCache();
+		assertNotSame(first, EvalResult.getEvalResult(resultTerm("{1,2,3,4}")));
+	}
 }
@@ -0,0 +1,93 @@
+package de.prob.check;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelCheckingSliceControllerTest {
+	private int processedNodes = 0;
+
+	private ModelCheckingStepStats step(ModelCheckingSliceController controller, int newProcessedNodes, long stepMillis) {
+		StateSpaceStats previous = new StateSpaceStats(processedNodes + 10, processedNodes * 2, processedNodes);
+		processedNodes += newProcessedNodes;
+		StateSpaceStats current = new StateSpaceStats(processedNodes + 10, processedNodes * 2, processedNodes);
+		return new ModelCheckingStepStats(current, previous, 1, 0, stepMillis, controller.getTimeout(), -1, -1);
+	}
+
+	@Test
+	void should_keep_fixed_policy_unchanged() {
+		ModelCheckingSliceController controller = new ModelCheckingSliceController(ModelCheckingSlicePolicy.FIXED);
+		for (int i = 0; i < 5; i++) {
+			controller.update(step(controller, 1000, controller.getTimeout()));
+		}
+		assertEquals(500, controller.getTimeout());
+	}
+
+	@Test
+	void should_grow_while_throughput_is_stable() {
+		ModelCheckingSliceController controller = new ModelCheckingSliceController(ModelCheckingSlicePolicy.BATCH);
+		for (int i = 0; i < 10; i++) {
+			// constant throughput of 2000 states per second
+			controller.update(step(controller, controller.getTimeout() * 2, controller.getTimeout()));
+		}
+		assertEquals(ModelCheckingSlicePolicy.BATCH.getMaximumTimeout(), controller.getTimeout());
+		assertEquals(2 * 2000 * ModelCheckingSlicePolicy.BATCH.getMaximumTimeout() / 1000, controller.getNodeBudget());
+	}
+
+	@Test
+	void should_shrink_when_throughput_changes() {
+		ModelCheckingSliceController controller = new ModelCheckingSliceController(100, 400, 1600);
+		controller.update(step(controller, 400, 400));
+		controller.update(step(controller, 400, 400));
+		assertEquals(800, controller.getTimeout());
+		controller.update(step(controller, 80, 800));
+		assertEquals(400, controller.getTimeout());
+	}
+
+	@Test
+	void should_shrink_when_step_overshoots() {
+		ModelCheckingSliceController controller = new ModelCheckingSliceController(ModelCheckingSlicePolicy.INTERACTIVE);
+		controller.update(step(controller, 1000, 2000));
+		assertTrue(controller.getTimeout() < ModelCheckingSlicePolicy.INTERACTIVE.getInitialTimeout());
+	}
+
+	@Test
+	void should_resolve_automatic_policy() {
+		assertEquals(ModelCheckingSlicePolicy.INTERACTIVE, ModelCheckingSlicePolicy.AUTOMATIC.resolve(true));
+		assertEquals(ModelCheckingSlicePolicy.BATCH, ModelCheckingSlicePolicy.AUTOMATIC.resolve(false));
+		assertEquals(ModelCheckingSlicePolicy.FIXED, ModelCheckingSlicePolicy.FIXED.resolve(true));
+	}
+
+	@Test
+	void should_use_fixed_policy_by_default() {
+		assertEquals(ModelCheckingSlicePolicy.FIXED, new ModelCheckingOptions().getSlicePolicy());
+		assertEquals(ModelCheckingSlicePolicy.FIXED, ModelCheckingOptions.DEFAULT.getSlicePolicy());
+	}
+
+	@Test
+	void should_not_limit_fixed_steps_below_state_limit() {
+		ModelCheckingLimitConfiguration limits = new ModelCheckingLimitConfiguration(null, null, 500, 250000, -1);
+		limits.setSliceController(new ModelCheckingSliceController(ModelCheckingSlicePolicy.FIXED));
+		assertEquals(250000, limits.getStepNodeLimit());
+		limits.setSliceController(new ModelCheckingSliceController(ModelCheckingSlicePolicy.BATCH));
+		assertEquals(100000, limits.getStepNodeLimit());
+	}
+
+	@Test
+	@SuppressWarnings("deprecation")
+	void should_keep_slice_controller_set_via_limit_configuration() {
+		ConsistencyChecker checker = new ConsistencyChecker(null, new ModelCheckingOptions().slicePolicy(ModelCheckingSlicePolicy.BATCH));
+		assertEquals(ModelCheckingSlicePolicy.BATCH.getInitialTimeout(), checker.getLimitConfiguration().getSliceController().getTimeout());
+		ModelCheckingSliceController custom = new ModelCheckingSliceController(100, 200, 300);
+		checker.getLimitConfiguration().setSliceController(custom);
+		assertSame(custom, checker.getLimitConfiguration().getSliceController());
+	}
+
+	@Test
+	void should_reject_invalid_durations() {
+		assertThrows(IllegalArgumentException.class, () -> new ModelCheckingSliceController(500, 100, 1000));
+	}
+}
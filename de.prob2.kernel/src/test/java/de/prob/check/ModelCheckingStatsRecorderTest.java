@@ -0,0 +1,60 @@
+package de.prob.check;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+import java.util.List;
+
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ModelCheckingStatsRecorderTest {
+	private StateSpace stateSpace;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+	}
+
+	@AfterEach
+	void afterEach() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void should_record_extended_stats_for_each_step() throws IOException {
+		ModelCheckingStatsRecorder recorder = new ModelCheckingStatsRecorder();
+		IModelCheckingResult result = new ConsistencyChecker(stateSpace, ModelCheckingOptions.DEFAULT, recorder).call();
+		assertFalse(result instanceof NotYetFinished);
+
+		List<ModelCheckingStepStats> steps = recorder.getSteps();
+		assertFalse(steps.isEmpty());
+		ModelCheckingStepStats last = steps.get(steps.size() - 1);
+		assertEquals(steps.size(), last.getStep());
+		assertTrue(steps.stream().mapToInt(ModelCheckingStepStats::getNrNewNodes).sum() <= last.getNrTotalNodes());
+		assertTrue(last.getMemoryUsed() > 0);
+		assertTrue(last.getGcTime() >= 0);
+
+		StringWriter csv = new StringWriter();
+		recorder.writeCsv(csv);
+		String[] csvLines = csv.toString().split("\n");
+		assertEquals(steps.size() + 1, csvLines.length);
+		assertTrue(csvLines[0].startsWith("jobId,step,"));
+
+		StringWriter json = new StringWriter();
+		recorder.writeJsonLines(json);
+		String[] jsonLines = json.toString().split("\n");
+		assertEquals(steps.size(), jsonLines.length);
+		assertTrue(jsonLines[0].startsWith("{\"jobId\":"));
+	}
+}
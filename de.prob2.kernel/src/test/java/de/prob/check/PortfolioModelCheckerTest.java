@@ -0,0 +1,78 @@
+package de.prob.check;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PortfolioModelCheckerTest {
+	private static final List<ModelCheckingSearchStrategy> STRATEGIES = Arrays.asList(
+		ModelCheckingSearchStrategy.MIXED_BF_DF,
+		ModelCheckingSearchStrategy.BREADTH_FIRST,
+		ModelCheckingSearchStrategy.DEPTH_FIRST
+	);
+
+	private StateSpace stateSpace;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+	}
+
+	@AfterEach
+	void afterEach() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void should_report_winning_configuration() {
+		List<ModelCheckingOptions> configurations = PortfolioModelChecker.withSearchStrategies(ModelCheckingOptions.DEFAULT, STRATEGIES);
+		PortfolioModelChecker checker = new PortfolioModelChecker(stateSpace, configurations);
+		IModelCheckingResult result = checker.call();
+
+		assertTrue(ParallelCheckers.isConclusive(result), result::toString);
+		assertTrue(checker.getWinningIndex() >= 0);
+		assertSame(configurations.get(checker.getWinningIndex()), checker.getWinningConfiguration());
+	}
+
+	@Test
+	void should_transfer_goal_trace_into_main_state_space() {
+		ModelCheckingOptions options = ModelCheckingOptions.DEFAULT.customGoal(new ClassicalB("card(waiting) = 2"));
+		PortfolioModelChecker checker = new PortfolioModelChecker(stateSpace, PortfolioModelChecker.withSearchStrategies(options, STRATEGIES));
+		IModelCheckingResult result = checker.call();
+
+		assertTrue(result instanceof ModelCheckGoalFound, result::toString);
+		Trace trace = ((ModelCheckGoalFound)result).getTrace(stateSpace);
+		assertSame(stateSpace, trace.getStateSpace());
+		assertEquals("TRUE", trace.evalCurrent("card(waiting) = 2").toString());
+	}
+
+	@Test
+	void should_not_interrupt_main_state_space_after_finishing() {
+		PortfolioModelChecker checker = new PortfolioModelChecker(stateSpace, PortfolioModelChecker.withSearchStrategies(ModelCheckingOptions.DEFAULT, STRATEGIES));
+		IModelCheckingResult result = checker.call();
+		assertTrue(ParallelCheckers.isConclusive(result), result::toString);
+
+		// A pending interrupt would make one of the following commands fail or return an interrupted result.
+		for (int i = 0; i < 3; i++) {
+			assertEquals("2", new Trace(stateSpace).evalCurrent("1 + 1").toString());
+		}
+		IModelCheckingResult again = new ConsistencyChecker(stateSpace, ModelCheckingOptions.DEFAULT).call();
+		assertTrue(again instanceof ModelCheckOk, again::toString);
+	}
+}
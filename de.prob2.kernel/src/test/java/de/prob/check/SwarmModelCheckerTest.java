@@ -0,0 +1,69 @@
+package de.prob.check;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicReference;
+
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SwarmModelCheckerTest {
+	private static final int WORKERS = 3;
+
+	private StateSpace stateSpace;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+	}
+
+	@AfterEach
+	void afterEach() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void should_find_goal_and_aggregate_stats() {
+		AtomicReference<StateSpaceStats> finishedStats = new AtomicReference<>();
+		IModelCheckListener listener = new IModelCheckListener() {
+			@Override
+			public void updateStats(String jobId, long timeElapsed, IModelCheckingResult result, StateSpaceStats stats) {}
+
+			@Override
+			public void isFinished(String jobId, long timeElapsed, IModelCheckingResult result, StateSpaceStats stats) {
+				finishedStats.set(stats);
+			}
+		};
+		ModelCheckingOptions options = ModelCheckingOptions.DEFAULT.customGoal(new ClassicalB("card(waiting) = 2"));
+		SwarmModelChecker checker = new SwarmModelChecker(stateSpace, options, WORKERS, 42L, listener);
+		IModelCheckingResult result = checker.call();
+
+		assertTrue(result instanceof ModelCheckGoalFound, result::toString);
+		Trace trace = ((ModelCheckGoalFound)result).getTrace(stateSpace);
+		assertSame(stateSpace, trace.getStateSpace());
+		assertEquals("TRUE", trace.evalCurrent("card(waiting) = 2").toString());
+
+		assertTrue(finishedStats.get() instanceof SwarmStateSpaceStats);
+		SwarmStateSpaceStats stats = (SwarmStateSpaceStats)finishedStats.get();
+		assertEquals(WORKERS, stats.getWorkerStats().size());
+		assertTrue(stats.getNrTotalNodes() >= stats.getMaxNrTotalNodes());
+	}
+
+	@Test
+	void should_derive_distinct_worker_seeds() {
+		assertEquals(42L, SwarmModelChecker.getWorkerSeed(42L, 0));
+		assertTrue(SwarmModelChecker.getWorkerSeed(42L, 1) != SwarmModelChecker.getWorkerSeed(42L, 2));
+	}
+}
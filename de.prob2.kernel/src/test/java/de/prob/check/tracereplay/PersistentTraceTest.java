@@ -0,0 +1,60 @@
+package de.prob.check.tracereplay;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+import de.prob.statespace.Transition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PersistentTraceTest {
+	private StateSpace stateSpace;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+	}
+
+	@AfterEach
+	void afterEach() {
+		stateSpace.kill();
+	}
+
+	private static List<PersistentTransition> createOneByOne(List<Transition> transitions) {
+		List<PersistentTransition> result = new ArrayList<>();
+		result.add(new PersistentTransition(transitions.get(transitions.size() - 1), true, null));
+		for (int i = transitions.size() - 2; i >= 0; i--) {
+			result.add(0, new PersistentTransition(transitions.get(i), true, result.get(0)));
+		}
+		return result;
+	}
+
+	@Test
+	void bulk_export_should_match_export_per_transition() {
+		Trace trace = new Trace(stateSpace).randomAnimation(40, 1L);
+		stateSpace.setEvaluationBatchSize(7);
+
+		List<PersistentTransition> bulk = new PersistentTrace(trace).getTransitionList();
+		List<PersistentTransition> oneByOne = createOneByOne(trace.getTransitionList());
+
+		assertEquals(trace.getTransitionList().size(), bulk.size());
+		assertEquals(oneByOne, bulk);
+	}
+
+	@Test
+	void bulk_export_should_respect_count() {
+		Trace trace = new Trace(stateSpace).randomAnimation(10, 2L);
+		assertEquals(createOneByOne(trace.getTransitionList().subList(0, 4)), new PersistentTrace(trace, 4).getTransitionList());
+	}
+}
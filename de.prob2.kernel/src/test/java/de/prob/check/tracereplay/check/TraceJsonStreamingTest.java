@@ -0,0 +1,92 @@
+package de.prob.check.tracereplay.check;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.prob.check.tracereplay.PersistentTrace;
+import de.prob.check.tracereplay.PersistentTransition;
+import de.prob.check.tracereplay.json.TraceJsonReader;
+import de.prob.check.tracereplay.json.TraceJsonWriter;
+import de.prob.check.tracereplay.json.TraceManager;
+import de.prob.check.tracereplay.json.storage.TraceJsonFile;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class TraceJsonStreamingTest {
+	private static TraceManager traceManager;
+	private static Api api;
+
+	@BeforeAll
+	static void beforeAll() {
+		traceManager = CliTestCommon.getInjector().getInstance(TraceManager.class);
+		api = CliTestCommon.getInjector().getInstance(Api.class);
+	}
+
+	private static List<PersistentTransition> readAll(TraceJsonReader reader) {
+		List<PersistentTransition> transitions = new ArrayList<>();
+		reader.forEachRemaining(transitions::add);
+		return transitions;
+	}
+
+	@Test
+	public void streamed_file_should_match_saved_file(@TempDir Path tempDir) throws IOException {
+		StateSpace stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+		try {
+			Trace trace = new Trace(stateSpace).randomAnimation(30, 3L);
+			TraceJsonFile file = new TraceJsonFile(trace, TraceJsonFile.metadataBuilder().build());
+			TraceJsonFile header = file.changeTrace(Collections.emptyList());
+
+			Path streamedPath = tempDir.resolve("streamed.prob2trace");
+			try (TraceJsonWriter writer = traceManager.openWriter(streamedPath, header)) {
+				for (PersistentTransition transition : new PersistentTrace(trace).getTransitionList()) {
+					writer.writeTransition(transition);
+				}
+				assertEquals(file.getTransitionList().size(), writer.getTransitionCount());
+			}
+
+			TraceJsonFile loaded = traceManager.load(streamedPath);
+			assertEquals(file.getTransitionList(), loaded.getTransitionList());
+			assertEquals(file.getVariableNames(), loaded.getVariableNames());
+
+			try (TraceJsonReader reader = traceManager.openReader(streamedPath)) {
+				// All other information is stored before the transitions.
+				assertEquals(file.getDescription(), reader.getHeader().getDescription());
+				assertEquals(file.getVariableNames(), reader.getHeader().getVariableNames());
+				assertEquals(file.getTransitionList(), readAll(reader));
+				assertEquals(file.getTransitionList().size(), reader.getTransitionCount());
+			}
+
+			Path savedPath = tempDir.resolve("saved.prob2trace");
+			traceManager.save(savedPath, file);
+			try (TraceJsonReader reader = traceManager.openReader(savedPath)) {
+				assertEquals(file.getTransitionList(), readAll(reader));
+				assertEquals(file.getVariableNames(), reader.getHeader().getVariableNames());
+			}
+		} finally {
+			stateSpace.kill();
+		}
+	}
+
+	@Test
+	public void old_format_should_be_converted_per_transition() throws IOException {
+		Path path = Paths.get("src", "test", "resources", "de", "prob", "testmachines", "traces", "test3.prob2trace");
+		TraceJsonFile loaded = traceManager.load(path);
+		try (TraceJsonReader reader = traceManager.openReader(path)) {
+			assertEquals(2, reader.getMetadata().getFormatVersion());
+			assertEquals(loaded.getTransitionList(), readAll(reader));
+			assertEquals(loaded.getMetadata().getFormatVersion(), reader.getHeader().getMetadata().getFormatVersion());
+		}
+	}
+}
@@ -3,6 +3,11 @@ package de.prob.cli;
 import java.io.BufferedReader;
 import java.io.StringReader;
 
+import com.google.inject.Injector;
+import com.google.inject.Key;
+
+import de.prob.annotations.Home;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -25,4 +30,59 @@ public class ProBInstanceProviderTest {
 		Assertions.assertEquals(61013, info.getPort());
 		Assertions.assertEquals(57124, info.getUserInterruptReference());
 	}
+
+	private static void awaitWarmInstance(final ProBInstanceProvider factory) throws InterruptedException {
+		for (int i = 0; i < 300 && factory.getPrewarmStatistics().getWarmInstances() < 1; i++) {
+			Thread.sleep(100);
+		}
+		Assertions.assertEquals(1, factory.getPrewarmStatistics().getWarmInstances());
+	}
+
+	@Test
+	public void testPrewarmedInstanceIsHandedOut() throws InterruptedException {
+		ProBInstanceProvider factory = CliTestCommon.getInjector().getInstance(ProBInstanceProvider.class);
+		factory.setPrewarmTargetSize(1);
+		try {
+			awaitWarmInstance(factory);
+
+			final long hitsBefore = factory.getPrewarmStatistics().getHits();
+			ProBInstance instance = factory.get();
+			Assertions.assertEquals(hitsBefore + 1, factory.getPrewarmStatistics().getHits());
+			Assertions.assertTrue(instance.isAlive());
+			instance.shutdown();
+		} finally {
+			factory.setPrewarmTargetSize(0);
+		}
+		Assertions.assertEquals(0, factory.getPrewarmStatistics().getWarmInstances());
+	}
+
+	@Test
+	public void testPrewarmingSurvivesShutdownAll() throws InterruptedException {
+		// Use a separate provider, so that shutdownAll does not affect the instances used by other tests.
+		final Injector injector = CliTestCommon.getInjector();
+		ProBInstanceProvider factory = new ProBInstanceProvider(
+			injector.getInstance(Key.get(String.class, Home.class)),
+			injector.getInstance(OsSpecificInfo.class),
+			injector.getInstance(Installer.class)
+		);
+		factory.setPrewarmTargetSize(1);
+		try {
+			awaitWarmInstance(factory);
+			factory.shutdownAll();
+			Assertions.assertEquals(1, factory.getPrewarmTargetSize());
+			awaitWarmInstance(factory);
+		} finally {
+			factory.stopPrewarming();
+		}
+		Assertions.assertEquals(0, factory.getPrewarmTargetSize());
+		Assertions.assertEquals(0, factory.getPrewarmStatistics().getWarmInstances());
+
+		// Pre-starting can be enabled again after it was stopped.
+		factory.setPrewarmTargetSize(1);
+		try {
+			awaitWarmInstance(factory);
+		} finally {
+			factory.stopPrewarming();
+		}
+	}
 }
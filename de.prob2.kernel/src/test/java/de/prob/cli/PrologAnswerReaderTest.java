@@ -0,0 +1,128 @@
+package de.prob.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.prob.animator.command.GetVersionCommand;
+import de.prob.parser.BindingGenerator;
+import de.prob.parser.ProBResultParser;
+import de.prob.prolog.output.PrologTermStringOutput;
+import de.prob.prolog.term.CompoundPrologTerm;
+import de.prob.prolog.term.FloatPrologTerm;
+import de.prob.prolog.term.IntegerPrologTerm;
+import de.prob.prolog.term.ListPrologTerm;
+import de.prob.prolog.term.PrologTerm;
+import de.prob.prolog.term.VariablePrologTerm;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PrologAnswerReaderTest {
+	private static PrologAnswerReader readerFor(final String input, final int bufferSize) {
+		return new PrologAnswerReader(Channels.newChannel(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8))), bufferSize);
+	}
+
+	private static PrologTerm readSingle(final String input) throws IOException {
+		return readerFor(input + "\u0001", 4).readAnswer();
+	}
+
+	@Test
+	public void testAtoms() throws IOException {
+		Assertions.assertTrue(readSingle("no").hasFunctor("no", 0));
+		Assertions.assertTrue(readSingle("interrupted").hasFunctor("interrupted", 0));
+		Assertions.assertEquals("Hello World", readSingle("'Hello World'").atomToString());
+		Assertions.assertEquals("it's", readSingle("'it''s'").atomToString());
+		Assertions.assertEquals("a\nb\\c'", readSingle("'a\\nb\\\\c\\''").atomToString());
+		Assertions.assertEquals("A", readSingle("'\\x41\\'").atomToString());
+		Assertions.assertEquals("∀x", readSingle("'∀x'").atomToString());
+		Assertions.assertEquals("=..", readSingle("=..").atomToString());
+		Assertions.assertTrue(((ListPrologTerm)readSingle("[]")).isEmpty());
+	}
+
+	@Test
+	public void testNumbers() throws IOException {
+		Assertions.assertEquals(BigInteger.valueOf(42), ((IntegerPrologTerm)readSingle("42")).getValue());
+		Assertions.assertEquals(BigInteger.valueOf(-7), ((IntegerPrologTerm)readSingle("-7")).getValue());
+		Assertions.assertEquals(new BigInteger("123456789012345678901234567890"), ((IntegerPrologTerm)readSingle("123456789012345678901234567890")).getValue());
+		Assertions.assertEquals(BigInteger.valueOf(3), ((IntegerPrologTerm)readSingle("3.")).getValue());
+		Assertions.assertEquals(new FloatPrologTerm(1.5), readSingle("1.5"));
+		Assertions.assertEquals(new FloatPrologTerm(-2.5e-3), readSingle("-2.5E-3"));
+		Assertions.assertEquals(new FloatPrologTerm(0.25), readSingle("0.25."));
+	}
+
+	@Test
+	public void testCompoundsAndLists() throws IOException {
+		final PrologTerm answer = readSingle("yes([=('X',foo(1,'B',[a,b|[c]])),=('Y',_123)])");
+		Assertions.assertTrue(answer.hasFunctor("yes", 1));
+		final ListPrologTerm bindings = (ListPrologTerm)answer.getArgument(1);
+		Assertions.assertEquals(2, bindings.size());
+		final PrologTerm x = bindings.get(0);
+		Assertions.assertTrue(x.hasFunctor("=", 2));
+		Assertions.assertEquals("X", x.getArgument(1).atomToString());
+		final PrologTerm foo = x.getArgument(2);
+		Assertions.assertTrue(foo.hasFunctor("foo", 3));
+		Assertions.assertEquals(3, ((ListPrologTerm)foo.getArgument(3)).size());
+		Assertions.assertTrue(bindings.get(1).getArgument(2) instanceof VariablePrologTerm);
+	}
+
+	@Test
+	public void testOldStyleLists() throws IOException {
+		final PrologTerm list = readSingle("'.'(a,'.'(b,[]))");
+		Assertions.assertTrue(list instanceof ListPrologTerm);
+		Assertions.assertEquals(2, ((ListPrologTerm)list).size());
+	}
+
+	@Test
+	public void testPartialLists() throws IOException {
+		final PrologTerm list = readSingle("[a,b|_123]");
+		Assertions.assertEquals(new CompoundPrologTerm(".", new CompoundPrologTerm("a"), new CompoundPrologTerm(".", new CompoundPrologTerm("b"), new VariablePrologTerm("_123"))), list);
+		final PrologTerm oldStyle = readSingle("'[|]'(a,T)");
+		Assertions.assertEquals(new CompoundPrologTerm("[|]", new CompoundPrologTerm("a"), new VariablePrologTerm("T")), oldStyle);
+	}
+
+	private static Map<String, PrologTerm> readBindings(final String answer) throws IOException {
+		final PrologTerm term = readSingle(answer);
+		Assertions.assertTrue(term.hasFunctor("yes", 1), answer);
+		final Map<String, PrologTerm> bindings = new HashMap<>();
+		for (final PrologTerm binding : (ListPrologTerm)term.getArgument(1)) {
+			bindings.put(binding.getArgument(1).atomToString(), binding.getArgument(2));
+		}
+		return bindings;
+	}
+
+	@Test
+	public void testSameTermsAsResultParser() throws IOException {
+		final PrologTermStringOutput versionQuery = new PrologTermStringOutput();
+		new GetVersionCommand().writeCommand(versionQuery);
+		versionQuery.printAtom("true").fullstop();
+		final String[] queries = {
+			versionQuery.toString(),
+			"X = [a,b|T], Y = '.'(1,[]), Z = foo('it''s', \"text\", {}, [], 'A\\nB'), true.",
+			"F = 1.5, G = -2.5e-3, H = 1.0e20, I = 123456789012345678901234567890, J = -7, true.",
+		};
+		final ProBInstance instance = CliTestCommon.getInjector().getInstance(ProBInstanceProvider.class).get();
+		try {
+			for (final String query : queries) {
+				final String answer = instance.send(query);
+				Assertions.assertEquals(BindingGenerator.createBinding(ProBResultParser.parse(answer)), readBindings(answer), answer);
+			}
+		} finally {
+			instance.shutdown();
+		}
+	}
+
+	@Test
+	public void testMultipleAnswers() throws IOException {
+		final PrologAnswerReader reader = readerFor("progress(step(1))\u0001\nyes([])\u0001'raw answer'\u0001", 3);
+		Assertions.assertTrue(reader.readAnswer().hasFunctor("progress", 1));
+		Assertions.assertTrue(reader.readAnswer().hasFunctor("yes", 1));
+		Assertions.assertEquals("'raw answer'", reader.readRawAnswer());
+		Assertions.assertThrows(EOFException.class, reader::readAnswer);
+	}
+}
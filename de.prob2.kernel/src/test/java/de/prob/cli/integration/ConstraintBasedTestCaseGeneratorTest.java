@@ -0,0 +1,80 @@
+package de.prob.cli.integration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import de.prob.analysis.testcasegeneration.ConstraintBasedTestCaseGenerator;
+import de.prob.analysis.testcasegeneration.TestCaseGeneratorMCDCSettings;
+import de.prob.analysis.testcasegeneration.TestCaseGeneratorResult;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.ClassicalBFactory;
+import de.prob.scripting.ExtractedModel;
+import de.prob.statespace.StateSpace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ConstraintBasedTestCaseGeneratorTest {
+	private static final int WORKERS = 3;
+
+	private StateSpace stateSpace;
+	private List<StateSpace> workerStateSpaces;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		final ClassicalBFactory factory = CliTestCommon.getInjector().getInstance(ClassicalBFactory.class);
+		final ExtractedModel<?> model = factory.extract(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+		this.stateSpace = model.load();
+		this.workerStateSpaces = new ArrayList<>();
+		for (int i = 0; i < WORKERS; i++) {
+			this.workerStateSpaces.add(model.load());
+		}
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.stateSpace.kill();
+		this.workerStateSpaces.forEach(StateSpace::kill);
+	}
+
+	private static List<String> describeTestCases(final TestCaseGeneratorResult result) {
+		return result.getTestTraces().stream()
+			.map(trace -> trace.getTransitionNames() + " -> " + trace.getTarget())
+			.collect(Collectors.toList());
+	}
+
+	private static List<String> describeUncovered(final TestCaseGeneratorResult result) {
+		return result.getUncoveredTargets().stream()
+			.map(Object::toString)
+			.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testParallelGenerationMatchesSequential() {
+		final TestCaseGeneratorMCDCSettings settings = new TestCaseGeneratorMCDCSettings(3, 2);
+		final TestCaseGeneratorResult sequential = new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList()).generateTestCases();
+		final TestCaseGeneratorResult parallel = new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList(), this.workerStateSpaces).generateTestCases();
+		Assertions.assertFalse(parallel.isInterrupted());
+		Assertions.assertFalse(sequential.getTestTraces().isEmpty());
+		Assertions.assertEquals(describeTestCases(sequential), describeTestCases(parallel));
+		Assertions.assertEquals(describeUncovered(sequential), describeUncovered(parallel));
+		parallel.getTestTraces().stream()
+			.filter(trace -> trace.getTrace() != null)
+			.forEach(trace -> Assertions.assertSame(this.stateSpace, trace.getTrace().getStateSpace()));
+	}
+
+	@Test
+	public void testSingleWorkerMatchesSequential() {
+		final TestCaseGeneratorMCDCSettings settings = new TestCaseGeneratorMCDCSettings(2, 2);
+		final TestCaseGeneratorResult sequential = new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList()).generateTestCases();
+		final TestCaseGeneratorResult parallel = new ConstraintBasedTestCaseGenerator(this.stateSpace, settings, Collections.emptyList(), this.workerStateSpaces.subList(0, 1)).generateTestCases();
+		Assertions.assertEquals(describeTestCases(sequential), describeTestCases(parallel));
+		Assertions.assertEquals(describeUncovered(sequential), describeUncovered(parallel));
+	}
+}
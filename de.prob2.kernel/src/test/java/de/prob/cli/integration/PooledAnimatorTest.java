@@ -0,0 +1,130 @@
+package de.prob.cli.integration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import de.prob.animator.PooledAnimator;
+import de.prob.animator.command.EvaluateFormulasCommand;
+import de.prob.animator.command.GetPreferenceCommand;
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.animator.domainobjects.TypeCheckResult;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.ClassicalBFactory;
+import de.prob.statespace.StateSpace;
+import de.prob.statespace.Trace;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class PooledAnimatorTest {
+	private static final int POOL_SIZE = 3;
+
+	private PooledAnimator animator;
+	private StateSpace stateSpace;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		final ClassicalBFactory factory = CliTestCommon.getInjector().getInstance(ClassicalBFactory.class);
+		this.animator = CliTestCommon.getInjector().getInstance(PooledAnimator.class);
+		this.stateSpace = this.animator.load(
+			factory.extract(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString()),
+			Collections.emptyMap(),
+			POOL_SIZE
+		);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.stateSpace.kill();
+	}
+
+	@Test
+	public void testPoolSize() {
+		Assertions.assertEquals(POOL_SIZE, this.animator.getPoolSize());
+	}
+
+	@Test
+	public void testStatefulCommandsUsePrimary() {
+		final Trace trace = new Trace(this.stateSpace).randomAnimation(5);
+		Assertions.assertEquals(5, trace.size());
+		Assertions.assertEquals(0, this.animator.getWorkerCommandCount());
+	}
+
+	@Test
+	public void testParallelTypeChecking() {
+		final List<TypeCheckResult> results = IntStream.range(0, 50)
+			.parallel()
+			.mapToObj(i -> this.stateSpace.typeCheck(new ClassicalB("active \\/ {" + i + "} = {}")))
+			.collect(Collectors.toList());
+		Assertions.assertEquals(50, results.size());
+		results.forEach(result -> Assertions.assertFalse(result.isOk()));
+		Assertions.assertTrue(this.animator.getWorkerCommandCount() > 0);
+	}
+
+	@Test
+	public void testParallelRootEvaluation() {
+		final List<String> results = IntStream.range(0, 50)
+			.parallel()
+			.mapToObj(i -> {
+				final EvaluateFormulasCommand cmd = new EvaluateFormulasCommand(Collections.singletonList(new ClassicalB(i + "+1")), "root");
+				this.stateSpace.execute(cmd);
+				return cmd.getValues().get(0).toString();
+			})
+			.collect(Collectors.toList());
+		for (int i = 0; i < results.size(); i++) {
+			Assertions.assertEquals(String.valueOf(i + 1), results.get(i));
+		}
+	}
+
+	private List<String> evaluateInParallel(final String formula, final int count) {
+		return IntStream.range(0, count)
+			.parallel()
+			.mapToObj(i -> {
+				final EvaluateFormulasCommand cmd = new EvaluateFormulasCommand(Collections.singletonList(new ClassicalB(formula)), "root");
+				this.stateSpace.execute(cmd);
+				return cmd.getValues().get(0).toString();
+			})
+			.collect(Collectors.toList());
+	}
+
+	@Test
+	public void testPreferenceChangeAfterLoadReachesWorkers() {
+		// Make sure that every worker has executed a command with the old preferences before.
+		this.evaluateInParallel("MAXINT", 50);
+		final long workerCommandsBefore = this.animator.getWorkerCommandCount();
+
+		this.stateSpace.changePreferences(Collections.singletonMap("MAXINT", "1234"));
+		final List<String> results = this.evaluateInParallel("MAXINT", 50);
+		Assertions.assertTrue(this.animator.getWorkerCommandCount() > workerCommandsBefore);
+		results.forEach(result -> Assertions.assertEquals("1234", result));
+	}
+
+	@Test
+	public void testResetProBIsRefusedWhileStateSpaceIsLive() {
+		this.stateSpace.changePreferences(Collections.singletonMap("MAXINT", "1234"));
+		Assertions.assertThrows(IllegalStateException.class, this.animator::resetProB);
+		// The refused reset must not have unloaded the model or reset the preferences of any instance.
+		Assertions.assertEquals(POOL_SIZE, this.animator.getPoolSize());
+		final GetPreferenceCommand cmd = new GetPreferenceCommand("MAXINT");
+		this.animator.execute(cmd);
+		Assertions.assertEquals("1234", cmd.getValue());
+		// Stateless evaluation in the root state (executed by the workers if any are idle)
+		this.evaluateInParallel("MAXINT + 1", 20).forEach(result -> Assertions.assertEquals("1235", result));
+		// State-dependent command (executed by the primary instance)
+		final Trace trace = new Trace(this.stateSpace).randomAnimation(3);
+		Assertions.assertEquals(3, trace.size());
+		Assertions.assertEquals("TRUE", trace.getCurrentState().eval("card(active) <= 1").toString());
+	}
+
+	@Test
+	public void testResetProBIsRefusedAfterKill() {
+		this.stateSpace.kill();
+		Assertions.assertThrows(IllegalStateException.class, this.animator::resetProB);
+	}
+}
@@ -0,0 +1,110 @@
+package de.prob.cli.integration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import de.prob.animator.domainobjects.ClassicalB;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.ClassicalBFactory;
+import de.prob.simulation.RandomWalkResult;
+import de.prob.simulation.RandomWalkSimulator;
+import de.prob.simulation.SimulationStatistics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public final class RandomWalkSimulatorTest {
+	private static final Logger LOGGER = LoggerFactory.getLogger(RandomWalkSimulatorTest.class);
+	private static final int WORKERS = 2;
+	private static final int WALKS = 20;
+	private static final int MAX_STEPS = 15;
+
+	private RandomWalkSimulator simulator;
+
+	private static RandomWalkSimulator loadSimulator(final int workers) throws IOException {
+		final ClassicalBFactory factory = CliTestCommon.getInjector().getInstance(ClassicalBFactory.class);
+		return RandomWalkSimulator.load(
+			factory.extract(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString()),
+			Collections.emptyMap(),
+			workers
+		);
+	}
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		this.simulator = loadSimulator(WORKERS);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.simulator.kill();
+	}
+
+	private Map<Integer, RandomWalkResult> runWalks(final long seed) {
+		return runWalks(this.simulator, seed);
+	}
+
+	private static Map<Integer, RandomWalkResult> runWalks(final RandomWalkSimulator simulator, final long seed) {
+		final Map<Integer, RandomWalkResult> results = new TreeMap<>();
+		final SimulationStatistics statistics = simulator.run(seed, WALKS, MAX_STEPS, new ClassicalB("card(active)"), result -> results.put(result.getWalkIndex(), result));
+		LOGGER.info("Simulation statistics: {}", statistics);
+		Assertions.assertEquals(WALKS, statistics.getWalks());
+		Assertions.assertEquals(simulator.getWorkerCount(), statistics.getWorkers());
+		Assertions.assertEquals(results.values().stream().mapToLong(RandomWalkResult::getSteps).sum(), statistics.getTotalSteps());
+		return results;
+	}
+
+	@Test
+	public void testAllWalksExecuted() {
+		final Map<Integer, RandomWalkResult> results = this.runWalks(42L);
+		Assertions.assertEquals(WALKS, results.size());
+		for (final RandomWalkResult result : results.values()) {
+			Assertions.assertTrue(result.getSteps() > 0);
+			Assertions.assertTrue(result.getSteps() <= MAX_STEPS);
+			Assertions.assertEquals(result.getSteps() + 1, result.getSamples().size());
+		}
+	}
+
+	@Test
+	public void testSameSeedSameWalks() {
+		final Map<Integer, RandomWalkResult> first = this.runWalks(1234L);
+		final Map<Integer, RandomWalkResult> second = this.runWalks(1234L);
+		for (int i = 0; i < WALKS; i++) {
+			Assertions.assertEquals(first.get(i).getTransitionNames(), second.get(i).getTransitionNames());
+			Assertions.assertEquals(sampleStrings(first.get(i)), sampleStrings(second.get(i)));
+		}
+	}
+
+	@Test
+	public void testSameSeedSameWalksWithDifferentWorkerCounts() throws IOException {
+		final Map<Integer, RandomWalkResult> parallel = this.runWalks(5678L);
+		final Map<Integer, RandomWalkResult> single;
+		final RandomWalkSimulator singleWorker = loadSimulator(1);
+		try {
+			single = runWalks(singleWorker, 5678L);
+		} finally {
+			singleWorker.kill();
+		}
+		for (int i = 0; i < WALKS; i++) {
+			Assertions.assertEquals(single.get(i).getSeed(), parallel.get(i).getSeed());
+			Assertions.assertEquals(single.get(i).getTransitionNames(), parallel.get(i).getTransitionNames());
+			Assertions.assertEquals(single.get(i).isDeadlocked(), parallel.get(i).isDeadlocked());
+			Assertions.assertEquals(sampleStrings(single.get(i)), sampleStrings(parallel.get(i)));
+		}
+	}
+
+	private static List<String> sampleStrings(final RandomWalkResult result) {
+		return result.getSamples().stream()
+			.map(Object::toString)
+			.collect(Collectors.toList());
+	}
+}
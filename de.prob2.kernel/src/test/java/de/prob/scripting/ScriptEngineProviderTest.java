@@ -0,0 +1,88 @@
+package de.prob.scripting;
+
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import de.prob.cli.CliTestCommon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public final class ScriptEngineProviderTest {
+	private ScriptEngineProvider provider;
+
+	@BeforeEach
+	public void setUp() {
+		this.provider = CliTestCommon.getInjector().getInstance(ScriptEngineProvider.class);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		this.provider.setWarmEnginesTargetSize(0);
+	}
+
+	@Test
+	public void testCompiledScriptsAreSharedBetweenEngines() throws ScriptException {
+		final String script = "def x = 20; x + 22";
+		Assertions.assertEquals(42, this.provider.get().eval(script));
+		final long hitsBefore = this.provider.getStatistics().getCompiledScriptHits();
+		Assertions.assertEquals(42, this.provider.get().eval(script));
+		// At least the init script and the script itself were taken from the cache.
+		Assertions.assertTrue(this.provider.getStatistics().getCompiledScriptHits() >= hitsBefore + 2);
+	}
+
+	@Test
+	public void testEnginesDoNotShareVariables() throws ScriptException {
+		final ScriptEngine first = this.provider.get();
+		first.eval("leaked = 1");
+		Assertions.assertEquals(1, first.eval("leaked"));
+		Assertions.assertThrows(ScriptException.class, () -> this.provider.get().eval("leaked"));
+	}
+
+	@Test
+	public void testWarmEngines() throws InterruptedException, ScriptException {
+		this.provider.setWarmEnginesTargetSize(1);
+		while (this.provider.getStatistics().getWarmEngines() < 1) {
+			Thread.sleep(10);
+		}
+		final long hitsBefore = this.provider.getStatistics().getHits();
+		Assertions.assertEquals(3, this.provider.get().eval("1 + 2"));
+		Assertions.assertEquals(hitsBefore + 1, this.provider.getStatistics().getHits());
+	}
+
+	@Test
+	public void testEngineBindingIsNotReplacedByWarmEngines() throws InterruptedException, ScriptException {
+		this.provider.setWarmEnginesTargetSize(1);
+		final ScriptEngine first = this.provider.get();
+		// Wait until the replacement engine has been initialized in the background.
+		while (this.provider.getStatistics().getWarmEngines() < 1) {
+			Thread.sleep(10);
+		}
+		Assertions.assertNotNull(first.get("engine"));
+		Assertions.assertSame(first.get("engine"), first.eval("engine"));
+	}
+
+	@Test
+	public void testEvictedScriptClassesAreUnloaded() {
+		final CachingGroovyClassLoader loader = new CachingGroovyClassLoader(this.getClass().getClassLoader(), 1);
+		final Class<?> first = loader.parseClass("[1, 2].collect { it + 1 }", "First.groovy");
+		Assertions.assertSame(first, loader.parseClass("[1, 2].collect { it + 1 }", "Other.groovy"));
+		loader.parseClass("[3, 4].collect { it + 1 }", "Second.groovy");
+		for (final Class<?> loaded : loader.getLoadedClasses()) {
+			Assertions.assertFalse(loaded.getName().startsWith(first.getName()), loaded.getName());
+		}
+	}
+
+	@Test
+	public void testUniqueScriptsAreCompiledSeparately() throws ScriptException {
+		final long missesBefore = this.provider.getStatistics().getCompiledScriptMisses();
+		for (int i = 0; i < 3; i++) {
+			// Different constants make every script text unique, so nothing can be taken from the cache.
+			Assertions.assertEquals(2 * (3 + i), this.provider.get().eval("[1, 2, " + i + "].collect { it * 2 }.sum()"));
+		}
+		Assertions.assertEquals(missesBefore + 3, this.provider.getStatistics().getCompiledScriptMisses());
+		Assertions.assertTrue(this.provider.getStatistics().getEvaluationCount() >= 3);
+	}
+}
@@ -0,0 +1,118 @@
+package de.prob.statespace;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongStateMapTest {
+	// None of the tested code needs an animator, because only states with known IDs are added.
+	private final StateSpace stateSpace = new StateSpace(() -> null, 100);
+
+	private State state(final long id) {
+		return new State(String.valueOf(id), stateSpace);
+	}
+
+	@Test
+	void put_and_get() {
+		LongStateMap map = new LongStateMap(16);
+		State s1 = state(1);
+		assertSame(s1, map.putIfAbsent(1, s1));
+		assertSame(s1, map.putIfAbsent(1, state(1)));
+		assertSame(s1, map.get(1));
+		assertNull(map.get(2));
+		assertEquals(1, map.size());
+		assertEquals(2, map.getHits());
+		assertEquals(1, map.getMisses());
+		assertThrows(IllegalArgumentException.class, () -> map.putIfAbsent(-1, state(-1)));
+	}
+
+	@Test
+	void size_is_bounded_by_eviction() {
+		LongStateMap map = new LongStateMap(100);
+		for (long id = 0; id < 1000; id++) {
+			map.putIfAbsent(id, state(id));
+		}
+		assertEquals(100, map.size());
+		assertEquals(900, map.getEvictions());
+		assertEquals(100, map.values().size());
+	}
+
+	@Test
+	void referenced_states_get_a_second_chance() {
+		LongStateMap map = new LongStateMap(4);
+		for (long id = 0; id < 4; id++) {
+			map.putIfAbsent(id, state(id));
+		}
+		for (long id = 0; id < 3; id++) {
+			assertNotNull(map.get(id));
+		}
+		map.putIfAbsent(4, state(4));
+		assertNull(map.get(3));
+		for (long id = 0; id < 3; id++) {
+			assertNotNull(map.get(id));
+		}
+	}
+
+	@Test
+	void eviction_keeps_colliding_entries_reachable() {
+		// Many keys and evictions on a small table exercise long probe sequences and backward shift deletion.
+		LongStateMap map = new LongStateMap(64);
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			long id = random.nextInt(1000) * 128L;
+			map.putIfAbsent(id, state(id));
+			if (i % 3 == 0) {
+				map.get(random.nextInt(1000) * 128L);
+			}
+		}
+		List<State> states = map.values();
+		assertEquals(64, states.size());
+		Set<String> ids = new HashSet<>();
+		for (State s : states) {
+			ids.add(s.getId());
+			assertSame(s, map.get(Long.parseLong(s.getId())));
+		}
+		assertEquals(64, ids.size());
+	}
+
+	@Test
+	void state_space_uses_index_for_numeric_ids() {
+		StateSpace indexed = new StateSpace(() -> null, 100, 0, true);
+		State s = indexed.addState(42L);
+		assertSame(s, indexed.addState("42"));
+		assertSame(s, indexed.getState(42));
+		assertEquals("42", s.getId());
+		// Non-canonical numbers and other IDs use the normal cache.
+		assertEquals("042", indexed.addState("042").getId());
+		assertEquals(2, indexed.getStateCacheStatistics().getSize());
+	}
+
+	@Test
+	void both_state_indexes_return_the_same_states() {
+		for (final boolean primitiveIndex : new boolean[] {false, true}) {
+			StateSpace space = new StateSpace(() -> null, 1000, 0, primitiveIndex);
+			List<State> added = new ArrayList<>();
+			for (long id = 0; id < 1000; id++) {
+				State s = space.addState(id);
+				assertEquals(String.valueOf(id), s.getId());
+				added.add(s);
+			}
+			// Looking up every state again must return the cached objects.
+			for (int id = 0; id < 1000; id++) {
+				assertSame(added.get(id), space.addState((long)id));
+			}
+			assertEquals(1000, space.getStateCacheStatistics().getSize());
+			assertEquals(0, space.getStateCacheStatistics().getEvictions());
+		}
+	}
+}
@@ -0,0 +1,105 @@
+package de.prob.statespace;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TraceNavigationTest {
+	private static final int LONG_TRACE_SIZE = 1000;
+	private static final int JUMPS = 100;
+
+	private static StateSpace stateSpace;
+
+	@BeforeAll
+	static void beforeAll() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+	}
+
+	@AfterAll
+	static void afterAll() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void elements_should_match_linked_list() {
+		Trace trace = new Trace(stateSpace).randomAnimation(10, 2L).back().back().back().randomAnimation(5, 3L);
+		List<TraceElement> elements = trace.getElements();
+		assertEquals(trace.size() + 1, elements.size());
+		TraceElement element = trace.getHead();
+		for (int i = elements.size() - 1; i >= 0; i--) {
+			assertSame(element, elements.get(i));
+			assertSame(element, trace.getElement(element.getIndex()));
+			element = element.getPrevious();
+		}
+	}
+
+	@Test
+	void navigation_should_keep_elements() {
+		Trace trace = new Trace(stateSpace).randomAnimation(10, 4L);
+		Trace start = trace.gotoPosition(-1);
+		assertFalse(start.canGoBack());
+		assertSame(trace.getElement(-1), start.getCurrent());
+		assertSame(trace.getElement(3), start.forward().forward().forward().forward().getCurrent());
+		assertSame(trace.getElement(7), start.gotoPosition(7).getCurrent());
+		assertSame(trace.getElement(6), trace.gotoPosition(7).back().getCurrent());
+		assertSame(trace, trace.gotoPosition(trace.size()));
+		assertSame(trace.getHead(), start.gotoPosition(7).gotoPosition(trace.size() - 1).getCurrent());
+	}
+
+	@Test
+	void random_animation_should_reuse_enabled_transitions() {
+		Trace first = new Trace(stateSpace).randomAnimation(10, 5L);
+		for (Transition transition : first.getTransitionList()) {
+			State source = transition.getSource();
+			if (!source.isExplored()) {
+				// The transitions fetched during the animation are cached, so no further query is sent.
+				assertSame(source.getOutTransitionsWithoutExploring(), source.getOutTransitionsWithoutExploring());
+			}
+		}
+		Trace second = new Trace(stateSpace).randomAnimation(10, 5L);
+		assertEquals(first.getTransitionList(), second.getTransitionList());
+	}
+
+	@Test
+	void positions_should_be_reachable_on_long_trace() {
+		// Navigation does not depend on the transitions being connected,
+		// so build a long trace by repeating the transitions of a short one without any further ProB calls.
+		List<Transition> pattern = new Trace(stateSpace).randomAnimation(20, 1L).getTransitionList();
+		List<Transition> transitions = new ArrayList<>(LONG_TRACE_SIZE);
+		for (int i = 0; i < LONG_TRACE_SIZE; i++) {
+			transitions.add(pattern.get(i % pattern.size()));
+		}
+		Trace longTrace = new Trace(stateSpace).addTransitions(transitions);
+
+		Trace trace = longTrace.gotoPosition(-1);
+		int steps = 0;
+		while (trace.canGoForward()) {
+			trace = trace.forward();
+			steps++;
+		}
+		assertEquals(LONG_TRACE_SIZE, steps);
+		assertSame(longTrace.getHead(), trace.getCurrent());
+
+		Random random = new Random(42L);
+		for (int i = 0; i < JUMPS; i++) {
+			int pos = random.nextInt(LONG_TRACE_SIZE + 1) - 1;
+			trace = trace.gotoPosition(pos);
+			assertEquals(pos, trace.getCurrent().getIndex());
+			assertSame(longTrace.getElement(pos), trace.getCurrent());
+		}
+	}
+}
@@ -0,0 +1,77 @@
+package de.prob.statespace;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+
+import de.prob.animator.domainobjects.EvalOptions;
+import de.prob.animator.domainobjects.FormulaExpand;
+import de.prob.animator.domainobjects.FormulaTranslationMode;
+import de.prob.cli.CliTestCommon;
+import de.prob.scripting.Api;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransitionEvaluationCacheTest {
+	private static final EvalOptions TRUNCATE = Transition.OLD_DEFAULT_EVAL_OPTIONS;
+	private static final EvalOptions EXPAND = Transition.OLD_DEFAULT_EVAL_OPTIONS.withExpand(FormulaExpand.EXPAND);
+
+	private StateSpace stateSpace;
+	private List<Transition> transitions;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Api api = CliTestCommon.getInjector().getInstance(Api.class);
+		stateSpace = api.b_load(Paths.get("src", "test", "resources", "de", "prob", "testmachines", "b", "scheduler.mch").toString());
+		transitions = new Trace(stateSpace).randomAnimation(3, 1L).getCurrentState().getOutTransitions();
+	}
+
+	@AfterEach
+	void tearDown() {
+		stateSpace.kill();
+	}
+
+	@Test
+	void options_lattice() {
+		assertTrue(EXPAND.subsumes(TRUNCATE));
+		assertTrue(TRUNCATE.subsumes(TRUNCATE));
+		assertFalse(TRUNCATE.subsumes(EXPAND));
+		assertFalse(EXPAND.withMode(FormulaTranslationMode.UNICODE).subsumes(TRUNCATE));
+		assertFalse(EvalOptions.DEFAULT.subsumes(TRUNCATE));
+	}
+
+	@Test
+	void expanded_result_answers_truncated_request() {
+		Transition transition = transitions.get(0);
+		EvaluatedTransitionInfo expanded = transition.evaluate(EXPAND);
+		assertTrue(transition.isEvaluated(TRUNCATE));
+		assertSame(expanded, transition.evaluate(TRUNCATE));
+	}
+
+	@Test
+	void expanded_result_replaces_truncated_result() {
+		Transition transition = transitions.get(0);
+		transition.evaluate(TRUNCATE);
+		EvaluatedTransitionInfo expanded = transition.evaluate(EXPAND);
+		@SuppressWarnings("deprecation")
+		boolean truncated = transition.isTruncated();
+		assertFalse(truncated);
+		assertSame(expanded, transition.evaluate(TRUNCATE));
+	}
+
+	@Test
+	void bulk_evaluation_reuses_stronger_results() {
+		Map<Transition, EvaluatedTransitionInfo> expanded = stateSpace.evaluateTransitions(transitions, EXPAND);
+		Map<Transition, EvaluatedTransitionInfo> truncated = stateSpace.evaluateTransitions(transitions, TRUNCATE);
+		for (Transition transition : transitions) {
+			assertSame(expanded.get(transition), truncated.get(transition));
+		}
+	}
+}